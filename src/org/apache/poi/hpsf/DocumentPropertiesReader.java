@@ -0,0 +1,158 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.hpsf;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Date;
+import java.util.function.Function;
+
+import org.apache.poi.POIDocument;
+import org.apache.poi.poifs.filesystem.DirectoryNode;
+import org.apache.poi.poifs.filesystem.DocumentInputStream;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.util.POILogFactory;
+import org.apache.poi.util.POILogger;
+
+/**
+ * Reads the standard document properties (title, author, dates, custom properties ...)
+ * of an OLE2 file without parsing its document streams.
+ * <p>
+ * In contrast to {@link POIDocument}, only the {@link SummaryInformation#DEFAULT_STREAM_NAME}
+ * and {@link DocumentSummaryInformation#DEFAULT_STREAM_NAME} streams are read, i.e. this is
+ * meant for indexing many files. The reader holds no shared state, so different files can be
+ * read on different threads. The property values are decoded on demand, i.e. only the
+ * accessed properties are decoded.
+ * <p>
+ * Like in {@link POIDocument}, a missing or corrupt property set is returned as {@code null}.
+ * The getters of the single properties also return {@code null} for a corrupt property value,
+ * but the values of the returned property sets throw their decoding errors on access, see
+ * {@link Section#Section(byte[], int, boolean)}.
+ * Property streams, which are encrypted by CryptoAPI, are not supported.
+ */
+public final class DocumentPropertiesReader {
+    private static final POILogger LOG = POILogFactory.getLogger(DocumentPropertiesReader.class);
+
+    private final SummaryInformation summaryInformation;
+    private final DocumentSummaryInformation documentSummaryInformation;
+
+    private DocumentPropertiesReader(SummaryInformation si, DocumentSummaryInformation dsi) {
+        this.summaryInformation = si;
+        this.documentSummaryInformation = dsi;
+    }
+
+    /**
+     * Opens the file read-only and reads its property sets
+     *
+     * @param file the OLE2 file, e.g. a .xls or .doc file
+     * @return the property sets of the file
+     * @throws IOException if the file can't be opened as OLE2 file
+     */
+    public static DocumentPropertiesReader read(File file) throws IOException {
+        try (POIFSFileSystem fs = new POIFSFileSystem(file, true)) {
+            return read(fs.getRoot());
+        }
+    }
+
+    /**
+     * Reads the property sets of the given directory
+     *
+     * @param dir the directory containing the property set streams, usually the root directory
+     * @return the property sets of the directory
+     */
+    public static DocumentPropertiesReader read(DirectoryNode dir) {
+        SummaryInformation si = readPropertySet(dir, SummaryInformation.class, SummaryInformation.DEFAULT_STREAM_NAME);
+        DocumentSummaryInformation dsi = readPropertySet(dir, DocumentSummaryInformation.class, DocumentSummaryInformation.DEFAULT_STREAM_NAME);
+        return new DocumentPropertiesReader(si, dsi);
+    }
+
+    private static <T extends PropertySet> T readPropertySet(DirectoryNode dir, Class<T> clazz, String name) {
+        if (!dir.hasEntry(name)) {
+            return null;
+        }
+        try (DocumentInputStream dis = dir.createDocumentInputStream(name)) {
+            PropertySet ps = PropertySetFactory.create(dis, true);
+            if (clazz.isInstance(ps)) {
+                return clazz.cast(ps);
+            }
+            LOG.log(POILogger.WARN, name, " property set came back with wrong class - ", ps.getClass().getName());
+        } catch (Exception e) {
+            LOG.log(POILogger.WARN, "can't read property set ", name, e);
+        }
+        return null;
+    }
+
+    /**
+     * @return the summary information or {@code null} if it's missing or corrupt
+     */
+    public SummaryInformation getSummaryInformation() {
+        return summaryInformation;
+    }
+
+    /**
+     * @return the document summary information or {@code null} if it's missing or corrupt
+     */
+    public DocumentSummaryInformation getDocumentSummaryInformation() {
+        return documentSummaryInformation;
+    }
+
+    /**
+     * @return the title or {@code null}, if it's missing or corrupt
+     */
+    public String getTitle() {
+        return getProperty(summaryInformation, SummaryInformation::getTitle);
+    }
+
+    /**
+     * @return the author or {@code null}, if it's missing or corrupt
+     */
+    public String getAuthor() {
+        return getProperty(summaryInformation, SummaryInformation::getAuthor);
+    }
+
+    /**
+     * @return the last save time or {@code null}, if it's missing or corrupt
+     */
+    public Date getLastSaveDateTime() {
+        return getProperty(summaryInformation, SummaryInformation::getLastSaveDateTime);
+    }
+
+    /**
+     * @return the custom properties or {@code null}, if they are missing or one of them is corrupt
+     */
+    public CustomProperties getCustomProperties() {
+        return getProperty(documentSummaryInformation, DocumentSummaryInformation::getCustomProperties);
+    }
+
+    /**
+     * Reads a property of the property set, whose value is decoded on access
+     *
+     * @return the property or {@code null}, if the property set is missing or the value is corrupt
+     */
+    private static <S extends PropertySet, T> T getProperty(S ps, Function<S, T> getter) {
+        if (ps == null) {
+            return null;
+        }
+        try {
+            return getter.apply(ps);
+        } catch (RuntimeException e) {
+            LOG.log(POILogger.WARN, "can't decode property of ", ps.getClass().getSimpleName(), e);
+            return null;
+        }
+    }
+}
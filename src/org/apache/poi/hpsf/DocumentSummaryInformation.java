@@ -105,6 +105,24 @@ public class DocumentSummaryInformation extends PropertySet {
         super(stream);
     }
 
+    /**
+     * Creates a {@link DocumentSummaryInformation} instance from an {@link
+     * InputStream} in the Horrible Property Set Format.
+     *
+     * @param stream Holds the data making out the property set
+     * stream.
+     * @param lazy if {@code true}, the property values are decoded on demand,
+     * see {@link Section#Section(byte[], int, boolean)}
+     * @throws IOException
+     *    if the {@link InputStream} cannot be accessed as needed.
+     * @exception NoPropertySetStreamException
+     *    if the input stream does not contain a property set.
+     */
+    public DocumentSummaryInformation(final InputStream stream, final boolean lazy)
+    throws NoPropertySetStreamException, IOException {
+        super(stream, lazy);
+    }
+
     /**
      * Returns the category (or {@code null}).
      *
@@ -74,6 +74,13 @@ public class Property {
     /** The property's value. */
     private Object value;
 
+    /**
+     * The stream bytes of a lazily read property, which value hasn't been decoded yet,
+     * or {@code null} if the value is available.
+     */
+    private byte[] rawSrc;
+    private int rawOffset, rawLength, rawCodepage;
+
 
     /**
      * Creates an empty property. It must be filled using the set method to be usable.
@@ -87,7 +94,15 @@ public class Property {
      * @param p The property to copy.
      */
     public Property(Property p) {
-        this(p.id, p.type, p.value);
+        this(p.id, p.type, null);
+        synchronized (p) {
+            value = p.value;
+            // copies of undecoded properties stay undecoded
+            rawSrc = p.rawSrc;
+            rawOffset = p.rawOffset;
+            rawLength = p.rawLength;
+            rawCodepage = p.rawCodepage;
+        }
     }
 
     /**
@@ -177,6 +192,50 @@ public class Property {
     }
 
 
+    /**
+     * Creates a {@link Property}, which only reads its type from the property set stream.
+     * The value is decoded on first access - until then, the property is written back
+     * by copying its original bytes.
+     *
+     * @param id The property's ID.
+     * @param src The bytes the property set stream consists of.
+     * @param offset The property's type/value pair's offset in the stream.
+     * @param length The property's type/value pair's length in bytes.
+     * @param codepage The section's and thus the property's codepage.
+     * @return the undecoded property
+     */
+    static Property readLazily(final long id, final byte[] src, final int offset, final int length, final int codepage) {
+        Property p = new Property(id, LittleEndian.getUInt(src, offset), null);
+        p.rawSrc = src;
+        p.rawOffset = offset;
+        p.rawLength = length;
+        p.rawCodepage = codepage;
+        return p;
+    }
+
+    /**
+     * Decodes the value of a lazily read property. The source bytes are only released
+     * after the value was decoded, so a failed decoding fails again on the next access.
+     */
+    private synchronized void decode() {
+        if (rawSrc == null) {
+            return;
+        }
+        LittleEndianByteArrayInputStream leis = new LittleEndianByteArrayInputStream(rawSrc, rawOffset + LittleEndianConsts.INT_SIZE);
+        Object decoded;
+        try {
+            decoded = VariantSupport.read(leis, rawLength, (int) type, rawCodepage);
+        } catch (UnsupportedVariantTypeException ex) {
+            VariantSupport.writeUnsupportedTypeMessage(ex);
+            decoded = ex.getValue();
+        } catch (UnsupportedEncodingException ex) {
+            // keep the message of the exception, which the eager constructor throws
+            throw new HPSFRuntimeException(ex.getMessage(), ex);
+        }
+        value = decoded;
+        rawSrc = null;
+    }
+
     /**
      * Returns the property's ID.
      *
@@ -210,6 +269,7 @@ public class Property {
      * @param type the property's type
      */
     public void setType(final long type) {
+        decode();
         this.type = type;
     }
 
@@ -219,6 +279,7 @@ public class Property {
      * @return The property's value
      */
     public Object getValue() {
+        decode();
         return value;
     }
 
@@ -227,8 +288,9 @@ public class Property {
      *
      * @param value the property's value
      */
-    public void setValue(final Object value) {
+    public synchronized void setValue(final Object value) {
         this.value = value;
+        rawSrc = null;
     }
 
 
@@ -250,6 +312,7 @@ public class Property {
      */
     protected int getSize(int property) throws WritingNotSupportedException
     {
+        decode();
         int length = Variant.getVariantLength(type);
         if (length >= 0  || type == Variant.VT_EMPTY) {
             /* Fixed length */
@@ -294,6 +357,7 @@ public class Property {
             return false;
         }
         final Property p = (Property) o;
+        decode();
         final Object pValue = p.getValue();
         final long pId = p.getID();
         if (id != pId || (id != 0 && !typesAreEqual(type, p.getType()))) {
@@ -363,6 +427,7 @@ public class Property {
      */
     @Override
     public int hashCode() {
+        decode();
         return Objects.hash(id,type,value);
 
     }
@@ -495,6 +560,15 @@ public class Property {
      */
     public int write(final OutputStream out, final int codepage)
     throws IOException, WritingNotSupportedException {
+        synchronized (this) {
+            if (rawSrc != null && codepage == (rawCodepage == -1 ? DEFAULT_CODEPAGE : rawCodepage)) {
+                // the property wasn't touched, so its original bytes can be copied
+                out.write(rawSrc, rawOffset, rawLength);
+                return rawLength;
+            }
+        }
+        decode();
+
         int length = 0;
         long variantType = getType();
 
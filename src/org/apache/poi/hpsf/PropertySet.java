@@ -174,13 +174,31 @@ public class PropertySet {
      *    if a character encoding is not supported.
      */
     public PropertySet(final InputStream stream)
+    throws NoPropertySetStreamException, IOException {
+        this(stream, false);
+    }
+
+    /**
+     * Creates a {@link PropertySet} instance from an {@link
+     * InputStream} in the Horrible Property Set Format.
+     *
+     * @param stream Holds the data making out the property set
+     * stream.
+     * @param lazy if {@code true}, the property values are decoded on demand,
+     * see {@link Section#Section(byte[], int, boolean)}
+     * @throws IOException
+     *    if the {@link InputStream} cannot be accessed as needed.
+     * @exception NoPropertySetStreamException
+     *    if the input stream does not contain a property set.
+     */
+    public PropertySet(final InputStream stream, final boolean lazy)
     throws NoPropertySetStreamException, IOException {
         if (!isPropertySetStream(stream)) {
             throw new NoPropertySetStreamException();
         }
 
         final byte[] buffer = IOUtils.toByteArray(stream);
-        init(buffer, 0, buffer.length);
+        init(buffer, 0, buffer.length, lazy);
     }
 
 
@@ -204,7 +222,7 @@ public class PropertySet {
         if (!isPropertySetStream(stream, offset, length)) {
             throw new NoPropertySetStreamException();
         }
-        init(stream, offset, length);
+        init(stream, offset, length, false);
     }
 
     /**
@@ -436,10 +454,11 @@ public class PropertySet {
      * @param offset The property set stream starts at this offset
      * from the beginning of {@code src}
      * @param length Length of the property set stream.
+     * @param lazy if {@code true}, the property values are decoded on demand
      * @throws UnsupportedEncodingException if HPSF does not (yet) support the
      * property set's character encoding.
      */
-    private void init(final byte[] src, final int offset, final int length)
+    private void init(final byte[] src, final int offset, final int length, final boolean lazy)
     throws UnsupportedEncodingException {
         /* FIXME (3): Ensure that at most "length" bytes are read. */
 
@@ -479,7 +498,7 @@ public class PropertySet {
          * "offset" accordingly.
          */
         for (int i = 0; i < sectionCount; i++) {
-            final Section s = new Section(src, o);
+            final Section s = new Section(src, o, lazy);
             o += ClassID.LENGTH + LittleEndianConsts.INT_SIZE;
             sections.add(s);
         }
@@ -79,6 +79,25 @@ public class PropertySetFactory {
      */
     public static PropertySet create(final InputStream stream)
     throws NoPropertySetStreamException, MarkUnsupportedException, UnsupportedEncodingException, IOException {
+        return create(stream, false);
+    }
+
+    /**
+     * Creates the most specific {@link PropertySet} from an {@link
+     * InputStream}, like {@link #create(InputStream)}.
+     *
+     * @param stream Contains the property set stream's data.
+     * @param lazy if {@code true}, the property values are decoded on demand,
+     * see {@link Section#Section(byte[], int, boolean)}
+     * @return The created {@link PropertySet}.
+     * @throws NoPropertySetStreamException if the stream does not
+     * contain a property set.
+     * @throws MarkUnsupportedException if the stream does not support
+     * the {@code mark} operation.
+     * @throws IOException if some I/O problem occurs.
+     */
+    public static PropertySet create(final InputStream stream, final boolean lazy)
+    throws NoPropertySetStreamException, MarkUnsupportedException, IOException {
         stream.mark(PropertySet.OFFSET_HEADER+ClassID.LENGTH+1);
         LittleEndianInputStream leis = new LittleEndianInputStream(stream);
         int byteOrder =  leis.readUShort();
@@ -101,11 +120,11 @@ public class PropertySetFactory {
 
         ClassID clsId = new ClassID(clsIdBuf, 0);
         if (sectionCount > 0 && PropertySet.matchesSummary(clsId, SummaryInformation.FORMAT_ID)) {
-            return new SummaryInformation(stream);
+            return new SummaryInformation(stream, lazy);
         } else if (sectionCount > 0 && PropertySet.matchesSummary(clsId, DocumentSummaryInformation.FORMAT_ID)) {
-            return new DocumentSummaryInformation(stream);
+            return new DocumentSummaryInformation(stream, lazy);
         } else {
-            return new PropertySet(stream);
+            return new PropertySet(stream, lazy);
         }
     }
 
@@ -108,6 +108,28 @@ public class Section {
      * supported.
      */
     public Section(final byte[] src, final int offset) throws UnsupportedEncodingException {
+        this(src, offset, false);
+    }
+
+    /**
+     * Creates a {@link Section} instance from a byte array.
+     * <p>
+     * In the lazy mode, only the property list, the codepage and the dictionary are read
+     * upfront. The other property values are decoded when they are accessed for the first time,
+     * and properties which aren't touched are written back by copying their original bytes.
+     * Decoding errors of the lazily read properties are thrown on access, with the type and
+     * message of the error of the eager mode. Sections with an unsupported codepage are decoded
+     * eagerly, so the {@link UnsupportedEncodingException} is thrown by the constructor.
+     *
+     * @param src Contains the complete property set stream.
+     * @param offset The position in the stream that points to the
+     * section's format ID.
+     * @param lazy if {@code true}, the property values are decoded on demand
+     *
+     * @exception UnsupportedEncodingException if the section's codepage is not
+     * supported.
+     */
+    public Section(final byte[] src, final int offset, final boolean lazy) throws UnsupportedEncodingException {
         /*
          * Read the format ID.
          */
@@ -197,6 +219,9 @@ public class Section {
         }
 
 
+        // the strings can't be decoded later on, so fail like the eager mode
+        final boolean decodeLazily = lazy && isCodepageSupported(codepage);
+
         /* Pass 2: Read all properties - including the codepage property,
          * if available. */
         for (Map.Entry<Long,Long> me : offset2Id.entrySet()) {
@@ -224,6 +249,8 @@ public class Section {
                         LOG.log(POILogger.INFO, "Dictionary fallback failed - ignoring property");
                     }
                 }
+            } else if (decodeLazily) {
+                setProperty(Property.readLazily(id, src, Math.toIntExact(this._offset + off), pLen, codepage));
             } else {
                 setProperty(new Property(id, leis, pLen, codepage));
             }
@@ -233,6 +260,18 @@ public class Section {
         padSectionBytes();
     }
 
+    /**
+     * @return {@code true}, if the strings of the section can be decoded with the codepage
+     */
+    private static boolean isCodepageSupported(int codepage) {
+        try {
+            CodePageUtil.getStringFromCodePage(new byte[0], (codepage == -1) ? Property.DEFAULT_CODEPAGE : codepage);
+            return true;
+        } catch (UnsupportedEncodingException e) {
+            return false;
+        }
+    }
+
     /**
      * Retrieves the length of the given property (by key)
      *
@@ -39,6 +39,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.apache.poi.util.POILogger.DEBUG;
 
@@ -111,6 +112,10 @@ public final class InternalWorkbook {
      */
     private final List<BoundSheetRecord> boundsheets;
     private final List<FormatRecord> formats;
+    /** the user defined format strings indexed by their index code */
+    private final Map<Integer, String> formatStrings;
+    /** the index codes of the user defined formats indexed by their format string */
+    private final Map<String, Integer> formatIndexes;
     private final List<HyperlinkRecord> hyperlinks;
 
     /** the number of extended format records */
@@ -138,6 +143,8 @@ public final class InternalWorkbook {
 
 		boundsheets = new ArrayList<>();
 		formats = new ArrayList<>();
+		formatStrings = new ConcurrentHashMap<>();
+		formatIndexes = new ConcurrentHashMap<>();
 		hyperlinks = new ArrayList<>();
 		numxfs = 0;
 		numfonts = 0;
@@ -228,6 +235,8 @@ public final class InternalWorkbook {
                     logObj = "format";
                     FormatRecord fr = (FormatRecord) rec;
                     retval.formats.add(fr);
+                    retval.formatStrings.put(fr.getIndexCode(), fr.getFormatString());
+                    retval.formatIndexes.putIfAbsent(fr.getFormatString(), fr.getIndexCode());
                     retval.maxformatid = Math.max(retval.maxformatid, fr.getIndexCode());
                     break;
 
@@ -350,6 +359,8 @@ public final class InternalWorkbook {
             FormatRecord rec = createFormat(i);
             retval.maxformatid = Math.max(retval.maxformatid, rec.getIndexCode());
             formats.add(rec);
+            retval.formatStrings.put(rec.getIndexCode(), rec.getFormatString());
+            retval.formatIndexes.putIfAbsent(rec.getFormatString(), rec.getIndexCode());
             records.add(rec);
         }
 
@@ -1662,10 +1673,9 @@ public final class InternalWorkbook {
      * @return the format id of a format that matches or -1 if none found and createIfNotFound
      */
     public short getFormat(String format, boolean createIfNotFound) {
-      for (FormatRecord r : formats) {
-        if (r.getFormatString().equals(format)) {
-        return (short)r.getIndexCode();
-        }
+      Integer indexCode = formatIndexes.get(format);
+      if (indexCode != null) {
+        return indexCode.shortValue();
       }
 
       if (createIfNotFound) {
@@ -1683,6 +1693,21 @@ public final class InternalWorkbook {
       return formats;
     }
 
+    /**
+     * Returns the format string for the given index code. User defined formats
+     * take precedence over the built-in formats.
+     *
+     * @param indexCode the index code of the format
+     * @return the format string or {@code null} if there is no format for that index
+     */
+    public String getFormatString(int indexCode) {
+        if (indexCode < 0) {
+            return null;
+        }
+        String fmt = formatStrings.get(indexCode);
+        return fmt != null ? fmt : BuiltinFormats.getBuiltinFormat(indexCode);
+    }
+
     /**
      * Creates a FormatRecord, inserts it, and returns the index code.
      * @param formatString the format string
@@ -1701,6 +1726,8 @@ public final class InternalWorkbook {
         }
         pos += formats.size();
         formats.add( rec );
+        formatStrings.put( rec.getIndexCode(), formatString );
+        formatIndexes.putIfAbsent( formatString, rec.getIndexCode() );
         records.add( pos, rec );
         return maxformatid;
     }
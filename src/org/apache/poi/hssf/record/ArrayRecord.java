@@ -75,6 +75,13 @@ public final class ArrayRecord extends SharedValueRecordBase {
 		return _formula.getTokens();
 	}
 
+	/**
+	 * @return {@code true} if the array formula calls SUBTOTAL
+	 */
+	public boolean isSubTotal() {
+		return _formula.isSubTotal();
+	}
+
 	protected int getExtraDataSize() {
 		return 2 + 4 + _formula.getEncodedSize();
 	}
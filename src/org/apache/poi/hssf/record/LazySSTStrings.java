@@ -0,0 +1,277 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.hssf.record;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.poi.hssf.record.common.UnicodeString;
+import org.apache.poi.util.LittleEndian;
+import org.apache.poi.util.LittleEndianByteArrayInputStream;
+import org.apache.poi.util.POILogFactory;
+import org.apache.poi.util.POILogger;
+import org.apache.poi.util.RecordFormatException;
+
+/**
+ * The undecoded strings of a {@link SSTRecord}, which are decoded on demand.
+ * <p>
+ * The data of the SST record and its {@link ContinueRecord}s is kept as it is. When loading,
+ * the string headers are scanned to remember the offset of every {@link #BUCKET_SIZE}th string.
+ * A requested string is decoded by seeking to its bucket and decoding forward from there.
+ * <p>
+ * The offsets of the {@link ExtSSTRecord} aren't used, as that record follows the SST record
+ * and files written by POI only index the first {@link ExtSSTRecord#MAX_BUCKETS} buckets.
+ * <p>
+ * A decoded string is kept, so each request of an index returns the same instance and in-place
+ * changes, e.g. by {@link org.apache.poi.hssf.usermodel.HSSFOptimiser}, survive the final decoding.
+ */
+final class LazySSTStrings {
+    private static final POILogger LOG = POILogFactory.getLogger(LazySSTStrings.class);
+
+    private static final int BUCKET_SIZE = ExtSSTRecord.DEFAULT_BUCKET_SIZE;
+
+    /** the SST data after the string counts and the following continue records - including record headers */
+    private final byte[] records;
+    /** the number of strings announced by the SST record */
+    private final int numStrings;
+    /** the number of strings actually contained in the records, the others are empty */
+    private final int availableStrings;
+    /** the offset of the first string of each bucket within {@link #records} */
+    private final int[] bucketOffsets;
+    /** the offset of the record headers within {@link #records} */
+    private final int[] recordOffsets;
+
+    /** the strings decoded on demand by their index, {@code null} for the others */
+    private final UnicodeString[] decoded;
+    private int decodedCount;
+    private final CompletableFuture<SSTStringTable> background;
+
+    /**
+     * Captures the remaining SST data and its continue records and indexes the strings
+     *
+     * @param in the stream positioned after the string counts of the SST record
+     * @param numStrings the number of unique strings
+     * @param decodeInBackground if {@code true}, all strings are decoded by a daemon thread
+     */
+    LazySSTStrings(RecordInputStream in, int numStrings, boolean decodeInBackground) {
+        this.numStrings = numStrings;
+
+        byte[] buf = new byte[RecordInputStream.MAX_RECORD_DATA_SIZE + 4];
+        int[] offsets = new int[4];
+        int recordCount = 0, size = 0;
+        int sid = SSTRecord.sid;
+        while (true) {
+            int len = in.remaining();
+            if (recordCount == offsets.length) {
+                offsets = Arrays.copyOf(offsets, recordCount * 2);
+            }
+            offsets[recordCount++] = size;
+            if (size + 4 + len > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(size + 4 + len, buf.length * 2));
+            }
+            LittleEndian.putUShort(buf, size, sid);
+            LittleEndian.putUShort(buf, size + 2, len);
+            in.readFully(buf, size + 4, len);
+            size += 4 + len;
+            if (!in.hasNextRecord() || in.getNextSid() != ContinueRecord.sid) {
+                break;
+            }
+            in.nextRecord();
+            sid = ContinueRecord.sid;
+        }
+        records = Arrays.copyOf(buf, size);
+        recordOffsets = Arrays.copyOf(offsets, recordCount);
+
+        bucketOffsets = new int[(numStrings + BUCKET_SIZE - 1) / BUCKET_SIZE];
+        availableStrings = scanStrings();
+
+        decoded = new UnicodeString[numStrings];
+        background = decodeInBackground
+            ? CompletableFuture.supplyAsync(() -> decodeStrings(null), LazySSTStrings::startDecoder)
+            : null;
+    }
+
+    int size() {
+        return numStrings;
+    }
+
+    /**
+     * @return the string at the given position, the same instance for each call
+     */
+    UnicodeString get(int id) {
+        if (id < 0 || id >= numStrings) {
+            throw new IndexOutOfBoundsException("Index: " + id + ", Size: " + numStrings);
+        }
+        UnicodeString str = decoded[id];
+        if (str != null) {
+            return str;
+        }
+        if (background != null && background.isDone() && !background.isCompletedExceptionally()) {
+            return background.join().get(id);
+        }
+
+        if (id >= availableStrings) {
+            str = new UnicodeString("");
+        } else {
+            RecordInputStream in = openAt(bucketOffsets[id / BUCKET_SIZE]);
+            for (int i = id - (id % BUCKET_SIZE); i <= id; i++) {
+                str = new UnicodeString(in);
+            }
+        }
+        decoded[id] = str;
+        decodedCount++;
+        return str;
+    }
+
+    /**
+     * @return all strings - the result of the background decoding, if it was started.
+     *  The strings which were already handed out are part of the table.
+     */
+    SSTStringTable decodeAll() {
+        if (background != null) {
+            try {
+                SSTStringTable table = background.join();
+                return (decodedCount == 0) ? table : replaceDecoded(table);
+            } catch (RuntimeException e) {
+                // decode again to get the original exception
+                LOG.log(POILogger.DEBUG, "background decoding failed", e);
+            }
+        }
+        return decodeStrings(decoded);
+    }
+
+    /**
+     * @param known the strings to use instead of their decoded copies, may be {@code null}
+     */
+    private SSTStringTable decodeStrings(UnicodeString[] known) {
+        SSTStringTable table = new SSTStringTable();
+        RecordInputStream in = new RecordInputStream(new LittleEndianByteArrayInputStream(records));
+        in.nextRecord();
+        new SSTDeserializer(table).manufactureStrings(numStrings, in, known);
+        return table;
+    }
+
+    private SSTStringTable replaceDecoded(SSTStringTable table) {
+        SSTStringTable result = new SSTStringTable();
+        for (int i = 0; i < numStrings; i++) {
+            UnicodeString str = decoded[i];
+            result.add((str != null) ? str : table.get(i));
+        }
+        return result;
+    }
+
+    private static void startDecoder(Runnable task) {
+        Thread thread = new Thread(task, "POI SST decoder");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Skips through the strings like {@link UnicodeString#UnicodeString(RecordInputStream)}
+     * and remembers the bucket offsets
+     *
+     * @return the number of strings found
+     */
+    private int scanStrings() {
+        LittleEndianByteArrayInputStream bais = new LittleEndianByteArrayInputStream(records);
+        RecordInputStream in = new RecordInputStream(bais);
+        in.nextRecord();
+        byte[] skipBuf = new byte[RecordInputStream.MAX_RECORD_DATA_SIZE];
+
+        for (int i = 0; i < numStrings; i++) {
+            if (in.remaining() == 0) {
+                if (!in.hasNextRecord()) {
+                    LOG.log(POILogger.ERROR, "Ran out of data before creating all the strings! String at index ", i);
+                    return i;
+                }
+                // the header is read from the next continue record
+                in.nextRecord();
+            }
+            int offset = bais.getReadIndex();
+            if (i % BUCKET_SIZE == 0) {
+                bucketOffsets[i / BUCKET_SIZE] = offset;
+            }
+            if ((peekOptionFlags(offset, in.remaining()) & 0x4) != 0) {
+                // decoding the extended data (phonetic text) is the only way to know its real size
+                new UnicodeString(in);
+                continue;
+            }
+
+            int charCount = in.readUShort();
+            byte optionFlags = in.readByte();
+            int runCount = ((optionFlags & 0x8) != 0) ? in.readShort() : 0;
+            skipChars(in, charCount, (optionFlags & 0x1) == 0, skipBuf);
+            for (int r = 0; r < runCount; r++) {
+                // see FormatRun(LittleEndianInput)
+                in.readShort();
+                in.readShort();
+            }
+        }
+        return numStrings;
+    }
+
+    private int peekOptionFlags(int offset, int remaining) {
+        // the flags directly follow the char count, unless the record ends after the char count
+        int flagsOffset = (remaining >= 3) ? offset + 2 : offset + remaining + 4;
+        return (flagsOffset < records.length) ? records[flagsOffset] : 0;
+    }
+
+    /**
+     * Skips the string data like {@link RecordInputStream#readCompressedUnicode(int)}
+     * or {@link RecordInputStream#readUnicodeLEString(int)}
+     */
+    private static void skipChars(RecordInputStream in, int charCount, boolean isCompressed, byte[] skipBuf) {
+        boolean compressed = isCompressed;
+        int todo = charCount;
+        while (true) {
+            int availableChars = compressed ? in.remaining() : in.remaining() / 2;
+            int chars = Math.min(todo, availableChars);
+            in.readFully(skipBuf, 0, compressed ? chars : chars * 2);
+            todo -= chars;
+            if (todo == 0) {
+                return;
+            }
+            if (in.remaining() != 0) {
+                throw new RecordFormatException("Odd number of bytes(" + in.remaining() + ") left behind");
+            }
+            if (!in.hasNextRecord() || in.getNextSid() != ContinueRecord.sid) {
+                throw new RecordFormatException("Expected to find a ContinueRecord in order to read remaining "
+                        + todo + " of " + charCount + " chars");
+            }
+            in.nextRecord();
+            // the compressed flag may change with each continue record
+            compressed = (in.readByte() == 0);
+        }
+    }
+
+    /**
+     * Opens a record stream, which is positioned at the given offset
+     */
+    private RecordInputStream openAt(int offset) {
+        int idx = Arrays.binarySearch(recordOffsets, offset);
+        int recordOffset = recordOffsets[(idx >= 0) ? idx : -idx - 2];
+
+        RecordInputStream in = new RecordInputStream(new LittleEndianByteArrayInputStream(records, recordOffset));
+        in.nextRecord();
+        int skip = offset - recordOffset - 4;
+        if (skip > 0) {
+            in.readFully(new byte[skip]);
+        }
+        return in;
+    }
+}
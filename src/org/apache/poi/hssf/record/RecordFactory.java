@@ -157,10 +157,25 @@ public final class RecordFactory {
      * @exception org.apache.poi.util.RecordFormatException on error processing the InputStream
      */
     public static List<Record> createRecords(InputStream in) throws org.apache.poi.util.RecordFormatException {
+        return createRecords(in, SSTRecord.StringDecoding.EAGER);
+    }
+
+    /**
+     * Create an array of records from an input stream
+     *
+     * @param in the InputStream from which the records will be obtained
+     * @param sstDecoding when the strings of the {@link SSTRecord} are decoded
+     *
+     * @return an array of Records created from the InputStream
+     *
+     * @exception org.apache.poi.util.RecordFormatException on error processing the InputStream
+     */
+    public static List<Record> createRecords(InputStream in, SSTRecord.StringDecoding sstDecoding)
+            throws org.apache.poi.util.RecordFormatException {
 
         List<Record> records = new ArrayList<>(NUM_RECORDS);
 
-        RecordFactoryInputStream recStream = new RecordFactoryInputStream(in, true);
+        RecordFactoryInputStream recStream = new RecordFactoryInputStream(in, true, sstDecoding);
 
         Record record;
         while ((record = recStream.nextRecord())!=null) {
@@ -147,6 +147,7 @@ public final class RecordFactoryInputStream {
 
 	private final RecordInputStream _recStream;
 	private final boolean _shouldIncludeContinueRecords;
+	private final SSTRecord.StringDecoding _sstDecoding;
 
 	/**
 	 * Temporarily stores a group of {@link Record}s, for future return by {@link #nextRecord()}.
@@ -182,6 +183,17 @@ public final class RecordFactoryInputStream {
 	 * processing).
 	 */
 	public RecordFactoryInputStream(InputStream in, boolean shouldIncludeContinueRecords) {
+		this(in, shouldIncludeContinueRecords, SSTRecord.StringDecoding.EAGER);
+	}
+
+	/**
+	 * @param in the InputStream to read from
+	 * @param shouldIncludeContinueRecords caller can pass <code>false</code> if loose
+	 * {@link ContinueRecord}s should be skipped
+	 * @param sstDecoding when the strings of the {@link SSTRecord} are decoded
+	 */
+	public RecordFactoryInputStream(InputStream in, boolean shouldIncludeContinueRecords,
+			SSTRecord.StringDecoding sstDecoding) {
 		RecordInputStream rs = new RecordInputStream(in);
 		List<Record> records = new ArrayList<>();
 		StreamEncryptionInfo sei = new StreamEncryptionInfo(rs, records);
@@ -198,6 +210,7 @@ public final class RecordFactoryInputStream {
 		}
 		_recStream = rs;
 		_shouldIncludeContinueRecords = shouldIncludeContinueRecords;
+		_sstDecoding = sstDecoding;
 		_lastRecord = sei.getLastRecord();
 
 		/*
@@ -286,7 +299,9 @@ public final class RecordFactoryInputStream {
 	 */
 	private Record readNextRecord() {
 
-		Record record = RecordFactory.createSingleRecord(_recStream);
+		Record record = (_recStream.getSid() == SSTRecord.sid && _sstDecoding != SSTRecord.StringDecoding.EAGER)
+				? new SSTRecord(_recStream, _sstDecoding)
+				: RecordFactory.createSingleRecord(_recStream);
 		_lastRecordWasEOFLevelZero = false;
 
 		if (record instanceof BOFRecord) {
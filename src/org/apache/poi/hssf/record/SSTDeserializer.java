@@ -20,7 +20,6 @@
 package org.apache.poi.hssf.record;
 
 import org.apache.poi.hssf.record.common.UnicodeString;
-import org.apache.poi.util.IntMapper;
 import org.apache.poi.util.POILogFactory;
 import org.apache.poi.util.POILogger;
 
@@ -33,9 +32,9 @@ import org.apache.poi.util.POILogger;
 class SSTDeserializer
 {
 	private static POILogger logger = POILogFactory.getLogger(SSTDeserializer.class);
-    private IntMapper<UnicodeString> strings;
+    private SSTStringTable strings;
 
-    public SSTDeserializer( IntMapper<UnicodeString> strings )
+    public SSTDeserializer( SSTStringTable strings )
     {
         this.strings = strings;
     }
@@ -46,6 +45,15 @@ class SSTDeserializer
      * carefully before beginning to hack.
      */
     public void manufactureStrings( int stringCount, RecordInputStream in )
+    {
+        manufactureStrings(stringCount, in, null);
+    }
+
+    /**
+     * Like {@link #manufactureStrings(int, RecordInputStream)}, but the non-null entries of
+     * {@code known} are added instead of the strings decoded at their position
+     */
+    void manufactureStrings( int stringCount, RecordInputStream in, UnicodeString[] known )
     {
       for (int i=0;i<stringCount;i++) {
          // Extract exactly the count of strings from the SST record.
@@ -56,11 +64,14 @@ class SSTDeserializer
           } else {
               str = new UnicodeString(in);
           }
+         if (known != null && known[i] != null) {
+             str = known[i];
+         }
          addToStringTable( strings, str );
       }
     }
 
-    static public void addToStringTable( IntMapper<UnicodeString> strings, UnicodeString string )
+    static public void addToStringTable( SSTStringTable strings, UnicodeString string )
     {
         strings.add(string);
     }
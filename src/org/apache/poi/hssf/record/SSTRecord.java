@@ -21,7 +21,6 @@ import org.apache.poi.hssf.record.common.UnicodeString;
 import org.apache.poi.hssf.record.cont.ContinuableRecord;
 import org.apache.poi.hssf.record.cont.ContinuableRecordOutput;
 import org.apache.poi.util.GenericRecordUtil;
-import org.apache.poi.util.IntMapper;
 
 import java.util.Iterator;
 import java.util.Map;
@@ -38,6 +37,22 @@ import java.util.function.Supplier;
 public final class SSTRecord extends ContinuableRecord {
     public static final short sid = 0x00FC;
 
+    /**
+     * How the strings of a SST record are decoded, when the record is read
+     */
+    public enum StringDecoding {
+        /** all strings are decoded while the record is read */
+        EAGER,
+        /**
+         * the SST data is kept and a string is only decoded when it's requested.
+         * Adding strings or writing the record decodes all strings.
+         * This is useful for big string tables, of which only a few strings are accessed.
+         */
+        LAZY,
+        /** like {@link #LAZY}, but a daemon thread decodes all strings in the meantime */
+        BACKGROUND
+    }
+
     private static final UnicodeString EMPTY_STRING = new UnicodeString("");
 
     /**
@@ -49,10 +64,13 @@ public final class SSTRecord extends ContinuableRecord {
      * according to docs ONLY SST
      */
     private int field_2_num_unique_strings;
-    private IntMapper<UnicodeString> field_3_strings;
+    private SSTStringTable field_3_strings;
 
     private SSTDeserializer deserializer;
 
+    /** the undecoded strings of a lazily loaded record, {@code null} once they are decoded */
+    private LazySSTStrings lazyStrings;
+
     /**
      * Offsets from the beginning of the SST record (even across continuations)
      */
@@ -65,7 +83,7 @@ public final class SSTRecord extends ContinuableRecord {
     public SSTRecord() {
         field_1_num_strings = 0;
         field_2_num_unique_strings = 0;
-        field_3_strings = new IntMapper<>();
+        field_3_strings = new SSTStringTable();
         deserializer = new SSTDeserializer(field_3_strings);
     }
 
@@ -73,7 +91,7 @@ public final class SSTRecord extends ContinuableRecord {
         super(other);
         field_1_num_strings = other.field_1_num_strings;
         field_2_num_unique_strings = other.field_2_num_unique_strings;
-        field_3_strings = other.field_3_strings.copy();
+        field_3_strings = new SSTStringTable(other.getStringTable());
         deserializer = new SSTDeserializer(field_3_strings);
         bucketAbsoluteOffsets = (other.bucketAbsoluteOffsets == null) ? null : other.bucketAbsoluteOffsets.clone();
         bucketRelativeOffsets = (other.bucketRelativeOffsets == null) ? null : other.bucketRelativeOffsets.clone();
@@ -92,16 +110,17 @@ public final class SSTRecord extends ContinuableRecord {
         UnicodeString ucs = ( string == null ) ? EMPTY_STRING
                 : string;
         int rval;
-        int index = field_3_strings.getIndex(ucs);
+        SSTStringTable strings = getStringTable();
+        int index = strings.getIndex(ucs);
 
         if ( index != -1 ) {
             rval = index;
         } else {
             // This is a new string -- we didn't see it among the
             // strings we've already collected
-            rval = field_3_strings.size();
+            rval = strings.size();
             field_2_num_unique_strings++;
-            SSTDeserializer.addToStringTable( field_3_strings, ucs );
+            strings.add( ucs );
         }
         return rval;
     }
@@ -131,7 +150,20 @@ public final class SSTRecord extends ContinuableRecord {
      * @return the desired string
      */
     public UnicodeString getString(int id ) {
-        return field_3_strings.get( id );
+        LazySSTStrings lazy = lazyStrings;
+        return (lazy != null) ? lazy.get(id) : field_3_strings.get( id );
+    }
+
+    /**
+     * @return the decoded strings, which are decoded first if the record was loaded lazily
+     */
+    private SSTStringTable getStringTable() {
+        if (lazyStrings != null) {
+            field_3_strings = lazyStrings.decodeAll();
+            deserializer = new SSTDeserializer(field_3_strings);
+            lazyStrings = null;
+        }
+        return field_3_strings;
     }
 
     public short getSid() {
@@ -218,12 +250,22 @@ public final class SSTRecord extends ContinuableRecord {
      * @param in the RecordInputStream to read the record from
      */
     public SSTRecord(RecordInputStream in) {
+        this(in, StringDecoding.EAGER);
+    }
+
+    /**
+     * Fill the fields from the data
+     *
+     * @param in the RecordInputStream to read the record from
+     * @param decoding when the strings are decoded
+     */
+    public SSTRecord(RecordInputStream in, StringDecoding decoding) {
         // this method is ALWAYS called after construction -- using
         // the nontrivial constructor, of course -- so this is where
         // we initialize our fields
         field_1_num_strings = in.readInt();
         field_2_num_unique_strings = in.readInt();
-        field_3_strings = new IntMapper<>();
+        field_3_strings = new SSTStringTable();
 
         deserializer = new SSTDeserializer(field_3_strings);
         // Bug 57456: some Excel Sheets send 0 as field=1, but have some random number in field_2,
@@ -232,7 +274,11 @@ public final class SSTRecord extends ContinuableRecord {
             field_2_num_unique_strings = 0;
             return;
         }
-        deserializer.manufactureStrings( field_2_num_unique_strings, in );
+        if (decoding != StringDecoding.EAGER) {
+            lazyStrings = new LazySSTStrings(in, field_2_num_unique_strings, decoding == StringDecoding.BACKGROUND);
+        } else {
+            deserializer.manufactureStrings( field_2_num_unique_strings, in );
+        }
     }
 
 
@@ -242,18 +288,19 @@ public final class SSTRecord extends ContinuableRecord {
      */
     Iterator<UnicodeString> getStrings()
     {
-        return field_3_strings.iterator();
+        return getStringTable().getElements().iterator();
     }
 
     /**
      * @return count of the strings we hold.
      */
     int countStrings() {
-        return field_3_strings.size();
+        LazySSTStrings lazy = lazyStrings;
+        return (lazy != null) ? lazy.size() : field_3_strings.size();
     }
 
     protected void serialize(ContinuableRecordOutput out) {
-        SSTSerializer serializer = new SSTSerializer(field_3_strings, getNumStrings(), getNumUniqueStrings() );
+        SSTSerializer serializer = new SSTSerializer(getStringTable(), getNumStrings(), getNumUniqueStrings() );
         serializer.serialize(out);
         bucketAbsoluteOffsets = serializer.getBucketAbsoluteOffsets();
         bucketRelativeOffsets = serializer.getBucketRelativeOffsets();
@@ -295,7 +342,7 @@ public final class SSTRecord extends ContinuableRecord {
      * @return  The size of the ExtSST record in bytes.
      */
     public int calcExtSSTRecordSize() {
-      return ExtSSTRecord.getRecordSizeForStrings(field_3_strings.size());
+      return ExtSSTRecord.getRecordSizeForStrings(countStrings());
     }
 
     @Override
@@ -313,7 +360,7 @@ public final class SSTRecord extends ContinuableRecord {
         return GenericRecordUtil.getGenericProperties(
             "numStrings", this::getNumStrings,
             "numUniqueStrings", this::getNumUniqueStrings,
-            "strings", () -> field_3_strings.getElements(),
+            "strings", () -> getStringTable().getElements(),
             "bucketAbsoluteOffsets", () -> bucketAbsoluteOffsets,
             "bucketRelativeOffsets", () -> bucketRelativeOffsets
         );
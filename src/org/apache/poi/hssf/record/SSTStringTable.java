@@ -0,0 +1,331 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.hssf.record;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.poi.hssf.record.common.UnicodeString;
+
+/**
+ * The strings of a {@link SSTRecord}, indexed by position and by value.
+ * <p>
+ * Most SST strings are plain text, i.e. they have neither formatting runs nor extended
+ * (phonetic) data. Instead of keeping a {@link UnicodeString} and its {@link String} for each
+ * of them, the characters of the plain strings are pooled in one byte array - with one byte per
+ * char for strings which fit into ISO-8859-1 and as UTF-16LE otherwise. A {@link UnicodeString}
+ * is only created when a string is requested. Strings with formatting runs, extended data or
+ * unusual option flags are kept as they are, so they are serialized unchanged.
+ * <p>
+ * The lookup by value uses an open addressing hash index over the text of the strings.
+ */
+final class SSTStringTable {
+    private static final int INITIAL_CAPACITY = 16;
+    /** the number of slots in the cache of recently requested strings, a power of 2 */
+    private static final int RECENT_CACHE_SIZE = 1024;
+
+    /** the characters of the plain strings */
+    private byte[] chars;
+    private int charsSize;
+    /** the offset of each string in {@link #chars} - the string ends at the offset of the next string */
+    private int[] starts;
+    /** the strings stored as UTF-16LE */
+    private final BitSet wide;
+    /** the hash code of the text of each string */
+    private int[] hashes;
+    /** the strings, which are not plain text */
+    private final Map<Integer, UnicodeString> richStrings;
+    private int size;
+
+    /** the string index + 1 by hash code, 0 marks a free slot */
+    private int[] index;
+
+    /**
+     * Recently requested plain strings by their index modulo the cache size, so repeatedly read
+     * labels share one instance. The entries are immutable, so concurrent readers see either
+     * a complete entry or none.
+     */
+    private final RecentString[] recent = new RecentString[RECENT_CACHE_SIZE];
+
+    SSTStringTable() {
+        chars = new byte[INITIAL_CAPACITY * 8];
+        starts = new int[INITIAL_CAPACITY + 1];
+        wide = new BitSet();
+        hashes = new int[INITIAL_CAPACITY];
+        richStrings = new HashMap<>();
+        index = new int[INITIAL_CAPACITY * 2];
+    }
+
+    SSTStringTable(SSTStringTable other) {
+        chars = Arrays.copyOf(other.chars, other.charsSize);
+        charsSize = other.charsSize;
+        starts = other.starts.clone();
+        wide = (BitSet)other.wide.clone();
+        hashes = other.hashes.clone();
+        richStrings = new HashMap<>();
+        other.richStrings.forEach((id, str) -> richStrings.put(id, str.copy()));
+        size = other.size;
+        index = other.index.clone();
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the string at the given position - plain strings are created on demand,
+     *  so two calls may return different instances
+     */
+    UnicodeString get(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("Index: " + id + ", Size: " + size);
+        }
+        UnicodeString rich = richStrings.get(id);
+        if (rich != null) {
+            return rich;
+        }
+        int slot = id & (RECENT_CACHE_SIZE - 1);
+        RecentString rs = recent[slot];
+        if (rs == null || rs.id != id) {
+            rs = new RecentString(id, new UnicodeString(getText(id)));
+            recent[slot] = rs;
+        }
+        return rs.string;
+    }
+
+    /**
+     * @return the position of the string or -1 if it's not contained
+     */
+    int getIndex(UnicodeString str) {
+        String text = str.getString();
+        boolean plain = isPlain(str, text);
+        int mask = index.length - 1;
+        for (int slot = spread(text.hashCode()) & mask; index[slot] != 0; slot = (slot + 1) & mask) {
+            int id = index[slot] - 1;
+            if (matches(id, str, text, plain)) {
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Appends the string. If the table already contains an equal string,
+     * the index refers to the added string from now on.
+     */
+    void add(UnicodeString str) {
+        String text = str.getString();
+        boolean plain = isPlain(str, text);
+        int hash = text.hashCode();
+        int id = size;
+
+        if (id == hashes.length) {
+            int capacity = id * 2;
+            hashes = Arrays.copyOf(hashes, capacity);
+            starts = Arrays.copyOf(starts, capacity + 1);
+        }
+        hashes[id] = hash;
+
+        if (plain) {
+            int len = text.length();
+            boolean isWide = hasWideChars(text);
+            int byteLen = isWide ? len * 2 : len;
+            ensureCharsCapacity(charsSize + byteLen);
+            if (isWide) {
+                wide.set(id);
+                for (int i = 0, pos = charsSize; i < len; i++) {
+                    char c = text.charAt(i);
+                    chars[pos++] = (byte)c;
+                    chars[pos++] = (byte)(c >>> 8);
+                }
+            } else {
+                for (int i = 0, pos = charsSize; i < len; i++) {
+                    chars[pos++] = (byte)text.charAt(i);
+                }
+            }
+            charsSize += byteLen;
+        } else {
+            richStrings.put(id, str);
+        }
+        starts[id + 1] = charsSize;
+        size++;
+
+        if (size * 2 > index.length) {
+            rehash(index.length * 2);
+        } else {
+            insertIndex(id);
+        }
+    }
+
+    /**
+     * @return a view of the strings for debug output
+     */
+    List<UnicodeString> getElements() {
+        return new AbstractList<UnicodeString>() {
+            @Override
+            public UnicodeString get(int id) {
+                return SSTStringTable.this.get(id);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private String getText(int id) {
+        UnicodeString rich = richStrings.get(id);
+        if (rich != null) {
+            return rich.getString();
+        }
+        int start = starts[id];
+        int len = starts[id + 1] - start;
+        return new String(chars, start, len, wide.get(id) ? StandardCharsets.UTF_16LE : StandardCharsets.ISO_8859_1);
+    }
+
+    private void insertIndex(int id) {
+        int mask = index.length - 1;
+        int slot = spread(hashes[id]) & mask;
+        for (; index[slot] != 0; slot = (slot + 1) & mask) {
+            if (sameString(index[slot] - 1, id)) {
+                // like a map, the latest duplicate wins
+                break;
+            }
+        }
+        index[slot] = id + 1;
+    }
+
+    private void rehash(int capacity) {
+        index = new int[capacity];
+        for (int id = 0; id < size; id++) {
+            insertIndex(id);
+        }
+    }
+
+    private boolean sameString(int id1, int id2) {
+        if (hashes[id1] != hashes[id2]) {
+            return false;
+        }
+        UnicodeString rich1 = richStrings.get(id1);
+        UnicodeString rich2 = richStrings.get(id2);
+        if (rich1 != null || rich2 != null) {
+            return rich1 != null && rich1.equals(rich2);
+        }
+        int start1 = starts[id1], len1 = starts[id1 + 1] - start1;
+        int start2 = starts[id2], len2 = starts[id2 + 1] - start2;
+        if (wide.get(id1) != wide.get(id2) || len1 != len2) {
+            return false;
+        }
+        for (int i = 0; i < len1; i++) {
+            if (chars[start1 + i] != chars[start2 + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean matches(int id, UnicodeString str, String text, boolean plain) {
+        if (hashes[id] != text.hashCode()) {
+            return false;
+        }
+        UnicodeString rich = richStrings.get(id);
+        if (rich != null) {
+            // a plain string never equals a rich one, as they differ in their flags or runs
+            return !plain && rich.equals(str);
+        }
+        return plain && textEquals(id, text);
+    }
+
+    private boolean textEquals(int id, String text) {
+        int start = starts[id];
+        int byteLen = starts[id + 1] - start;
+        int len = text.length();
+        if (wide.get(id)) {
+            if (byteLen != len * 2) {
+                return false;
+            }
+            for (int i = 0, pos = start; i < len; i++, pos += 2) {
+                char c = (char)((chars[pos] & 0xFF) | ((chars[pos + 1] & 0xFF) << 8));
+                if (c != text.charAt(i)) {
+                    return false;
+                }
+            }
+        } else {
+            if (byteLen != len) {
+                return false;
+            }
+            for (int i = 0, pos = start; i < len; i++, pos++) {
+                if ((char)(chars[pos] & 0xFF) != text.charAt(i)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void ensureCharsCapacity(int minCapacity) {
+        if (minCapacity > chars.length) {
+            chars = Arrays.copyOf(chars, Math.max(minCapacity, chars.length * 2));
+        }
+    }
+
+    /**
+     * @return {@code true}, if the string equals {@code new UnicodeString(text)}, i.e. it can be recreated
+     *  from its text
+     */
+    private static boolean isPlain(UnicodeString str, String text) {
+        if (str.formatIterator() != null || str.getExtendedRst() != null
+            || str.getCharCountShort() != (short)text.length()) {
+            return false;
+        }
+        return str.getOptionFlags() == (hasWideChars(text) ? 1 : 0);
+    }
+
+    /**
+     * Mixes the upper bits into the lower ones, as the text hashes of similar strings
+     * mostly differ in the upper bits
+     */
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean hasWideChars(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0xFF) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class RecentString {
+        private final int id;
+        private final UnicodeString string;
+
+        RecentString(int id, UnicodeString string) {
+            this.id = id;
+            this.string = string;
+        }
+    }
+}
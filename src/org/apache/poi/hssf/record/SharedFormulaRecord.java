@@ -102,6 +102,13 @@ public final class SharedFormulaRecord extends SharedValueRecordBase {
         return sf.convertSharedFormulas(field_7_parsed_expr.getTokens(), formulaRow, formulaColumn);
     }
 
+    /**
+     * @return {@code true} if the shared formula calls SUBTOTAL
+     */
+    public boolean isSubTotal() {
+        return field_7_parsed_expr.isSubTotal();
+    }
+
     @Override
     public SharedFormulaRecord copy() {
         return new SharedFormulaRecord(this);
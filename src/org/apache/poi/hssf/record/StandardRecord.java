@@ -66,6 +66,29 @@ public abstract class StandardRecord extends Record {
         return recSize;
     }
 
+    /**
+     * Write this BIFF record including the sid and record length at the current
+     * position of the output. In contrast to {@link #serialize(int, byte[])}, no
+     * output is allocated, so one output can be used as cursor for many records.
+     *
+     * @param out the output, which is advanced by the record size
+     * @return the record size
+     */
+    public final int serializeTo(LittleEndianByteArrayOutputStream out) {
+        int dataSize = getDataSize();
+        int recSize = 4 + dataSize;
+        int startIndex = out.getWriteIndex();
+        out.writeShort(getSid());
+        out.writeShort(dataSize);
+        serialize(out);
+        int written = out.getWriteIndex() - startIndex;
+        if (written != recSize) {
+            throw new IllegalStateException("Error in serialization of (" + getClass().getName() + "): "
+                    + "Incorrect number of bytes written - expected " + recSize + " but got " + written);
+        }
+        return recSize;
+    }
+
     /**
      * Write the data content of this BIFF record. The 'ushort sid' and 'ushort
      * size' header fields have already been written by the superclass.
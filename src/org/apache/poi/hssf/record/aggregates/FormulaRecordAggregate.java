@@ -194,6 +194,21 @@ public final class FormulaRecordAggregate extends RecordAggregate implements Cel
 		return _formulaRecord.getParsedExpression();
 	}
 
+	/**
+	 * @return {@code true} if the formula - or the shared or array formula it belongs to - calls SUBTOTAL
+	 */
+	public boolean isSubTotal() {
+		if (_sharedFormulaRecord != null) {
+			return _sharedFormulaRecord.isSubTotal();
+		}
+		CellReference expRef = _formulaRecord.getFormula().getExpReference();
+		if (expRef != null) {
+			ArrayRecord arec = _sharedValueManager.getArrayRecord(expRef.getRow(), expRef.getCol());
+			return arec.isSubTotal();
+		}
+		return _formulaRecord.getFormula().isSubTotal();
+	}
+
 	/**
 	 * Also checks for a related shared formula and unlinks it if found
 	 */
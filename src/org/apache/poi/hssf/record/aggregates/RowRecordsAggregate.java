@@ -220,20 +220,17 @@ public final class RowRecordsAggregate extends RecordAggregate {
 
     private int visitRowRecordsForBlock(int blockIndex, RecordVisitor rv) {
         final int startIndex = blockIndex*DBCellRecord.BLOCK_SIZE;
-        final int endIndex = startIndex + DBCellRecord.BLOCK_SIZE;
+        final int endIndex = Math.min(startIndex + DBCellRecord.BLOCK_SIZE, _rowRecords.size());
 
-        Iterator<RowRecord> rowIterator = _rowRecords.values().iterator();
+        // use the cached row array instead of skipping an iterator to the block start,
+        // which made the visit quadratic in the number of rows
+        if (_rowRecordValues == null) {
+            _rowRecordValues = _rowRecords.values().toArray(new RowRecord[0]);
+        }
 
-        //Given that we basically iterate through the rows in order,
-        //For a performance improvement, it would be better to return an instance of
-        //an iterator and use that instance throughout, rather than recreating one and
-        //having to move it to the right position.
-        int i=0;
-        for (;i<startIndex;i++)
-          rowIterator.next();
         int result = 0;
-        while(rowIterator.hasNext() && (i++ < endIndex)) {
-          Record rec = rowIterator.next();
+        for (int i = startIndex; i < endIndex; i++) {
+          Record rec = _rowRecordValues[i];
           result += rec.getRecordSize();
           rv.visitRecord(rec);
         }
@@ -21,6 +21,7 @@ import org.apache.poi.hssf.record.BOFRecord;
 import org.apache.poi.hssf.record.BiffHeaderInput;
 import org.apache.poi.hssf.record.FilePassRecord;
 import org.apache.poi.hssf.record.InterfaceHdrRecord;
+import org.apache.poi.hssf.record.RecordInputStream;
 import org.apache.poi.poifs.crypt.ChunkedCipherInputStream;
 import org.apache.poi.poifs.crypt.Decryptor;
 import org.apache.poi.poifs.crypt.EncryptionInfo;
@@ -29,6 +30,13 @@ import org.apache.poi.util.*;
 import java.io.InputStream;
 import java.io.PushbackInputStream;
 
+/**
+ * Decrypts the BIFF8 records of a RC4 / CryptoAPI / XOR protected workbook stream.
+ * <p>
+ * The body of each record is decrypted at once into a reusable buffer, when its size is read.
+ * The single field reads of {@link RecordInputStream} are then served from that buffer instead
+ * of going through the cipher stream for a few bytes each.
+ */
 public final class Biff8DecryptingStream implements BiffHeaderInput, LittleEndianInput {
 
     public static final int RC4_REKEYING_INTERVAL = 1024;
@@ -39,6 +47,14 @@ public final class Biff8DecryptingStream implements BiffHeaderInput, LittleEndia
     private final byte[] buffer = new byte[LittleEndianConsts.LONG_SIZE];
     private boolean shouldSkipEncryptionOnCurrentRecord;
 
+    // the decrypted and the unencrypted body of the current record
+    private final byte[] record = new byte[RecordInputStream.MAX_RECORD_DATA_SIZE];
+    private final byte[] recordPlain = new byte[RecordInputStream.MAX_RECORD_DATA_SIZE];
+    private byte[] recordData = record;
+    // -1, if the current record isn't buffered
+    private int recordLen = -1;
+    private int recordPos;
+
 	public Biff8DecryptingStream(InputStream in, int initialOffset, EncryptionInfo info) throws RecordFormatException {
         try {
             byte[] initialBuf = IOUtils.safelyAllocate(initialOffset, MAX_RECORD_LENGTH);
@@ -73,6 +89,7 @@ public final class Biff8DecryptingStream implements BiffHeaderInput, LittleEndia
 	 */
 	@Override
     public int readRecordSID() {
+	    recordLen = -1;
 	    readPlain(buffer, 0, LittleEndianConsts.SHORT_SIZE);
 		int sid = LittleEndian.getUShort(buffer, 0);
 		shouldSkipEncryptionOnCurrentRecord = isNeverEncryptedRecord(sid);
@@ -87,6 +104,14 @@ public final class Biff8DecryptingStream implements BiffHeaderInput, LittleEndia
         readPlain(buffer, 0, LittleEndianConsts.SHORT_SIZE);
         int dataSize = LittleEndian.getUShort(buffer, 0);
         ccis.setNextRecordSize(dataSize);
+        if (dataSize <= record.length) {
+            // decrypt the whole record body at once - oversized records are rejected by
+            // RecordInputStream, so they are left to the unbuffered path
+            ccis.readRecord(record, recordPlain, dataSize);
+            recordData = shouldSkipEncryptionOnCurrentRecord ? recordPlain : record;
+            recordLen = dataSize;
+            recordPos = 0;
+        }
 		return dataSize;
 	}
 
@@ -108,7 +133,9 @@ public final class Biff8DecryptingStream implements BiffHeaderInput, LittleEndia
 
 	@Override
     public void readFully(byte[] buf, int off, int len) {
-        if (shouldSkipEncryptionOnCurrentRecord) {
+        if (recordLen != -1) {
+            System.arraycopy(recordData, nextRecordPos(len), buf, off, len);
+        } else if (shouldSkipEncryptionOnCurrentRecord) {
             readPlain(buf, off, buf.length);
         } else {
             ccis.readFully(buf, off, len);
@@ -122,7 +149,9 @@ public final class Biff8DecryptingStream implements BiffHeaderInput, LittleEndia
 	
 	@Override
     public byte readByte() {
-        if (shouldSkipEncryptionOnCurrentRecord) {
+        if (recordLen != -1) {
+            return recordData[nextRecordPos(LittleEndianConsts.BYTE_SIZE)];
+        } else if (shouldSkipEncryptionOnCurrentRecord) {
             readPlain(buffer, 0, LittleEndianConsts.BYTE_SIZE);
             return buffer[0];
         } else {
@@ -137,7 +166,9 @@ public final class Biff8DecryptingStream implements BiffHeaderInput, LittleEndia
 	
 	@Override
     public short readShort() {
-        if (shouldSkipEncryptionOnCurrentRecord) {
+        if (recordLen != -1) {
+            return LittleEndian.getShort(recordData, nextRecordPos(LittleEndianConsts.SHORT_SIZE));
+        } else if (shouldSkipEncryptionOnCurrentRecord) {
             readPlain(buffer, 0, LittleEndianConsts.SHORT_SIZE);
             return LittleEndian.getShort(buffer);
         } else {
@@ -147,7 +178,9 @@ public final class Biff8DecryptingStream implements BiffHeaderInput, LittleEndia
 
 	@Override
     public int readInt() {
-        if (shouldSkipEncryptionOnCurrentRecord) {
+        if (recordLen != -1) {
+            return LittleEndian.getInt(recordData, nextRecordPos(LittleEndianConsts.INT_SIZE));
+        } else if (shouldSkipEncryptionOnCurrentRecord) {
             readPlain(buffer, 0, LittleEndianConsts.INT_SIZE);
             return LittleEndian.getInt(buffer);
         } else {
@@ -157,7 +190,9 @@ public final class Biff8DecryptingStream implements BiffHeaderInput, LittleEndia
 
 	@Override
     public long readLong() {
-        if (shouldSkipEncryptionOnCurrentRecord) {
+        if (recordLen != -1) {
+            return LittleEndian.getLong(recordData, nextRecordPos(LittleEndianConsts.LONG_SIZE));
+        } else if (shouldSkipEncryptionOnCurrentRecord) {
             readPlain(buffer, 0, LittleEndianConsts.LONG_SIZE);
             return LittleEndian.getLong(buffer);
         } else {
@@ -169,8 +204,23 @@ public final class Biff8DecryptingStream implements BiffHeaderInput, LittleEndia
 	 * @return the absolute position in the stream
 	 */
 	public long getPosition() {
-	    return ccis.getPos();
+	    return ccis.getPos() - (recordLen == -1 ? 0 : recordLen - recordPos);
 	}
+
+    /**
+     * Advances the position within the buffered record
+     *
+     * @return the offset of the requested bytes
+     */
+    private int nextRecordPos(int len) {
+        int offset = recordPos;
+        if (len < 0 || len > recordLen - offset) {
+            throw new RecordFormatException("Not enough data (" + (recordLen - offset)
+                + ") to read requested (" + len + ") bytes");
+        }
+        recordPos += len;
+        return offset;
+    }
 	
     /**
      * TODO: Additionally, the lbPlyPos (position_of_BOF) field of the BoundSheet8 record MUST NOT be encrypted.
@@ -203,7 +253,11 @@ public final class Biff8DecryptingStream implements BiffHeaderInput, LittleEndia
 
     @Override
     public void readPlain(byte[] b, int off, int len) {
-        ccis.readPlain(b, off, len);
+        if (recordLen != -1) {
+            System.arraycopy(recordPlain, nextRecordPos(len), b, off, len);
+        } else {
+            ccis.readPlain(b, off, len);
+        }
     }
 
 }
@@ -22,14 +22,12 @@ import org.apache.poi.common.Duplicatable;
 import org.apache.poi.hssf.model.InternalWorkbook;
 import org.apache.poi.hssf.record.ExtendedFormatRecord;
 import org.apache.poi.hssf.record.FontRecord;
-import org.apache.poi.hssf.record.FormatRecord;
 import org.apache.poi.hssf.record.StyleRecord;
 import org.apache.poi.hssf.util.HSSFColor;
 import org.apache.poi.hssf.util.HSSFColor.HSSFColorPredefined;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.util.Removal;
 
-import java.util.List;
 import java.util.Objects;
 
 /**
@@ -112,13 +110,6 @@ public final class HSSFCellStyle implements CellStyle, Duplicatable {
         return _format.getFormatIndex();
     }
 
-    // we keep the cached data in ThreadLocal members in order to
-    // avoid multi-threading issues when different workbooks are accessed in
-    // multiple threads at the same time
-    private static final ThreadLocal<Short> lastDateFormat = ThreadLocal.withInitial(() -> Short.MIN_VALUE);
-    private static final ThreadLocal<List<FormatRecord>> lastFormats = new ThreadLocal<>();
-    private static final ThreadLocal<String> getDataFormatStringCache = new ThreadLocal<>();
-
     /**
      * Get the contents of the format string, by looking up
      *  the DataFormat against the bound workbook
@@ -127,18 +118,7 @@ public final class HSSFCellStyle implements CellStyle, Duplicatable {
      */
     @Override
     public String getDataFormatString() {
-        if (getDataFormatStringCache.get() != null) {
-            if (lastDateFormat.get() == getDataFormat() && _workbook.getFormats().equals(lastFormats.get())) {
-                return getDataFormatStringCache.get();
-            }
-        }
-
-        lastFormats.set(_workbook.getFormats());
-        lastDateFormat.set(getDataFormat());
-
-        getDataFormatStringCache.set(getDataFormatString(_workbook));
-
-        return getDataFormatStringCache.get();
+        return _workbook.getFormatString(getDataFormat());
     }
 
     /**
@@ -149,10 +129,8 @@ public final class HSSFCellStyle implements CellStyle, Duplicatable {
      * @return the format string or "General" if not found
      */
     public String getDataFormatString(org.apache.poi.ss.usermodel.Workbook workbook) {
-        HSSFDataFormat format = new HSSFDataFormat( ((HSSFWorkbook)workbook).getWorkbook() );
-
         int idx = getDataFormat();
-        return idx == -1 ? "General" : format.getFormat(getDataFormat());
+        return idx == -1 ? "General" : ((HSSFWorkbook)workbook).getWorkbook().getFormatString(idx);
     }
     /**
      * Get the contents of the format string, by looking up
@@ -160,9 +138,7 @@ public final class HSSFCellStyle implements CellStyle, Duplicatable {
      * @see HSSFDataFormat
      */
     public String getDataFormatString(InternalWorkbook workbook) {
-        HSSFDataFormat format = new HSSFDataFormat( workbook );
-
-        return format.getFormat(getDataFormat());
+        return workbook.getFormatString(getDataFormat());
     }
 
     /**
@@ -812,10 +788,6 @@ public final class HSSFCellStyle implements CellStyle, Duplicatable {
         // Handle matching things if we cross workbooks
         if(_workbook != source._workbook) {
 
-            lastDateFormat.set(Short.MIN_VALUE);
-            lastFormats.remove();
-            getDataFormatStringCache.remove();
-
             // Then we need to clone the format string,
             //  and update the format record for this
             short fmt = (short)_workbook.createFormat(source.getDataFormatString() );
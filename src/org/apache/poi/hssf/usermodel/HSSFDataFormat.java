@@ -23,8 +23,10 @@ import org.apache.poi.ss.usermodel.BuiltinFormats;
 import org.apache.poi.ss.usermodel.DataFormat;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Vector;
 
 /**
@@ -43,6 +45,8 @@ public final class HSSFDataFormat implements DataFormat {
 	private static final String[] _builtinFormats = BuiltinFormats.getAll();
 
 	private final Vector<String> _formats = new Vector<>();
+	/** the lowest index of each format string, available after the built in formats were merged */
+	private final Map<String, Short> _formatIndexes = new HashMap<>();
 	private final InternalWorkbook _workbook;
 	private boolean _movedBuiltins;  // Flag to see if need to
 	// check the built in list
@@ -105,20 +109,28 @@ public final class HSSFDataFormat implements DataFormat {
 				   // The workbook overrides this default format
 				}
 			}
+			for (int i=_formats.size()-1; i>=0; i--) {
+				if (_formats.get(i) != null) {
+					_formatIndexes.put(_formats.get(i), (short)i);
+				}
+			}
 			_movedBuiltins = true;
 		}
 		
 		// See if we can find it
-		for(int i=0; i<_formats.size(); i++) {
-		   if(format.equals(_formats.get(i))) {
-		      return (short)i;
-		   }
+		Short existing = _formatIndexes.get(format);
+		if (existing != null) {
+		   return existing;
 		}
 
 		// We can't find it, so add it as a new one
 		short index = _workbook.getFormat(format, true);
 		ensureFormatsSize(index);
-		_formats.set(index, format);
+		String replaced = _formats.set(index, format);
+		if (replaced != null) {
+			_formatIndexes.remove(replaced, index);
+		}
+		_formatIndexes.putIfAbsent(format, index);
 		return index;
 	}
 
@@ -220,6 +220,13 @@ public final class HSSFEvaluationWorkbook implements FormulaRenderingWorkbook, E
         return fra.getFormulaTokens();
     }
 
+    @Override
+    public boolean isSubTotal(EvaluationCell evalCell) {
+        HSSFCell cell = ((HSSFEvaluationCell)evalCell).getHSSFCell();
+        FormulaRecordAggregate fra = (FormulaRecordAggregate) cell.getCellValueRecord();
+        return fra.isSubTotal();
+    }
+
     @Override
     public UDFFinder getUDFFinder(){
         return _uBook.getUDFFinder();
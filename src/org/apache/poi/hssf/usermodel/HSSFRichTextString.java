@@ -74,6 +74,8 @@ public final class HSSFRichTextString implements Comparable<HSSFRichTextString>,
     private UnicodeString _string;
     private InternalWorkbook _book;
     private LabelSSTRecord _record;
+    /** the SST index of a string of a loaded cell, which wasn't looked up yet */
+    private int _sstIndex;
 
     public HSSFRichTextString() {
         this("");
@@ -89,14 +91,19 @@ public final class HSSFRichTextString implements Comparable<HSSFRichTextString>,
 
     HSSFRichTextString(InternalWorkbook book, LabelSSTRecord record) {
       setWorkbookReferences(book, record);
-
-      _string = book.getSSTString(record.getSSTIndex());
+      // the string is looked up on first use, see getRawUnicodeString() - the index
+      // is kept, as the record gets the index of the new string when the cell is updated
+      _sstIndex = record.getSSTIndex();
     }
 
     /** This must be called to setup the internal work book references whenever
      * a RichTextString is added to a cell
      */
     void setWorkbookReferences(InternalWorkbook book, LabelSSTRecord record) {
+      if (_string == null && _book != null) {
+        // look up a string of a loaded cell, before the references change
+        getRawUnicodeString();
+      }
       _book = book;
       _record = record;
     }
@@ -106,7 +113,7 @@ public final class HSSFRichTextString implements Comparable<HSSFRichTextString>,
      *  be affected by changes that we make to this string.
      */
     private UnicodeString cloneStringIfRequired() {
-        return (_book == null) ? _string : _string.copy();
+        return (_book == null) ? getRawUnicodeString() : getRawUnicodeString().copy();
     }
 
     private void addToSSTIfRequired() {
@@ -177,7 +184,7 @@ public final class HSSFRichTextString implements Comparable<HSSFRichTextString>,
      * @param font          The font to use.
      */
     public void applyFont(Font font) {
-        applyFont(0, _string.getCharCount(), font);
+        applyFont(0, getRawUnicodeString().getCharCount(), font);
     }
 
     /**
@@ -193,7 +200,7 @@ public final class HSSFRichTextString implements Comparable<HSSFRichTextString>,
      * Returns the plain string representation.
      */
     public String getString() {
-        return _string.getString();
+        return getRawUnicodeString().getString();
     }
 
     /**
@@ -213,7 +220,11 @@ public final class HSSFRichTextString implements Comparable<HSSFRichTextString>,
      *  other RichTextStrings too!
      */
     UnicodeString getRawUnicodeString() {
-    	return _string;
+        if (_string == null) {
+            // the string of a loaded cell is only fetched from the SST when it's needed
+            _string = _book.getSSTString(_sstIndex);
+        }
+        return _string;
     }
 
     /** Used internally by the HSSFCell to set the internal string value*/
@@ -226,7 +237,7 @@ public final class HSSFRichTextString implements Comparable<HSSFRichTextString>,
      * @return  the number of characters in the text.
      */
     public int length() {
-        return _string.getCharCount();
+        return getRawUnicodeString().getCharCount();
     }
 
     /**
@@ -238,10 +249,10 @@ public final class HSSFRichTextString implements Comparable<HSSFRichTextString>,
      *                      index is out of range.
      */
     public short getFontAtIndex( int index ) {
-      int size = _string.getFormatRunCount();
+      int size = getRawUnicodeString().getFormatRunCount();
       FormatRun currentRun = null;
       for (int i=0;i<size;i++) {
-        FormatRun r = _string.getFormatRun(i);
+        FormatRun r = getRawUnicodeString().getFormatRun(i);
         if (r.getCharacterPos() > index) {
             break;
         }
@@ -260,7 +271,7 @@ public final class HSSFRichTextString implements Comparable<HSSFRichTextString>,
      * @see #NO_FONT
      */
     public int numFormattingRuns() {
-        return _string.getFormatRunCount();
+        return getRawUnicodeString().getFormatRunCount();
     }
 
     /**
@@ -269,7 +280,7 @@ public final class HSSFRichTextString implements Comparable<HSSFRichTextString>,
      * @return  the index within the string.
      */
     public int getIndexOfFormattingRun(int index) {
-        FormatRun r = _string.getFormatRun(index);
+        FormatRun r = getRawUnicodeString().getFormatRun(index);
         return r.getCharacterPos();
     }
 
@@ -280,7 +291,7 @@ public final class HSSFRichTextString implements Comparable<HSSFRichTextString>,
      * @return  the font number used.
      */
     public short getFontOfFormattingRun(int index) {
-      FormatRun r = _string.getFormatRun(index);
+      FormatRun r = getRawUnicodeString().getFormatRun(index);
       return r.getFontIndex();
     }
 
@@ -288,13 +299,13 @@ public final class HSSFRichTextString implements Comparable<HSSFRichTextString>,
      * Compares one rich text string to another.
      */
     public int compareTo(HSSFRichTextString r) {
-       return _string.compareTo(r._string);
+       return getRawUnicodeString().compareTo(r.getRawUnicodeString());
     }
 
     @Override
     public boolean equals(Object o) {
       if (o instanceof HSSFRichTextString) {
-        return _string.equals(((HSSFRichTextString)o)._string);
+        return getRawUnicodeString().equals(((HSSFRichTextString)o).getRawUnicodeString());
       }
       return false;
 
@@ -311,7 +322,7 @@ public final class HSSFRichTextString implements Comparable<HSSFRichTextString>,
      * @return  the plain text representation of this string.
      */
     public String toString() {
-        return _string.toString();
+        return getRawUnicodeString().toString();
     }
 
     /**
@@ -320,6 +331,6 @@ public final class HSSFRichTextString implements Comparable<HSSFRichTextString>,
      * @param fontIndex  the font to apply.
      */
     public void applyFont( short fontIndex ) {
-        applyFont(0, _string.getCharCount(), fontIndex);
+        applyFont(0, getRawUnicodeString().getCharCount(), fontIndex);
     }
 }
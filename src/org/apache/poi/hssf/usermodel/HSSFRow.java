@@ -30,6 +30,7 @@ import org.apache.poi.util.Configurator;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.function.IntUnaryOperator;
 
 /**
  * High level representation of a row of a spreadsheet.
@@ -294,6 +295,36 @@ public final class HSSFRow implements Row, Comparable<HSSFRow> {
         addCell(cell);
     }
 
+    /**
+     * Moves the cells and their records to new columns in a single pass.
+     * Cells which are mapped to a negative column are removed.
+     *
+     * @param newColumn maps the current column of a cell to its new column
+     */
+    void remapCells(IntUnaryOperator newColumn) {
+        HSSFCell[] oldCells = cells;
+        // remove the records first, so that moved cells don't overwrite each other
+        for (HSSFCell cell : oldCells) {
+            if (cell != null) {
+                sheet.getSheet().removeValueRecord(getRowNum(), cell.getCellValueRecord());
+            }
+        }
+        cells = new HSSFCell[oldCells.length];
+        row.setEmpty();
+        for (HSSFCell cell : oldCells) {
+            if (cell == null) {
+                continue;
+            }
+            int column = newColumn.applyAsInt(cell.getColumnIndex());
+            if (column < 0) {
+                continue;
+            }
+            cell.updateCellNum((short)column);
+            addCell(cell);
+            sheet.getSheet().addValueRecord(getRowNum(), cell.getCellValueRecord());
+        }
+    }
+
     /**
      * used internally to add a cell.
      */
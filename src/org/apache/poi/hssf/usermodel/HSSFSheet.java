@@ -38,6 +38,7 @@ import org.apache.poi.ss.formula.ptg.Ptg;
 import org.apache.poi.ss.formula.ptg.UnionPtg;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.ss.usermodel.helpers.RowShifter;
+import org.apache.poi.ss.usermodel.helpers.StructuralEdit;
 import org.apache.poi.ss.util.*;
 import org.apache.poi.util.*;
 
@@ -1738,6 +1739,180 @@ public final class HSSFSheet implements org.apache.poi.ss.usermodel.Sheet {
         // add logic for hyperlinks etc, like in shiftRows()
     }
 
+    /**
+     * Inserts and deletes rows and columns in one batch.<p>
+     *
+     * Inserting rows is equivalent to {@code shiftRows(row, getLastRowNum(), count)} and deleting rows
+     * is equivalent to removing the rows and calling {@code shiftRows(row + count, getLastRowNum(), -count)}.
+     * Inserting and deleting columns is handled like {@link #shiftColumns(int, int, int)}, i.e.
+     * only the cells and the formulas are adjusted.<p>
+     *
+     * In contrast to calling these methods in a loop, the cells are moved only once and the
+     * formulas of the workbook are rewritten in a single pass for all edits.
+     *
+     * @param edits the edits in the order they are applied, the indexes of each edit
+     *              refer to the sheet after the preceding edits
+     * @throws IllegalArgumentException if cells would be moved beyond the last row or column of the sheet
+     * @throws IllegalStateException if a moved cell is part of a multi-cell array formula
+     * @since POI 5.0.0
+     */
+    @Beta
+    public void applyStructuralEdits(List<StructuralEdit> edits) {
+        if (edits.isEmpty()) {
+            return;
+        }
+        final SpreadsheetVersion version = SpreadsheetVersion.EXCEL97;
+
+        // the last used row/column before each edit, which bounds the shifted ranges
+        Set<Integer> usedColumns = new TreeSet<>();
+        for (HSSFRow row : _rows.values()) {
+            for (Cell cell : row) {
+                usedColumns.add(cell.getColumnIndex());
+            }
+        }
+        final int[] lastRows = getLastIndexes(edits, true, _rows.keySet(), version.getLastRowIndex());
+        final int[] lastColumns = getLastIndexes(edits, false, usedColumns, version.getLastColumnIndex());
+
+        // check for array formulas before anything is modified
+        for (HSSFRow row : _rows.values()) {
+            if (mapIndex(edits, true, row.getRowNum()) != row.getRowNum()) {
+                notifyRowShifting(row);
+                continue;
+            }
+            for (Cell cell : row) {
+                HSSFCell hcell = (HSSFCell) cell;
+                if (hcell.isPartOfArrayFormulaGroup()
+                        && mapIndex(edits, false, hcell.getColumnIndex()) != hcell.getColumnIndex()) {
+                    hcell.tryToDeleteArrayFormula(null);
+                }
+            }
+        }
+
+        int sheetIndex = _workbook.getSheetIndex(this);
+        short externSheetIndex = _book.checkExternSheet(sheetIndex);
+        String sheetName = _workbook.getSheetName(sheetIndex);
+        final RowShifter rowShifter = new HSSFRowShifter(this);
+        List<FormulaShifter> formulaShifters = new ArrayList<>();
+        for (int i = 0; i < edits.size(); i++) {
+            StructuralEdit edit = edits.get(i);
+            int start = edit.isInsert() ? edit.getIndex() : edit.getIndex() + edit.getCount();
+            int end = edit.isRowEdit() ? lastRows[i] : lastColumns[i];
+            int n = edit.isInsert() ? edit.getCount() : -edit.getCount();
+            if (start > end) {
+                // nothing is moved
+                continue;
+            }
+            if (edit.isRowEdit()) {
+                moveCommentsForRowShift(start, end, n);
+                rowShifter.shiftMergedRegions(start, end, n);
+                _sheet.getPageSettings().shiftRowBreaks(start, end, n);
+                deleteOverwrittenHyperlinksForRowShift(start, end, n);
+                for (HSSFHyperlink link : getHyperlinkList()) {
+                    if (start <= link.getFirstRow() && link.getFirstRow() <= end) {
+                        link.setFirstRow(link.getFirstRow() + n);
+                        link.setLastRow(link.getLastRow() + n);
+                    }
+                }
+                formulaShifters.add(FormulaShifter.createForRowShift(
+                        externSheetIndex, sheetName, start, end, n, version));
+            } else {
+                formulaShifters.add(FormulaShifter.createForColumnShift(
+                        externSheetIndex, sheetName, start, end, n, version));
+            }
+        }
+
+        // detach all rows which are moved or deleted, then re-attach the moved ones at their new index
+        List<HSSFRow> movedRows = new ArrayList<>();
+        for (HSSFRow row : new ArrayList<>(_rows.values())) {
+            int rowNum = row.getRowNum();
+            int newRowNum = mapIndex(edits, true, rowNum);
+            if (newRowNum == rowNum) {
+                continue;
+            }
+            _rows.remove(rowNum);
+            _sheet.removeRow(row.getRowRecord());
+            if (newRowNum >= 0) {
+                row.setRowNum(newRowNum);
+                movedRows.add(row);
+            }
+        }
+        for (HSSFRow row : movedRows) {
+            _rows.put(row.getRowNum(), row);
+            _sheet.addRow(row.getRowRecord());
+            for (Cell cell : row) {
+                CellValueRecordInterface cellRecord = ((HSSFCell) cell).getCellValueRecord();
+                cellRecord.setRow(row.getRowNum());
+                _sheet.addValueRecord(row.getRowNum(), cellRecord);
+            }
+        }
+
+        for (HSSFRow row : _rows.values()) {
+            for (Cell cell : row) {
+                if (mapIndex(edits, false, cell.getColumnIndex()) != cell.getColumnIndex()) {
+                    row.remapCells(column -> mapIndex(edits, false, column));
+                    break;
+                }
+            }
+        }
+
+        _firstrow = _rows.isEmpty() ? -1 : _rows.firstKey();
+        _lastrow = _rows.isEmpty() ? -1 : _rows.lastKey();
+
+        if (!formulaShifters.isEmpty()) {
+            updateFormulasForShift(FormulaShifter.createForShifts(formulaShifters));
+        }
+    }
+
+    /**
+     * @param usedIndexes the sorted indexes of the used rows/columns
+     * @return the last used row/column before each edit and after the last edit
+     */
+    private static int[] getLastIndexes(List<StructuralEdit> edits, boolean rowEdits, Collection<Integer> usedIndexes, int maxIndex) {
+        int[] used = new int[usedIndexes.size()];
+        int count = 0;
+        for (Integer idx : usedIndexes) {
+            used[count++] = idx;
+        }
+        int[] lastIndexes = new int[edits.size() + 1];
+        for (int i = 0; i < edits.size(); i++) {
+            StructuralEdit edit = edits.get(i);
+            lastIndexes[i] = (count == 0) ? -1 : used[count - 1];
+            if (edit.isRowEdit() != rowEdits) {
+                continue;
+            }
+            // the edits keep the order, so the used indexes stay sorted
+            int newCount = 0;
+            for (int j = 0; j < count; j++) {
+                int idx = edit.shiftIndex(used[j]);
+                if (idx > maxIndex) {
+                    throw new IllegalArgumentException("Applying " + edit + " would move cells beyond the last "
+                            + (rowEdits ? "row" : "column") + " of the sheet");
+                }
+                if (idx >= 0) {
+                    used[newCount++] = idx;
+                }
+            }
+            count = newCount;
+        }
+        lastIndexes[edits.size()] = (count == 0) ? -1 : used[count - 1];
+        return lastIndexes;
+    }
+
+    /**
+     * @return the row/column index after applying the row or column edits, or -1 if it's deleted
+     */
+    private static int mapIndex(List<StructuralEdit> edits, boolean rowEdits, int index) {
+        for (StructuralEdit edit : edits) {
+            if (edit.isRowEdit() == rowEdits) {
+                index = edit.shiftIndex(index);
+                if (index < 0) {
+                    break;
+                }
+            }
+        }
+        return index;
+    }
+
     protected void insertChartRecords(List<Record> records) {
         int window2Loc = _sheet.findFirstRecordLocBySid(WindowTwoRecord.sid);
         _sheet.getRecords().addAll(window2Loc, records);
@@ -2181,7 +2356,40 @@ public final class HSSFSheet implements org.apache.poi.ss.usermodel.Sheet {
     @Override
     public void autoSizeColumn(int column, boolean useMergedCells) {
         double width = SheetUtil.getColumnWidth(this, column, useMergedCells);
+        setAutoSizedColumnWidth(column, width);
+    }
+
+    /**
+     * Adjusts the widths of several columns to fit their contents.<p>
+     *
+     * The rows are only traversed once and the columns are measured in parallel,
+     * so this is faster than calling {@link #autoSizeColumn(int)} for each column.
+     *
+     * @param columns the column indexes
+     */
+    @Override
+    public void autoSizeColumns(int... columns) {
+        autoSizeColumns(false, columns);
+    }
+
+    /**
+     * Adjusts the widths of several columns to fit their contents.<p>
+     *
+     * The rows are only traversed once and the columns are measured in parallel,
+     * so this is faster than calling {@link #autoSizeColumn(int, boolean)} for each column.
+     *
+     * @param useMergedCells whether to use the contents of merged cells when calculating the width of the columns
+     * @param columns        the column indexes
+     */
+    @Override
+    public void autoSizeColumns(boolean useMergedCells, int... columns) {
+        double[] widths = SheetUtil.getColumnWidths(this, useMergedCells, columns);
+        for (int i = 0; i < columns.length; i++) {
+            setAutoSizedColumnWidth(columns[i], widths[i]);
+        }
+    }
 
+    private void setAutoSizedColumnWidth(int column, double width) {
         if (width != -1) {
             width *= 256;
             int maxColumnWidth = 255 * 256; // The maximum column width for an individual cell is 255 characters
@@ -55,6 +55,7 @@ import java.nio.charset.Charset;
 import java.security.GeneralSecurityException;
 import java.util.*;
 import java.util.regex.Pattern;
+import java.util.stream.IntStream;
 
 import static org.apache.poi.hssf.model.InternalWorkbook.OLD_WORKBOOK_DIR_ENTRY_NAME;
 import static org.apache.poi.hssf.model.InternalWorkbook.WORKBOOK_DIR_ENTRY_NAMES;
@@ -120,6 +121,14 @@ public final class HSSFWorkbook extends POIDocument implements Workbook {
      */
     private Map<Integer, HSSFFont> fonts;
 
+    /**
+     * the font indexes by their attributes, see {@link #findFont}.
+     * Fonts are indexed lazily, i.e. all fonts below {@link #indexedFonts}
+     * were already added.
+     */
+    private Map<List<Object>, Integer> fontIndex;
+    private int indexedFonts;
+
     /**
      * holds whether or not to preserve other nodes in the POIFS.  Used
      * for macros and embedded objects.
@@ -141,6 +150,11 @@ public final class HSSFWorkbook extends POIDocument implements Workbook {
      */
     private MissingCellPolicy missingCellPolicy = MissingCellPolicy.RETURN_NULL_AND_BLANK;
 
+    /**
+     * Serialize the sheets concurrently in {@link #getBytes()}
+     */
+    private boolean parallelSerialization;
+
     private static final POILogger log = POILogFactory.getLogger(HSSFWorkbook.class);
 
     /**
@@ -260,6 +274,25 @@ public final class HSSFWorkbook extends POIDocument implements Workbook {
      */
     public HSSFWorkbook(DirectoryNode directory, boolean preserveNodes)
             throws IOException {
+        this(directory, preserveNodes, SSTRecord.StringDecoding.EAGER);
+    }
+
+    /**
+     * given a POI POIFSFileSystem object, and a specific directory
+     * within it, read in its Workbook and populate the high and
+     * low level models.
+     *
+     * @param directory     the POI filesystem directory to process from
+     * @param preserveNodes whether to preserve other nodes, such as
+     *                      macros.
+     * @param sstDecoding   when the shared strings are decoded - workbooks with
+     *                      big string tables, of which only a few strings are read,
+     *                      load faster with lazy decoding
+     * @throws IOException if the stream cannot be read
+     * @see POIFSFileSystem
+     */
+    public HSSFWorkbook(DirectoryNode directory, boolean preserveNodes, SSTRecord.StringDecoding sstDecoding)
+            throws IOException {
         super(directory);
         String workbookName = getWorkbookDirEntryName(directory);
 
@@ -278,7 +311,7 @@ public final class HSSFWorkbook extends POIDocument implements Workbook {
         //  it happens to be spelled.
         InputStream stream = directory.createDocumentInputStream(workbookName);
 
-        List<Record> records = RecordFactory.createRecords(stream);
+        List<Record> records = RecordFactory.createRecords(stream, sstDecoding);
 
         workbook = InternalWorkbook.createWorkbook(records);
         setPropertiesFromWorkbook(workbook);
@@ -337,6 +370,23 @@ public final class HSSFWorkbook extends POIDocument implements Workbook {
         this(new POIFSFileSystem(s).getRoot(), preserveNodes);
     }
 
+    /**
+     * Companion to HSSFWorkbook(POIFSFileSystem), this constructs the
+     * POI filesystem around your {@link InputStream}.
+     *
+     * @param s             the POI filesystem that contains the Workbook stream.
+     * @param preserveNodes whether to preserve other nodes, such as
+     *                      macros.
+     * @param sstDecoding   when the shared strings are decoded
+     * @throws IOException if the stream cannot be read
+     * @see #HSSFWorkbook(DirectoryNode, boolean, SSTRecord.StringDecoding)
+     */
+    @SuppressWarnings("resource")   // POIFSFileSystem always closes the stream
+    public HSSFWorkbook(InputStream s, boolean preserveNodes, SSTRecord.StringDecoding sstDecoding)
+            throws IOException {
+        this(new POIFSFileSystem(s).getRoot(), preserveNodes, sstDecoding);
+    }
+
     /**
      * used internally to set the workbook properties.
      */
@@ -1107,22 +1157,30 @@ public final class HSSFWorkbook extends POIDocument implements Workbook {
     public HSSFFont findFont(boolean bold, short color, short fontHeight,
                              String name, boolean italic, boolean strikeout,
                              short typeOffset, byte underline) {
+        List<Object> key = Arrays.asList(bold, color, fontHeight, name, italic, strikeout, typeOffset, underline);
+        Integer idx = getFontIndex().get(key);
+        if (idx != null) {
+            HSSFFont hssfFont = getFontAt(idx);
+            if (key.equals(getFontKey(hssfFont))) {
+                return hssfFont;
+            }
+        }
+
+        // the fonts can be modified after they were indexed, so a font matching now
+        // might be missing in the index or indexed by its old attributes
         int numberOfFonts = getNumberOfFonts();
         for (int i = 0; i <= numberOfFonts; i++) {
             // Remember - there is no 4!
             if (i == 4) {
                 continue;
             }
-
+            if ((i > 4 ? i - 1 : i) >= numberOfFonts) {
+                break;
+            }
             HSSFFont hssfFont = getFontAt(i);
-            if (hssfFont.getBold() == bold
-                    && hssfFont.getColor() == color
-                    && hssfFont.getFontHeight() == fontHeight
-                    && hssfFont.getFontName().equals(name)
-                    && hssfFont.getItalic() == italic
-                    && hssfFont.getStrikeout() == strikeout
-                    && hssfFont.getTypeOffset() == typeOffset
-                    && hssfFont.getUnderline() == underline) {
+            if (key.equals(getFontKey(hssfFont))) {
+                // rebuild the index with the current attributes on next use
+                fontIndex = null;
                 return hssfFont;
             }
         }
@@ -1130,6 +1188,33 @@ public final class HSSFWorkbook extends POIDocument implements Workbook {
         return null;
     }
 
+    private static List<Object> getFontKey(HSSFFont font) {
+        return Arrays.asList(font.getBold(), font.getColor(), font.getFontHeight(), font.getFontName(),
+            font.getItalic(), font.getStrikeout(), font.getTypeOffset(), font.getUnderline());
+    }
+
+    /**
+     * @return the font index, updated with the fonts created since the last call
+     */
+    private Map<List<Object>, Integer> getFontIndex() {
+        int numberOfFonts = getNumberOfFonts();
+        if (fontIndex == null || indexedFonts > numberOfFonts + 1) {
+            fontIndex = new HashMap<>();
+            indexedFonts = 0;
+        }
+        for (; indexedFonts <= numberOfFonts; indexedFonts++) {
+            // Remember - there is no 4!
+            if (indexedFonts == 4) {
+                continue;
+            }
+            if ((indexedFonts > 4 ? indexedFonts - 1 : indexedFonts) >= numberOfFonts) {
+                break;
+            }
+            fontIndex.putIfAbsent(getFontKey(getFontAt(indexedFonts)), indexedFonts);
+        }
+        return fontIndex;
+    }
+
     @Override
     public int getNumberOfFonts() {
         return workbook.getNumberOfFontRecords();
@@ -1171,6 +1256,7 @@ public final class HSSFWorkbook extends POIDocument implements Workbook {
      */
     void resetFontCache() {
         fonts = new HashMap<>();
+        fontIndex = null;
     }
 
     /**
@@ -1235,6 +1321,9 @@ public final class HSSFWorkbook extends POIDocument implements Workbook {
      * instead of a File, or if this is not the root document. For those cases,
      * you must use {@link #write(OutputStream)} or {@link #write(File)} to
      * write to a brand new document.
+     *
+     * <p>The streams are overwritten in place, so only the blocks of the file,
+     * whose content has changed, are written back.
      */
     @Override
     public void write() throws IOException {
@@ -1363,15 +1452,41 @@ public final class HSSFWorkbook extends POIDocument implements Workbook {
         }
 
         public int serialize(int offset, byte[] data) {
-            int result = 0;
+            // one cursor for all standard records instead of an output per record
+            LittleEndianByteArrayOutputStream out = new LittleEndianByteArrayOutputStream(data, offset, _totalSize);
             for (Record rec : _list) {
-                result += rec.serialize(offset + result, data);
+                if (rec instanceof StandardRecord) {
+                    ((StandardRecord)rec).serializeTo(out);
+                } else {
+                    out.skip(rec.serialize(out.getWriteIndex(), data));
+                }
             }
-            return result;
+            return out.getWriteIndex() - offset;
         }
     }
 
 
+    /**
+     * Enables the parallel serialization of the sheets. As the size of each sheet is known
+     * before the records are written, the sheets are written concurrently into their part
+     * of the output.
+     * <p>
+     * The sheets must not be modified by other threads while the workbook is written.
+     *
+     * @param parallelSerialization {@code true} to serialize the sheets in parallel,
+     *  the default is {@code false}
+     */
+    public void setParallelSerialization(boolean parallelSerialization) {
+        this.parallelSerialization = parallelSerialization;
+    }
+
+    /**
+     * @return {@code true}, if the sheets are serialized in parallel
+     */
+    public boolean isParallelSerialization() {
+        return parallelSerialization;
+    }
+
     /**
      * Method getBytes - get the bytes of just the HSSF portions of the XLS file.
      * Use this to construct a POI POIFSFileSystem yourself.
@@ -1412,9 +1527,20 @@ public final class HSSFWorkbook extends POIDocument implements Workbook {
         byte[] retval = new byte[totalsize];
         int pos = workbook.serialize(0, retval);
 
+        // the sheet sizes are known, so each sheet is written to its own slice of the array
+        int[] sheetOffsets = new int[nSheets];
         for (int k = 0; k < nSheets; k++) {
+            sheetOffsets[k] = pos;
+            pos += srCollectors[k].getTotalSize();
+        }
+
+        IntStream sheetIndexes = IntStream.range(0, nSheets);
+        if (parallelSerialization) {
+            sheetIndexes = sheetIndexes.parallel();
+        }
+        sheetIndexes.forEach(k -> {
             SheetRecordCollector src = srCollectors[k];
-            int serializedSize = src.serialize(pos, retval);
+            int serializedSize = src.serialize(sheetOffsets[k], retval);
             if (serializedSize != src.getTotalSize()) {
                 // Wrong offset values have been passed in the call to setSheetBof() above.
                 // For books with more than one sheet, this discrepancy would cause excel
@@ -1424,8 +1550,7 @@ public final class HSSFWorkbook extends POIDocument implements Workbook {
                         + ") for sheet (" + k + ")");
                 // TODO - add similar sanity check to ensure that Sheet.serializeIndexRecord() does not write mis-aligned offsets either
             }
-            pos += serializedSize;
-        }
+        });
 
         encryptBytes(retval);
 
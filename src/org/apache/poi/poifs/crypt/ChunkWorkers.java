@@ -0,0 +1,80 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.poifs.crypt;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Runs the workers of the parallel mode of {@link ChunkedCipherInputStream} and
+ * {@link ChunkedCipherOutputStream} and hands their exceptions unchanged to the calling thread.
+ */
+final class ChunkWorkers {
+    /**
+     * A worker, which en- or decrypts its range of the chunks
+     */
+    @FunctionalInterface
+    interface Worker {
+        void run(int worker) throws IOException, GeneralSecurityException;
+    }
+
+    private ChunkWorkers() {
+    }
+
+    /**
+     * Runs the workers in parallel and waits for all of them
+     *
+     * @param workers the number of workers
+     * @param worker the worker, which is called with the indexes 0 to workers-1
+     * @throws IOException the exception of the first failed worker
+     * @throws GeneralSecurityException the exception of the first failed worker
+     */
+    static void run(int workers, Worker worker) throws IOException, GeneralSecurityException {
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[workers];
+        for (int w = 0; w < workers; w++) {
+            final int index = w;
+            tasks[w] = CompletableFuture.runAsync(() -> {
+                try {
+                    worker.run(index);
+                } catch (IOException | GeneralSecurityException e) {
+                    throw new CompletionException(e);
+                }
+            });
+        }
+        try {
+            CompletableFuture.allOf(tasks).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException)cause;
+            }
+            if (cause instanceof GeneralSecurityException) {
+                throw (GeneralSecurityException)cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error)cause;
+            }
+            throw e;
+        }
+    }
+}
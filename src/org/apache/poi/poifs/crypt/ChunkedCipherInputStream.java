@@ -44,6 +44,13 @@ public abstract class ChunkedCipherInputStream extends LittleEndianInputStream {
     private long pos;
     private boolean chunkIsValid;
 
+    // read-ahead buffers of the parallel mode
+    private int parallelChunks;
+    private byte[] aheadPlain, aheadChunks;
+    private int[] aheadLengths;
+    private int aheadFirst, aheadCount;
+    private boolean aheadEOF;
+
     public ChunkedCipherInputStream(InputStream stream, long size, int chunkSize)
     throws GeneralSecurityException {
         this(stream, size, chunkSize, 0);
@@ -75,6 +82,22 @@ public abstract class ChunkedCipherInputStream extends LittleEndianInputStream {
     protected abstract Cipher initCipherForBlock(Cipher existing, int block)
     throws GeneralSecurityException;
 
+    /**
+     * Enables the parallel mode, which reads ahead several chunks and decrypts them
+     * on multiple threads, each with its own cipher instance.
+     * This is only supported by ciphers which are initialized per chunk and don't
+     * override {@link #invokeCipher(int, boolean)}.
+     *
+     * @param parallelChunks the number of chunks which are read ahead, values below 2 disable the parallel mode
+     */
+    public void setParallelChunks(int parallelChunks) {
+        if (chunkSize == -1) {
+            throw new EncryptedDocumentException("parallel decryption is not supported for streaming ciphers");
+        }
+        this.parallelChunks = parallelChunks;
+        this.aheadCount = 0;
+    }
+
     @Override
     public int read() throws IOException {
         byte[] b = { 0 };
@@ -86,10 +109,10 @@ public abstract class ChunkedCipherInputStream extends LittleEndianInputStream {
 
     @Override
     public int read(byte[] b, int off, int len) throws IOException {
-        return read(b, off, len, false);
+        return read(b, off, len, false, null);
     }
 
-    private int read(byte[] b, int off, int len, boolean readPlain) throws IOException {
+    private int read(byte[] b, int off, int len, boolean readPlain, byte[] plainCopy) throws IOException {
         int total = 0;
 
         if (remainingBytes() <= 0) {
@@ -114,6 +137,9 @@ public abstract class ChunkedCipherInputStream extends LittleEndianInputStream {
             count = Math.min(avail, Math.min(count, len));
 
             System.arraycopy(readPlain ? plain : chunk, (int)(pos & chunkMask), b, off, count);
+            if (plainCopy != null) {
+                System.arraycopy(plain, (int)(pos & chunkMask), plainCopy, off, count);
+            }
 
             off += count;
             len -= count;
@@ -173,6 +199,10 @@ public abstract class ChunkedCipherInputStream extends LittleEndianInputStream {
     }
 
     private void nextChunk() throws GeneralSecurityException, IOException {
+        if (parallelChunks > 1) {
+            nextParallelChunk();
+            return;
+        }
         if (chunkSize != -1) {
             int index = (int)(pos >> chunkBits);
             initCipherForBlock(cipher, index);
@@ -203,6 +233,78 @@ public abstract class ChunkedCipherInputStream extends LittleEndianInputStream {
         invokeCipher(totalBytes, totalBytes == chunkSize);
     }
 
+    private void nextParallelChunk() throws GeneralSecurityException, IOException {
+        int index = (int)(pos >> chunkBits);
+        if (index < aheadFirst || index >= aheadFirst + aheadCount) {
+            readAhead(index);
+        }
+
+        int slot = index - aheadFirst;
+        int totalBytes = aheadLengths[slot];
+        if (aheadEOF && slot == aheadCount-1 && totalBytes < chunk.length
+            && pos+totalBytes < size && size < Integer.MAX_VALUE) {
+            throw new EOFException("buffer underrun");
+        }
+
+        System.arraycopy(aheadPlain, slot << chunkBits, plain, 0, totalBytes);
+        System.arraycopy(aheadChunks, slot << chunkBits, chunk, 0, totalBytes);
+    }
+
+    /**
+     * Reads the next chunks starting at the given index and decrypts them in parallel
+     */
+    private void readAhead(int index) throws GeneralSecurityException, IOException {
+        if (aheadPlain == null) {
+            aheadPlain = IOUtils.safelyAllocate((long)parallelChunks << chunkBits, Integer.MAX_VALUE);
+            aheadChunks = new byte[aheadPlain.length];
+            aheadLengths = new int[parallelChunks];
+        }
+
+        if (lastIndex != index) {
+            long skipN = (long)(index - lastIndex) << chunkBits;
+            if (super.skip(skipN) < skipN) {
+                throw new EOFException("buffer underrun");
+            }
+        }
+
+        final int todo = (int)Math.min(size, chunk.length);
+        aheadFirst = index;
+        aheadCount = 0;
+        aheadEOF = false;
+        while (aheadCount < parallelChunks && !aheadEOF) {
+            int off = aheadCount << chunkBits;
+            int readBytes, totalBytes = 0;
+            do {
+                readBytes = super.read(aheadPlain, off+totalBytes, todo-totalBytes);
+                totalBytes += Math.max(0, readBytes);
+            } while (readBytes != -1 && totalBytes < todo);
+            aheadEOF = (readBytes == -1);
+            if (totalBytes == 0 && aheadEOF && aheadCount > 0) {
+                break;
+            }
+            aheadLengths[aheadCount++] = totalBytes;
+        }
+        lastIndex = index + aheadCount;
+        System.arraycopy(aheadPlain, 0, aheadChunks, 0, aheadCount << chunkBits);
+
+        // split the chunks into one range per worker, so each worker only needs a single cipher
+        final int workers = Math.min(aheadCount, Runtime.getRuntime().availableProcessors());
+        final int count = aheadCount;
+        ChunkWorkers.run(workers, w -> {
+            Cipher c = null;
+            for (int i = w*count/workers; i < (w+1)*count/workers; i++) {
+                c = initCipherForBlock(c, index+i);
+                int len = aheadLengths[i];
+                int off = i << chunkBits;
+                if (len == chunkSize) {
+                    c.doFinal(aheadChunks, off, len, aheadChunks, off);
+                } else {
+                    c.update(aheadChunks, off, len, aheadChunks, off);
+                }
+            }
+        });
+    }
+
     /**
      * Helper function for overriding the cipher invocation, i.e. XOR doesn't use a cipher
      * and uses it's own implementation
@@ -222,6 +324,23 @@ public abstract class ChunkedCipherInputStream extends LittleEndianInputStream {
      */
     @Override
     public void readPlain(byte[] b, int off, int len) {
+        readFully(b, null, off, len, true);
+    }
+
+    /**
+     * Reads a complete record body at once. The decrypted bytes are copied to {@code b}
+     * and the unencrypted bytes of the same range to {@code plainBuf}, so the caller can
+     * serve both kinds of reads from its own buffers.
+     *
+     * @param b the buffer for the decrypted bytes
+     * @param plainBuf the buffer for the unencrypted bytes
+     * @param len the record size
+     */
+    public void readRecord(byte[] b, byte[] plainBuf, int len) {
+        readFully(b, plainBuf, 0, len, false);
+    }
+
+    private void readFully(byte[] b, byte[] plainCopy, int off, int len, boolean readPlain) {
         if (len <= 0) {
             return;
         }
@@ -229,7 +348,7 @@ public abstract class ChunkedCipherInputStream extends LittleEndianInputStream {
         try {
             int readBytes, total = 0;
             do {
-                readBytes = read(b, off, len, true);
+                readBytes = read(b, off+total, len-total, readPlain, plainCopy);
                 total += Math.max(0, readBytes);
             } while (readBytes > -1 && total < len);
 
@@ -57,6 +57,11 @@ public abstract class ChunkedCipherOutputStream extends FilterOutputStream {
     private Cipher cipher;
     private boolean isClosed;
 
+    // full chunks, which are waiting to be encrypted in parallel
+    private int parallelChunks;
+    private byte[] pendingChunks;
+    private int pendingFirst, pendingCount;
+
     public ChunkedCipherOutputStream(DirectoryNode dir, int chunkSize) throws IOException, GeneralSecurityException {
         super(null);
         this.chunkSize = chunkSize;
@@ -97,6 +102,24 @@ public abstract class ChunkedCipherOutputStream extends FilterOutputStream {
     protected abstract Cipher initCipherForBlock(Cipher existing, int block, boolean lastChunk)
     throws IOException, GeneralSecurityException;
 
+    /**
+     * Enables the parallel mode, which collects several full chunks and encrypts them
+     * on multiple threads, each with its own cipher instance.
+     * The last chunk and chunks containing plain bytes are still encrypted sequentially.
+     * This is only supported by ciphers which are initialized per chunk and don't
+     * override {@link #invokeCipher(int, boolean)}.
+     *
+     * @param parallelChunks the number of chunks which are encrypted together, values below 2 disable the parallel mode
+     */
+    public void setParallelChunks(int parallelChunks) throws IOException {
+        if (chunkSize == STREAMING) {
+            throw new EncryptedDocumentException("parallel encryption is not supported for streaming ciphers");
+        }
+        flushPendingChunks();
+        this.parallelChunks = parallelChunks;
+        this.pendingChunks = null;
+    }
+
     protected abstract void calculateChecksum(File fileOut, int oleStreamSize)
     throws GeneralSecurityException, IOException;
 
@@ -154,7 +177,7 @@ public abstract class ChunkedCipherOutputStream extends FilterOutputStream {
     }
 
     protected void writeChunk(boolean continued) throws IOException {
-        if (pos == 0 || totalPos == written) {
+        if (pos == 0 || totalPos == written + ((long)pendingCount << chunkBits)) {
             return;
         }
 
@@ -173,6 +196,14 @@ public abstract class ChunkedCipherOutputStream extends FilterOutputStream {
             lastChunk = true;
         }
 
+        if (parallelChunks > 1) {
+            if (!lastChunk && plainByteFlags.isEmpty()) {
+                queueChunk(index);
+                return;
+            }
+            flushPendingChunks();
+        }
+
         int ciLen;
         try {
             boolean doFinal = true;
@@ -199,6 +230,49 @@ public abstract class ChunkedCipherOutputStream extends FilterOutputStream {
         written += ciLen;
     }
 
+    private void queueChunk(int index) throws IOException {
+        if (pendingChunks == null) {
+            pendingChunks = IOUtils.safelyAllocate((long)parallelChunks << chunkBits, Integer.MAX_VALUE);
+        }
+        if (pendingCount > 0 && pendingFirst + pendingCount != index) {
+            flushPendingChunks();
+        }
+        if (pendingCount == 0) {
+            pendingFirst = index;
+        }
+        System.arraycopy(chunk, 0, pendingChunks, pendingCount << chunkBits, chunk.length);
+        pendingCount++;
+        if (pendingCount == parallelChunks) {
+            flushPendingChunks();
+        }
+    }
+
+    private void flushPendingChunks() throws IOException {
+        if (pendingCount == 0) {
+            return;
+        }
+        // split the chunks into one range per worker, so each worker only needs a single cipher
+        final int count = pendingCount;
+        final int first = pendingFirst;
+        final int workers = Math.min(count, Runtime.getRuntime().availableProcessors());
+        try {
+            ChunkWorkers.run(workers, w -> {
+                Cipher c = null;
+                for (int i = w*count/workers; i < (w+1)*count/workers; i++) {
+                    c = initCipherForBlock(c, first+i, false);
+                    int off = i << chunkBits;
+                    c.doFinal(pendingChunks, off, chunk.length, pendingChunks, off);
+                }
+            });
+        } catch (GeneralSecurityException e) {
+            throw new IOException("can't re-/initialize cipher", e);
+        }
+        out.write(pendingChunks, 0, count << chunkBits);
+        pendingCount = 0;
+        // full chunks are encrypted without padding, so the size doesn't change
+        written += (long)count << chunkBits;
+    }
+
     /**
      * Helper function for overriding the cipher invocation, i.e. XOR doesn't use a cipher
      * and uses it's own implementation
@@ -253,6 +327,7 @@ public abstract class ChunkedCipherOutputStream extends FilterOutputStream {
 
         try {
             writeChunk(false);
+            flushPendingChunks();
 
             super.close();
 
@@ -38,6 +38,7 @@ public abstract class Decryptor implements GenericRecord {
     protected EncryptionInfo encryptionInfo;
     private SecretKey secretKey;
     private byte[] verifier, integrityHmacKey, integrityHmacValue;
+    private int parallelChunks;
 
     protected Decryptor() {}
 
@@ -48,6 +49,7 @@ public abstract class Decryptor implements GenericRecord {
         verifier = (other.verifier == null) ? null : other.verifier.clone();
         integrityHmacKey = (other.integrityHmacKey == null) ? null : other.integrityHmacKey.clone();
         integrityHmacValue = (other.integrityHmacValue == null) ? null : other.integrityHmacValue.clone();
+        parallelChunks = other.parallelChunks;
     }
 
     /**
@@ -90,6 +92,25 @@ public abstract class Decryptor implements GenericRecord {
         throw new EncryptedDocumentException("this decryptor doesn't support changing the chunk size");
     }
 
+    /**
+     * Sets the number of chunks which are decrypted together on multiple threads.
+     * Needs to be set before the data stream is requested.
+     * Only the chunked encryption modes (agile and binary RC4) support this,
+     * the other modes ignore this setting and process the data sequentially.
+     *
+     * @param parallelChunks the number of chunks per batch, values below 2 disable the parallel processing
+     */
+    public void setParallelChunks(int parallelChunks) {
+        this.parallelChunks = parallelChunks;
+    }
+
+    /**
+     * @return the number of chunks which are decrypted together, 0 or 1 if the data is processed sequentially
+     */
+    public int getParallelChunks() {
+        return parallelChunks;
+    }
+
     /**
      * Initializes a cipher object for a given block index for encryption
      *
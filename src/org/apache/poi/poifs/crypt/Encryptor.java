@@ -33,6 +33,7 @@ public abstract class Encryptor implements GenericRecord {
     protected static final String DEFAULT_POIFS_ENTRY = Decryptor.DEFAULT_POIFS_ENTRY;
     private EncryptionInfo encryptionInfo;
     private SecretKey secretKey;
+    private int parallelChunks;
 
     protected Encryptor() {}
 
@@ -40,6 +41,7 @@ public abstract class Encryptor implements GenericRecord {
         encryptionInfo = other.encryptionInfo;
         // secretKey is immutable
         secretKey = other.secretKey;
+        parallelChunks = other.parallelChunks;
     }
 
     /**
@@ -96,6 +98,25 @@ public abstract class Encryptor implements GenericRecord {
         throw new EncryptedDocumentException("this decryptor doesn't support changing the chunk size");
     }
 
+    /**
+     * Sets the number of chunks which are encrypted together on multiple threads.
+     * Needs to be set before the data stream is requested.
+     * Only the chunked encryption modes (agile and binary RC4) support this,
+     * the other modes ignore this setting and process the data sequentially.
+     *
+     * @param parallelChunks the number of chunks per batch, values below 2 disable the parallel processing
+     */
+    public void setParallelChunks(int parallelChunks) {
+        this.parallelChunks = parallelChunks;
+    }
+
+    /**
+     * @return the number of chunks which are encrypted together, 0 or 1 if the data is processed sequentially
+     */
+    public int getParallelChunks() {
+        return parallelChunks;
+    }
+
     public abstract Encryptor copy();
 
     @Override
@@ -0,0 +1,177 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.poifs.crypt;
+
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Objects;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.apache.poi.EncryptedDocumentException;
+import org.apache.poi.util.BoundedConcurrentCache;
+import org.apache.poi.util.Internal;
+import org.apache.poi.util.StringUtil;
+
+/**
+ * An optional in-memory cache of the iterated password hashes of
+ * {@link CryptoFunctions#hashPassword(String, HashAlgorithm, byte[], int)}.
+ * <p>
+ * Opening many documents, which were encrypted with the same password and salt,
+ * spends most of its time in the spin count loop (usually 100,000 iterations) of the
+ * key derivation. When the cache is enabled via {@link #setMaxSize(int)}, the decryptors
+ * derive the hash only once per algorithm, salt, spin count and password.
+ * <p>
+ * The passwords themselves are not kept - they are identified by a HMAC with a random
+ * key, which is generated for each JVM. The cached hashes are overwritten with zeros
+ * when they are evicted or the cache is cleared.
+ * <p>
+ * The cache is disabled by default, as it keeps key material in memory.
+ */
+@Internal
+public final class PasswordHashCache {
+    private static final HashAlgorithm PASSWORD_DIGEST = HashAlgorithm.sha256;
+    private static final byte[] PASSWORD_DIGEST_KEY = new byte[PASSWORD_DIGEST.hashSize];
+
+    static {
+        new SecureRandom().nextBytes(PASSWORD_DIGEST_KEY);
+    }
+
+    private static volatile BoundedConcurrentCache<CacheKey, byte[]> cache;
+
+    private PasswordHashCache() {
+    }
+
+    /**
+     * Enables the cache or changes its size. Any previously cached hashes are cleared.
+     *
+     * @param maxSize the maximum number of cached password hashes, 0 disables the cache
+     */
+    public static synchronized void setMaxSize(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize must not be negative, but was " + maxSize);
+        }
+        BoundedConcurrentCache<CacheKey, byte[]> old = cache;
+        cache = (maxSize == 0) ? null : new BoundedConcurrentCache<>(maxSize, PasswordHashCache::zeroize);
+        if (old != null) {
+            old.clear();
+        }
+    }
+
+    /**
+     * @return the maximum number of cached password hashes, 0 if the cache is disabled
+     */
+    public static int getMaxSize() {
+        BoundedConcurrentCache<CacheKey, byte[]> c = cache;
+        return (c == null) ? 0 : c.getMaxSize();
+    }
+
+    /**
+     * Removes and zeroizes all cached password hashes
+     */
+    public static synchronized void clear() {
+        BoundedConcurrentCache<CacheKey, byte[]> c = cache;
+        if (c != null) {
+            c.clear();
+        }
+    }
+
+    /**
+     * Returns the password hash like {@link CryptoFunctions#hashPassword(String, HashAlgorithm, byte[], int)},
+     * but uses the cached hash if the cache is enabled.
+     * <p>
+     * The hash is derived outside of any lock. The cache is only accessed while holding the
+     * class lock, so a cached hash can't be zeroized by an eviction while it's copied.
+     *
+     * @return a copy of the hashed password, which can be modified by the caller
+     */
+    public static byte[] hashPassword(String password, HashAlgorithm hashAlgorithm, byte[] salt, int spinCount) {
+        BoundedConcurrentCache<CacheKey, byte[]> c = cache;
+        if (c == null) {
+            return CryptoFunctions.hashPassword(password, hashAlgorithm, salt, spinCount);
+        }
+        CacheKey key = new CacheKey(hashAlgorithm, salt, spinCount, digestPassword(password));
+        synchronized (PasswordHashCache.class) {
+            byte[] cached = c.get(key);
+            if (cached != null) {
+                return cached.clone();
+            }
+        }
+
+        byte[] hash = CryptoFunctions.hashPassword(password, hashAlgorithm, salt, spinCount);
+        synchronized (PasswordHashCache.class) {
+            // don't add to a cache, which was replaced or disabled in the meantime
+            if (c == cache) {
+                byte[] copy = hash.clone();
+                if (c.putIfAbsent(key, copy) != null) {
+                    // another thread cached the hash in the meantime
+                    zeroize(copy);
+                }
+            }
+        }
+        return hash;
+    }
+
+    private static byte[] digestPassword(String password) {
+        byte[] passwordBytes = StringUtil.getToUnicodeLE(password == null ? Decryptor.DEFAULT_PASSWORD : password);
+        try {
+            Mac mac = CryptoFunctions.getMac(PASSWORD_DIGEST);
+            mac.init(new SecretKeySpec(PASSWORD_DIGEST_KEY, PASSWORD_DIGEST.jceHmacId));
+            return mac.doFinal(passwordBytes);
+        } catch (GeneralSecurityException e) {
+            throw new EncryptedDocumentException(e);
+        } finally {
+            Arrays.fill(passwordBytes, (byte)0);
+        }
+    }
+
+    private static void zeroize(byte[] hash) {
+        Arrays.fill(hash, (byte)0);
+    }
+
+    private static final class CacheKey {
+        private final HashAlgorithm hashAlgorithm;
+        private final byte[] salt;
+        private final int spinCount;
+        private final byte[] passwordDigest;
+
+        CacheKey(HashAlgorithm hashAlgorithm, byte[] salt, int spinCount, byte[] passwordDigest) {
+            this.hashAlgorithm = hashAlgorithm;
+            this.salt = salt.clone();
+            this.spinCount = spinCount;
+            this.passwordDigest = passwordDigest;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey other = (CacheKey)o;
+            return hashAlgorithm == other.hashAlgorithm && spinCount == other.spinCount
+                && Arrays.equals(salt, other.salt) && Arrays.equals(passwordDigest, other.passwordDigest);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(hashAlgorithm, spinCount, Arrays.hashCode(salt), Arrays.hashCode(passwordDigest));
+        }
+    }
+}
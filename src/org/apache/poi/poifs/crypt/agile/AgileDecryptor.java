@@ -71,7 +71,7 @@ public class AgileDecryptor extends Decryptor {
 
         int blockSize = header.getBlockSize();
 
-        byte[] pwHash = hashPassword(password, ver.getHashAlgorithm(), ver.getSalt(), ver.getSpinCount());
+        byte[] pwHash = PasswordHashCache.hashPassword(password, ver.getHashAlgorithm(), ver.getSalt(), ver.getSpinCount());
 
         /*
          * encryptedVerifierHashInput: This attribute MUST be generated by using the following steps:
@@ -197,7 +197,11 @@ public class AgileDecryptor extends Decryptor {
     public InputStream getDataStream(DirectoryNode dir) throws IOException, GeneralSecurityException {
         DocumentInputStream dis = dir.createDocumentInputStream(DEFAULT_POIFS_ENTRY);
         _length = dis.readLong();
-        return new AgileCipherInputStream(dis, _length);
+        AgileCipherInputStream cis = new AgileCipherInputStream(dis, _length);
+        if (getParallelChunks() > 1) {
+            cis.setParallelChunks(getParallelChunks());
+        }
+        return cis;
     }
 
     @Override
@@ -187,7 +187,11 @@ public class AgileEncryptor extends Encryptor {
     public OutputStream getDataStream(DirectoryNode dir)
             throws IOException, GeneralSecurityException {
         // TODO: initialize headers
-        return new AgileCipherOutputStream(dir);
+        AgileCipherOutputStream os = new AgileCipherOutputStream(dir);
+        if (getParallelChunks() > 1) {
+            os.setParallelChunks(getParallelChunks());
+        }
+        return os;
     }
 
     /**
@@ -138,7 +138,11 @@ public class BinaryRC4Decryptor extends Decryptor {
             GeneralSecurityException {
         DocumentInputStream dis = dir.createDocumentInputStream(DEFAULT_POIFS_ENTRY);
         length = dis.readLong();
-        return new BinaryRC4CipherInputStream(dis, length);
+        BinaryRC4CipherInputStream cis = new BinaryRC4CipherInputStream(dis, length);
+        if (getParallelChunks() > 1) {
+            cis.setParallelChunks(getParallelChunks());
+        }
+        return cis;
     }
 
     @Override
@@ -80,7 +80,11 @@ public class BinaryRC4Encryptor extends Encryptor {
     @Override
     public OutputStream getDataStream(DirectoryNode dir)
     throws IOException, GeneralSecurityException {
-        return new BinaryRC4CipherOutputStream(dir);
+        BinaryRC4CipherOutputStream os = new BinaryRC4CipherOutputStream(dir);
+        if (getParallelChunks() > 1) {
+            os.setParallelChunks(getParallelChunks());
+        }
+        return os;
     }
 
     @Override
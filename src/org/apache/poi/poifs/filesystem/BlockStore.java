@@ -49,6 +49,21 @@ public abstract class BlockStore {
      */
     protected abstract void releaseBuffer(ByteBuffer buffer);
 
+    /**
+     * Copies the data into the block at its current position, but leaves the
+     *  block untouched if it already contains the same bytes. This way only
+     *  modified blocks of a memory mapped file are written back on a save.
+     */
+    public static void putIfChanged(ByteBuffer block, byte[] data, int offset, int length) {
+        ByteBuffer existing = block.duplicate();
+        existing.limit(existing.position() + length);
+        if (existing.equals(ByteBuffer.wrap(data, offset, length))) {
+            block.position(block.position() + length);
+        } else {
+            block.put(data, offset, length);
+        }
+    }
+
     /**
      * Returns the BATBlock that handles the specified offset,
      *  and the relative index within it
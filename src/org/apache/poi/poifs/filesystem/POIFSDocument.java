@@ -85,7 +85,7 @@ public final class POIFSDocument implements POIFSViewable, Iterable<ByteBuffer>
       this._filesystem = filesystem;
 
       // Store it
-      int length = store(stream);
+      int length = store(stream, false);
 
       // Build the property for it
       this._property = new DocumentProperty(name, length);
@@ -120,21 +120,35 @@ public final class POIFSDocument implements POIFSViewable, Iterable<ByteBuffer>
    
    /**
     * Stores the given data for this Document
+    *
+    * @param overwrite if {@code true}, the existing blocks are overwritten in place as long as
+    *  the document stays in the same (mini or big) block store - unchanged blocks are then left
+    *  untouched. Otherwise the data is written to new blocks.
     */
-   private int store(InputStream stream) throws IOException {
+   private int store(InputStream stream, boolean overwrite) throws IOException {
        final int bigBlockSize = POIFSConstants.BIG_BLOCK_MINIMUM_DOCUMENT_SIZE;
        BufferedInputStream bis = new BufferedInputStream(stream, bigBlockSize+1);
        bis.mark(bigBlockSize);
 
        // Do we need to store as a mini stream or a full one?
        long streamBlockSize = IOUtils.skipFully(bis, bigBlockSize);
+       BlockStore blockStore;
        if (streamBlockSize < bigBlockSize) {
-          _stream = new POIFSStream(_filesystem.getMiniStore());
-          _block_size = _filesystem.getMiniStore().getBlockStoreBlockSize();
+          blockStore = _filesystem.getMiniStore();
        } else {
-          _stream = new POIFSStream(_filesystem);
-          _block_size = _filesystem.getBlockStoreBlockSize();
+          blockStore = _filesystem;
+       }
+       _block_size = blockStore.getBlockStoreBlockSize();
+
+       int startBlock = POIFSConstants.END_OF_CHAIN;
+       if (overwrite) {
+          if (_stream.getBlockStore() == blockStore) {
+             startBlock = _stream.getStartBlock();
+          } else {
+             free();
+          }
        }
+       _stream = new POIFSStream(blockStore, startBlock);
 
        // start from the beginning 
        bis.reset();
@@ -190,9 +204,12 @@ public final class POIFSDocument implements POIFSViewable, Iterable<ByteBuffer>
       return _property.getSize();
    }
    
+   /**
+    * Replaces the contents of this document. The existing blocks are overwritten in place,
+    * so an unchanged block is neither moved nor rewritten.
+    */
    public void replaceContents(InputStream stream) throws IOException {
-       free();
-       int size = store(stream);
+       int size = store(stream, true);
        _property.setStartBlock(_stream.getStartBlock()); 
        _property.updateSize(size);
    }
@@ -730,7 +730,8 @@ public class POIFSFileSystem extends BlockStore
                 _header.getBigBlockSize().getBigBlockSize()
         );
         _header.writeData(baos);
-        getBlockAt(-1).put(baos.toByteArray());
+        byte[] header = baos.toByteArray();
+        BlockStore.putIfChanged(getBlockAt(-1), header, 0, header.length);
 
 
         // BATs
@@ -70,6 +70,13 @@ public class POIFSStream implements Iterable<ByteBuffer>
 	   this.startBlock = POIFSConstants.END_OF_CHAIN;
 	}
 
+	/**
+	 * @return the store, which holds the blocks of this stream
+	 */
+	BlockStore getBlockStore() {
+	   return blockStore;
+	}
+
 	/**
 	 * What block does this stream start at?
 	 * Will be {@link POIFSConstants#END_OF_CHAIN} for a
@@ -248,7 +255,7 @@ public class POIFSStream implements Iterable<ByteBuffer>
             do {
                 createBlockIfNeeded();
                 int writeBytes = Math.min(buffer.remaining(), len);
-                buffer.put(b, off, writeBytes);
+                BlockStore.putIfChanged(buffer, b, off, writeBytes);
                 off += writeBytes;
                 len -= writeBytes;
             } while (len > 0);
@@ -262,6 +269,9 @@ public class POIFSStream implements Iterable<ByteBuffer>
             // Mark the end of the stream, if we have any data
             if (prevBlock != POIFSConstants.END_OF_CHAIN) {
                 blockStore.setNextBlock(prevBlock, POIFSConstants.END_OF_CHAIN);
+            } else {
+                // nothing written, so the overwritten chain is gone completely
+                startBlock = POIFSConstants.END_OF_CHAIN;
             }
         }
    }
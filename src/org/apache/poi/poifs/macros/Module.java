@@ -43,4 +43,14 @@ public interface Module {
      * @return the module type
      */
     public ModuleType geModuleType();
+
+    /**
+     * Get the size of the compressed module source, which is known without
+     * decompressing the module.
+     *
+     * @return the compressed size in bytes or -1 if it's unknown
+     */
+    default int getCompressedSize() {
+        return -1;
+    }
 }
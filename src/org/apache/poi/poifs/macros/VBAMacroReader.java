@@ -105,7 +105,23 @@ public class VBAMacroReader implements Closeable {
     }
 
     public Map<String, Module> readMacroModules() throws IOException {
+        return readMacroModules(false);
+    }
+
+    /**
+     * Reads the modules of the opened office file.
+     * <p>
+     * In the lazy mode, only the module metadata - name, type and compressed size - is read
+     * and the module source is decompressed when {@link Module#getContent()} is called for the
+     * first time. In this case the reader must not be closed before the contents are retrieved.
+     *
+     * @param lazy if {@code true}, the module sources are decompressed on demand
+     * @return the modules keyed by their stream name
+     * @throws IOException If reading the VBA project fails
+     */
+    public Map<String, Module> readMacroModules(boolean lazy) throws IOException {
         final ModuleMap modules = new ModuleMap();
+        modules.lazy = lazy;
         //ascii -> unicode mapping for module names
         //preserve insertion order
         final Map<String, String> moduleNameMap = new LinkedHashMap<>();
@@ -143,6 +159,9 @@ public class VBAMacroReader implements Closeable {
         byte[] buf;
         ModuleType moduleType;
         Charset charset;
+        int compressedSize = -1;
+        // the module stream, which is decompressed on demand in the lazy mode
+        DocumentNode documentNode;
         void read(InputStream in) throws IOException {
             final ByteArrayOutputStream out = new ByteArrayOutputStream();
             IOUtils.copy(in, out);
@@ -150,14 +169,27 @@ public class VBAMacroReader implements Closeable {
             buf = out.toByteArray();
         }
         public String getContent() {
-            return new String(buf, charset);
+            if (buf == null && documentNode != null) {
+                try {
+                    decompress(documentNode, this);
+                } catch (IOException e) {
+                    throw new IllegalStateException("Can't decompress module " + documentNode.getName(), e);
+                }
+                documentNode = null;
+            }
+            return (buf == null) ? null : new String(buf, charset);
         }
         public ModuleType geModuleType() {
             return moduleType;
         }
+        @Override
+        public int getCompressedSize() {
+            return compressedSize;
+        }
     }
     protected static class ModuleMap extends HashMap<String, ModuleImpl> {
         Charset charset = StringUtil.WIN_1252; // default charset
+        boolean lazy;
     }
 
     /**
@@ -209,11 +241,8 @@ public class VBAMacroReader implements Closeable {
             // Would adding module.read(in) here be correct?
         } else {
             // Decompress a previously found module and store the decompressed result into module.buf
-            InputStream stream = new RLEDecompressingInputStream(
-                    new ByteArrayInputStream(module.buf, moduleOffset, module.buf.length - moduleOffset)
-            );
-            module.read(stream);
-            stream.close();
+            module.compressedSize = module.buf.length - moduleOffset;
+            module.buf = RLEDecompressingInputStream.decompress(module.buf, moduleOffset, module.compressedSize);
         }
     }
 
@@ -234,29 +263,42 @@ public class VBAMacroReader implements Closeable {
                 throw new IOException("Module offset for '" + name + "' was never read.");
             }
 
-            //try the general case, where module.offset is accurate
-            try (InputStream compressed = new DocumentInputStream(documentNode)) {
-                // we know the offset already, so decompress immediately on-the-fly
-                trySkip(compressed, module.offset);
-                try (InputStream decompressed = new RLEDecompressingInputStream(compressed)) {
-                    module.read(decompressed);
-                }
-                return;
-            } catch (IllegalArgumentException | IllegalStateException e) {
+            module.compressedSize = documentNode.getSize() - module.offset;
+            if (modules.lazy) {
+                module.documentNode = documentNode;
+            } else {
+                decompress(documentNode, module);
             }
+        }
 
-            //bad module.offset, try brute force
-            ;
-            byte[] decompressedBytes;
-            try (InputStream compressed = new DocumentInputStream(documentNode)) {
-                decompressedBytes = findCompressedStreamWBruteForce(compressed);
-            }
+    }
 
-            if (decompressedBytes != null) {
-                module.read(new ByteArrayInputStream(decompressedBytes));
-            }
+    /**
+     * Decompresses the module source at the module offset or searches for it, if the offset is wrong
+     */
+    private static void decompress(DocumentNode documentNode, ModuleImpl module) throws IOException {
+        final byte[] compressed;
+        try (InputStream dis = new DocumentInputStream(documentNode)) {
+            compressed = IOUtils.toByteArray(dis, documentNode.getSize());
+        }
+
+        //try the general case, where module.offset is accurate
+        final int offset = module.offset;
+        if (offset < 0 || offset > compressed.length) {
+            throw new IOException("Tried skipping " + offset + " bytes, but only " + compressed.length + " bytes are available. "
+                + "This should never happen with a non-corrupt file.");
+        }
+        try {
+            module.buf = RLEDecompressingInputStream.decompress(compressed, offset, compressed.length - offset);
+            return;
+        } catch (IllegalArgumentException | IllegalStateException e) {
         }
 
+        //bad module.offset, try brute force
+        byte[] decompressedBytes = findCompressedStreamWBruteForce(compressed);
+        if (decompressedBytes != null) {
+            module.buf = decompressedBytes;
+        }
     }
 
     /**
@@ -768,15 +810,10 @@ public class VBAMacroReader implements Closeable {
      * This will try to find the the first RLEDecompressing stream that starts with "Attribute".
      * This relies on some, er, heuristics, admittedly.
      *
-     * @param is full module inputstream to read
+     * @param compressed the full module stream
      * @return uncompressed bytes if found, <code>null</code> otherwise
-     * @throws IOException for a true IOException copying the is to a byte array
      */
-    private static byte[] findCompressedStreamWBruteForce(InputStream is) throws IOException {
-        //buffer to memory for multiple tries
-        ByteArrayOutputStream bos = new ByteArrayOutputStream();
-        IOUtils.copy(is, bos);
-        byte[] compressed = bos.toByteArray();
+    private static byte[] findCompressedStreamWBruteForce(byte[] compressed) {
         byte[] decompressed = null;
         for (int i = 0; i < compressed.length; i++) {
             if (compressed[i] == 0x01 && i < compressed.length-1) {
@@ -784,7 +821,7 @@ public class VBAMacroReader implements Closeable {
                 if (w <= 0 || (w & 0x7000) != 0x3000) {
                     continue;
                 }
-                decompressed = tryToDecompress(new ByteArrayInputStream(compressed, i, compressed.length - i));
+                decompressed = tryToDecompress(compressed, i);
                 if (decompressed != null) {
                     if (decompressed.length > 9) {
                         //this is a complete hack.  The challenge is that there
@@ -802,13 +839,11 @@ public class VBAMacroReader implements Closeable {
         return decompressed;
     }
 
-    private static byte[] tryToDecompress(InputStream is) {
-        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    private static byte[] tryToDecompress(byte[] compressed, int offset) {
         try {
-            IOUtils.copy(new RLEDecompressingInputStream(is), bos);
+            return RLEDecompressingInputStream.decompress(compressed, offset, compressed.length - offset);
         } catch (IllegalArgumentException | IOException | IllegalStateException e){
             return null;
         }
-        return bos.toByteArray();
     }
 }
@@ -19,6 +19,7 @@ package org.apache.poi.poifs.storage;
 
 import org.apache.poi.poifs.common.POIFSBigBlockSize;
 import org.apache.poi.poifs.common.POIFSConstants;
+import org.apache.poi.poifs.filesystem.BlockStore;
 import org.apache.poi.util.LittleEndian;
 import org.apache.poi.util.LittleEndianConsts;
 
@@ -266,8 +267,10 @@ public final class BATBlock implements BlockWritable {
     }
 
     public void writeData(final ByteBuffer block) {
-       // Save it out
-       block.put( serialize() );
+       // Only touch the block if it has changed, so unmodified
+       //  BATs of a memory mapped file aren't written back
+       byte[] data = serialize();
+       BlockStore.putIfChanged(block, data, 0, data.length);
     }
 
     private byte[] serialize() {
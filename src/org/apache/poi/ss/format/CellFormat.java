@@ -19,6 +19,7 @@ package org.apache.poi.ss.format;
 
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.ss.util.DateFormatConverter;
+import org.apache.poi.util.BoundedConcurrentCache;
 import org.apache.poi.util.LocaleUtil;
 
 import javax.swing.*;
@@ -117,8 +118,33 @@ public class CellFormat {
     }
 
     /** Maps a format string to its parsed version for efficiencies sake. */
-    private static final Map<Locale, Map<String, CellFormat>> formatCache =
-            new WeakHashMap<>();
+    private static final BoundedConcurrentCache<CacheKey, CellFormat> formatCache =
+            new BoundedConcurrentCache<>(1000);
+
+    /** Key of the {@link #formatCache} */
+    private static final class CacheKey {
+        private final Locale locale;
+        private final String format;
+
+        CacheKey(Locale locale, String format) {
+            this.locale = locale;
+            this.format = format;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey other = (CacheKey) o;
+            return locale.equals(other.locale) && format.equals(other.format);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * locale.hashCode() + format.hashCode();
+        }
+    }
 
     /**
      * Returns a {@link CellFormat} that applies the given format.  Two calls
@@ -135,23 +161,22 @@ public class CellFormat {
     /**
      * Returns a {@link CellFormat} that applies the given format.  Two calls
      * with the same format may or may not return the same object.
+     * <p>
+     * The parsed formats are cached in a size bounded cache, which can be
+     * accessed concurrently without locking.
      *
      * @param locale The locale.
      * @param format The format.
      *
      * @return A {@link CellFormat} that applies the given format.
      */
-    public static synchronized CellFormat getInstance(Locale locale, String format) {
-        Map<String, CellFormat> formatMap = formatCache.computeIfAbsent(locale, k -> new WeakHashMap<>());
-        CellFormat fmt = formatMap.get(format);
-        if (fmt == null) {
+    public static CellFormat getInstance(Locale locale, String format) {
+        return formatCache.computeIfAbsent(new CacheKey(locale, format), key -> {
             if (format.equals("General") || format.equals("@"))
-                fmt = createGeneralFormat(locale);
+                return createGeneralFormat(locale);
             else
-                fmt = new CellFormat(locale, format);
-            formatMap.put(format, fmt);
-        }
-        return fmt;
+                return new CellFormat(locale, format);
+        });
     }
 
     /**
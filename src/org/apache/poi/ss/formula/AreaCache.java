@@ -0,0 +1,144 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.ss.formula;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.poi.ss.formula.FormulaCellCache.IEntryOperation;
+import org.apache.poi.ss.formula.FormulaUsedBlankCellSet.BookSheetKey;
+
+/**
+ * Stores the cache entries of the area snapshots, which are shared by all formulas reading
+ * the same area.<p>
+ *
+ * The snapshots don't record a dependency on each plain value or blank cell of their area.
+ * Instead the areas are indexed by sheet and block of rows, so the snapshots containing
+ * a changed cell are found by a point query.
+ *
+ * @see WorkbookEvaluator#evaluateAreaSnapshot(EvaluationSheet, int, int, int, int, int, boolean, EvaluationTracker)
+ */
+final class AreaCache {
+
+	public static final class AreaKey {
+		private final int _bookIndex;
+		private final int _sheetIndex;
+		private final int _firstRow;
+		private final int _firstColumn;
+		private final int _lastRow;
+		private final int _lastColumn;
+
+		public AreaKey(int bookIndex, int sheetIndex, int firstRow, int firstColumn, int lastRow, int lastColumn) {
+			_bookIndex = bookIndex;
+			_sheetIndex = sheetIndex;
+			_firstRow = firstRow;
+			_firstColumn = firstColumn;
+			_lastRow = lastRow;
+			_lastColumn = lastColumn;
+		}
+
+		public boolean containsCell(int rowIndex, int columnIndex) {
+			return _firstRow <= rowIndex && rowIndex <= _lastRow
+				&& _firstColumn <= columnIndex && columnIndex <= _lastColumn;
+		}
+
+		@Override
+		public int hashCode() {
+			return _bookIndex * 17 + _sheetIndex + 31 * (_firstRow + 31 * (_firstColumn + 31 * (_lastRow + 31 * _lastColumn)));
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof AreaKey)) {
+				return false;
+			}
+			AreaKey other = (AreaKey) obj;
+			return _bookIndex == other._bookIndex && _sheetIndex == other._sheetIndex
+				&& _firstRow == other._firstRow && _firstColumn == other._firstColumn
+				&& _lastRow == other._lastRow && _lastColumn == other._lastColumn;
+		}
+	}
+
+	private static final class IndexedArea {
+		private final AreaKey _key;
+		private final FormulaCellCacheEntry _entry;
+
+		IndexedArea(AreaKey key, FormulaCellCacheEntry entry) {
+			_key = key;
+			_entry = entry;
+		}
+	}
+
+	/** the number of rows of a block is 2^ROW_BLOCK_SHIFT */
+	private static final int ROW_BLOCK_SHIFT = 6;
+
+	private final Map<AreaKey, FormulaCellCacheEntry> _entriesByArea;
+	/** the areas overlapping each block of rows, by sheet */
+	private final Map<BookSheetKey, Map<Integer, List<IndexedArea>>> _areasByRowBlock;
+
+	public AreaCache() {
+		_entriesByArea = new HashMap<>();
+		_areasByRowBlock = new HashMap<>();
+	}
+
+	/**
+	 * @return <code>null</code> if not found
+	 */
+	public FormulaCellCacheEntry get(AreaKey key) {
+		return _entriesByArea.get(key);
+	}
+
+	public void put(AreaKey key, FormulaCellCacheEntry entry) {
+		if (_entriesByArea.put(key, entry) != null) {
+			throw new IllegalStateException("Area is already cached");
+		}
+		Map<Integer, List<IndexedArea>> rowBlocks = _areasByRowBlock.computeIfAbsent(
+			new BookSheetKey(key._bookIndex, key._sheetIndex), k -> new HashMap<>());
+		IndexedArea area = new IndexedArea(key, entry);
+		int lastBlock = key._lastRow >> ROW_BLOCK_SHIFT;
+		for (int block = key._firstRow >> ROW_BLOCK_SHIFT; block <= lastBlock; block++) {
+			rowBlocks.computeIfAbsent(block, k -> new ArrayList<>()).add(area);
+		}
+	}
+
+	public void clear() {
+		_entriesByArea.clear();
+		_areasByRowBlock.clear();
+	}
+
+	/**
+	 * Applies the operation to the entries of all areas containing the specified cell
+	 */
+	public void applyOperation(int bookIndex, int sheetIndex, int rowIndex, int columnIndex, IEntryOperation operation) {
+		Map<Integer, List<IndexedArea>> rowBlocks = _areasByRowBlock.get(new BookSheetKey(bookIndex, sheetIndex));
+		if (rowBlocks == null) {
+			return;
+		}
+		List<IndexedArea> areas = rowBlocks.get(rowIndex >> ROW_BLOCK_SHIFT);
+		if (areas == null) {
+			return;
+		}
+		for (IndexedArea area : areas) {
+			if (area._key.containsCell(rowIndex, columnIndex)) {
+				operation.processEntry(area._entry);
+			}
+		}
+	}
+}
@@ -77,6 +77,16 @@ public abstract class BaseFormulaEvaluator implements FormulaEvaluator, Workbook
         _bookEvaluator.clearAllCachedResultValues();
     }
 
+    /**
+     * Clears only the cached results of formulas, which call volatile functions like NOW() or RAND(),
+     * and of the formulas depending on them. This is much cheaper than {@link #clearAllCachedResultValues()}
+     * for periodically refreshing the volatile results.
+     */
+    @Override
+    public void recalculateVolatile() {
+        _bookEvaluator.recalculateVolatile();
+    }
+
     /**
      * If cell contains a formula, the formula is evaluated and returned,
      * else the CellValue simply copies the appropriate cell value from
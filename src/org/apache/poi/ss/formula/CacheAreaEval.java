@@ -17,6 +17,10 @@
 
 package org.apache.poi.ss.formula;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
 import org.apache.poi.ss.formula.eval.AreaEval;
 import org.apache.poi.ss.formula.eval.AreaEvalBase;
 import org.apache.poi.ss.formula.eval.BlankEval;
@@ -35,6 +39,10 @@ public final class CacheAreaEval extends AreaEvalBase {
     
     /* Value Containter */
     private final ValueEval[] _values;
+    /** the sorted numbers, created on first use */
+    private SortedNumbers _sortedNumbers;
+    /** the data of {@link #getDerivedData(Function)} by factory, created on first use */
+    private Map<Function<TwoDEval, ?>, Object> _derivedData;
     
     public CacheAreaEval(AreaI ptg, ValueEval[] values) {
         super(ptg);
@@ -55,6 +63,24 @@ public final class CacheAreaEval extends AreaEvalBase {
         return _values[oneDimensionalIndex];
     }
 
+    @Override
+    public SortedNumbers getSortedNumbers() {
+        if (_sortedNumbers == null) {
+            _sortedNumbers = new SortedNumbers(this);
+        }
+        return _sortedNumbers;
+    }
+
+    @Override
+    public <T> T getDerivedData(Function<TwoDEval, T> factory) {
+        if (_derivedData == null) {
+            _derivedData = new HashMap<>();
+        }
+        @SuppressWarnings("unchecked")
+        T data = (T)_derivedData.computeIfAbsent(factory, f -> factory.apply(this));
+        return data;
+    }
+
     public AreaEval offset(int relFirstRowIx, int relLastRowIx,
             int relFirstColIx, int relLastColIx) {
         
@@ -19,7 +19,9 @@ package org.apache.poi.ss.formula;
 
 import org.apache.poi.ss.formula.eval.ValueEval;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -29,7 +31,10 @@ final class CellEvaluationFrame {
 
 	private final FormulaCellCacheEntry _cce;
 	private final Set<CellCacheEntry> _sensitiveInputCells;
+	/** the formula cells among the input cells, which may pass on volatility */
+	private List<FormulaCellCacheEntry> _formulaInputCells;
 	private FormulaUsedBlankCellSet _usedBlankCellGroup;
+	private boolean _callsVolatileFunction;
 
 	public CellEvaluationFrame(FormulaCellCacheEntry cce) {
 		_cce = cce;
@@ -49,7 +54,12 @@ final class CellEvaluationFrame {
 	 * @param inputCell a cell directly used by the formula of this evaluation frame
 	 */
 	public void addSensitiveInputCell(CellCacheEntry inputCell) {
-		_sensitiveInputCells.add(inputCell);
+		if (_sensitiveInputCells.add(inputCell) && inputCell instanceof FormulaCellCacheEntry) {
+			if (_formulaInputCells == null) {
+				_formulaInputCells = new ArrayList<>();
+			}
+			_formulaInputCells.add((FormulaCellCacheEntry)inputCell);
+		}
 	}
 	/**
 	 * @return never <code>null</code>, (possibly empty) array of all cells directly used while
@@ -71,7 +81,32 @@ final class CellEvaluationFrame {
 		_usedBlankCellGroup.addCell(evalWorkbook, bookIndex, sheetIndex, rowIndex, columnIndex);
 	}
 
+	/**
+	 * Marks the formula of this frame as calling a volatile function
+	 */
+	public void addVolatileFunctionCall() {
+		_callsVolatileFunction = true;
+	}
+
+	/**
+	 * @return <code>true</code> if the formula calls a volatile function or uses the result
+	 * of a volatile formula
+	 */
+	private boolean isVolatile() {
+		if (_callsVolatileFunction) {
+			return true;
+		}
+		if (_formulaInputCells != null) {
+			for (FormulaCellCacheEntry inputCell : _formulaInputCells) {
+				if (inputCell.isVolatile()) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
 	public void updateFormulaResult(ValueEval result) {
-		_cce.updateFormulaResult(result, getSensitiveInputCells(), _usedBlankCellGroup);
+		_cce.updateFormulaResult(result, getSensitiveInputCells(), _usedBlankCellGroup, isVolatile());
 	}
 }
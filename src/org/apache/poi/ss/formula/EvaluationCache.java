@@ -17,6 +17,7 @@
 
 package org.apache.poi.ss.formula;
 
+import org.apache.poi.ss.formula.AreaCache.AreaKey;
 import org.apache.poi.ss.formula.FormulaUsedBlankCellSet.BookSheetKey;
 import org.apache.poi.ss.formula.PlainCellCache.Loc;
 import org.apache.poi.ss.formula.eval.*;
@@ -33,6 +34,7 @@ final class EvaluationCache {
 
 	private final PlainCellCache _plainCellCache;
 	private final FormulaCellCache _formulaCellCache;
+	private final AreaCache _areaCache;
 	/** only used for testing. <code>null</code> otherwise */
 	final IEvaluationListener _evaluationListener;
 
@@ -40,6 +42,7 @@ final class EvaluationCache {
 		_evaluationListener = evaluationListener;
 		_plainCellCache = new PlainCellCache();
 		_formulaCellCache = new FormulaCellCache();
+		_areaCache = new AreaCache();
 	}
 
 	public void notifyUpdateCell(int bookIndex, int sheetIndex, EvaluationCell cell) {
@@ -73,6 +76,7 @@ final class EvaluationCache {
 				pcce.recurseClearCachedFormulaResults(_evaluationListener);
 				_plainCellCache.remove(loc);
 			}
+			updateAnyAreasContaining(bookIndex, sheetIndex, rowIndex, columnIndex, null);
 		} else {
 			ValueEval value = WorkbookEvaluator.getValueFromNonFormulaCell(cell);
 			if (pcce == null) {
@@ -106,9 +110,28 @@ final class EvaluationCache {
 				fcce.setSensitiveInputCells(null);
 				fcce.recurseClearCachedFormulaResults(_evaluationListener);
 			}
+			updateAnyAreasContaining(bookIndex, sheetIndex, rowIndex, columnIndex, value);
 		}
 	}
 
+	/**
+	 * Clears the area snapshots containing the specified cell, unless they already hold the new value
+	 *
+	 * @param value the new value of a plain cell, <code>null</code> for a formula cell
+	 */
+	private void updateAnyAreasContaining(int bookIndex, int sheetIndex,
+			final int rowIndex, final int columnIndex, final ValueEval value) {
+		_areaCache.applyOperation(bookIndex, sheetIndex, rowIndex, columnIndex, entry -> {
+			AreaEval snapshot = (AreaEval) entry.getValue();
+			if (snapshot == null
+					|| (value != null && areValuesEqual(snapshot.getAbsoluteValue(rowIndex, columnIndex), value))) {
+				return;
+			}
+			entry.clearFormulaEntry();
+			entry.recurseClearCachedFormulaResults(_evaluationListener);
+		});
+	}
+
 	private void updateAnyBlankReferencingFormulas(int bookIndex, int sheetIndex,
 			final int rowIndex, final int columnIndex) {
 		final BookSheetKey bsk = new BookSheetKey(bookIndex, sheetIndex);
@@ -174,6 +197,39 @@ final class EvaluationCache {
 		return result;
 	}
 
+	/**
+	 * The entry of an area snapshot depends on the formula cells of the area, like a formula using them.
+	 * Changes of the other cells are found by the area index. Its value is the {@link CacheAreaEval}
+	 * holding the values of the cells.
+	 *
+	 * @param create if <code>false</code>, only an existing entry is returned
+	 * @return the cache entry of the area or <code>null</code> if it doesn't exist and shouldn't be created
+	 */
+	public FormulaCellCacheEntry getAreaEntry(int bookIndex, int sheetIndex, int firstRow, int firstColumn,
+			int lastRow, int lastColumn, boolean create) {
+		AreaKey key = new AreaKey(bookIndex, sheetIndex, firstRow, firstColumn, lastRow, lastColumn);
+		FormulaCellCacheEntry result = _areaCache.get(key);
+		if (result == null && create) {
+			result = new FormulaCellCacheEntry();
+			_areaCache.put(key, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Clears the cached results of the formulas which call volatile functions like NOW() or RAND(),
+	 * and of the formulas depending on them. The other cached results are kept.
+	 */
+	public void recalculateVolatile() {
+		_formulaCellCache.applyOperation(entry -> {
+			// the dependents of a volatile entry are volatile too, so they are cleared along the way
+			if (entry.isVolatile()) {
+				entry.recurseClearCachedFormulaResults(_evaluationListener);
+				entry.clearFormulaEntry();
+			}
+		});
+	}
+
 	/**
 	 * Should be called whenever there are changes to input cells in the evaluated workbook.
 	 */
@@ -183,6 +239,7 @@ final class EvaluationCache {
 		}
 		_plainCellCache.clear();
 		_formulaCellCache.clear();
+		_areaCache.clear();
 	}
 	public void notifyDeleteCell(int bookIndex, int sheetIndex, EvaluationCell cell) {
 
@@ -204,5 +261,7 @@ final class EvaluationCache {
 				pcce.recurseClearCachedFormulaResults(_evaluationListener);
 			}
 		}
+		updateAnyAreasContaining(bookIndex, sheetIndex, cell.getRowIndex(), cell.getColumnIndex(),
+				cell.getCellType() == CellType.FORMULA ? null : BlankEval.instance);
 	}
 }
@@ -131,6 +131,18 @@ final class EvaluationTracker {
 		}
 	}
 
+	/**
+	 * Notifies the currently evaluating cell frame, that its formula calls a volatile function
+	 */
+	public void acceptVolatileFunctionCall() {
+		int prevFrameIndex = _evaluationFrames.size() - 1;
+		if (prevFrameIndex < 0) {
+			// Top level frame, the result isn't cached
+		} else {
+			_evaluationFrames.get(prevFrameIndex).addVolatileFunctionCall();
+		}
+	}
+
 	public void acceptPlainValueDependency(EvaluationWorkbook evalWorkbook, int bookIndex, int sheetIndex,
 			int rowIndex, int columnIndex, ValueEval value) {
 		// Tell the currently evaluating cell frame that it has a dependency on the specified
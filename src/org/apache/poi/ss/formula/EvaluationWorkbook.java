@@ -75,6 +75,18 @@ public interface EvaluationWorkbook {
     EvaluationName getName(String name, int sheetIndex);
     String resolveNameXText(NameXPtg ptg);
     Ptg[] getFormulaTokens(EvaluationCell cell);
+
+    /**
+     * Checks whether the formula of the cell calls SUBTOTAL. Implementations should answer
+     * this without decoding the formula on each call, as it's checked for every cell of the
+     * ranges of functions like SUBTOTAL and COUNT.
+     *
+     * @param cell a formula cell
+     * @return {@code true} if the formula contains a SUBTOTAL function call
+     */
+    default boolean isSubTotal(EvaluationCell cell) {
+        return Formula.isSubTotal(getFormulaTokens(cell));
+    }
     UDFFinder getUDFFinder();
     SpreadsheetVersion getSpreadsheetVersion();
     
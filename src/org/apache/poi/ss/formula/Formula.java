@@ -19,6 +19,7 @@ package org.apache.poi.ss.formula;
 
 import org.apache.poi.common.usermodel.GenericRecord;
 import org.apache.poi.ss.formula.ptg.ExpPtg;
+import org.apache.poi.ss.formula.ptg.FuncVarPtg;
 import org.apache.poi.ss.formula.ptg.Ptg;
 import org.apache.poi.ss.formula.ptg.TblPtg;
 import org.apache.poi.ss.util.CellReference;
@@ -42,9 +43,17 @@ public class Formula implements GenericRecord {
 	private final byte[] _byteEncoding;
 	private final int _encodedTokenLen;
 
+	private static final byte SUBTOTAL_UNKNOWN = -1;
+	/**
+	 * whether the tokens contain a SUBTOTAL call - 1 if they do, 0 if not, {@link #SUBTOTAL_UNKNOWN}
+	 * until the tokens are first checked. As the encoding is immutable, the flag never changes.
+	 */
+	private byte _subTotal = SUBTOTAL_UNKNOWN;
+
 	public Formula(Formula other) {
 		_byteEncoding = (other._byteEncoding == null) ? null : other._byteEncoding.clone();
 		_encodedTokenLen = other._encodedTokenLen;
+		_subTotal = other._subTotal;
 	}
 
 	private Formula(byte[] byteEncoding, int encodedTokenLen) {
@@ -191,6 +200,35 @@ public class Formula implements GenericRecord {
 		int firstColumn = LittleEndian.getUShort(data, 3);
 		return new CellReference(firstRow, firstColumn);
 	}
+	/**
+	 * Checks whether the formula calls SUBTOTAL, which matters for functions ignoring nested
+	 * subtotals. The tokens are only decoded on the first call.
+	 *
+	 * @return {@code true} if the formula contains a SUBTOTAL function call
+	 * @see org.apache.poi.ss.formula.functions.Subtotal
+	 */
+	public boolean isSubTotal() {
+		byte subTotal = _subTotal;
+		if (subTotal == SUBTOTAL_UNKNOWN) {
+			subTotal = (byte)(isSubTotal(getTokens()) ? 1 : 0);
+			_subTotal = subTotal;
+		}
+		return subTotal == 1;
+	}
+
+	/**
+	 * @param ptgs the formula tokens
+	 * @return {@code true} if the tokens contain a SUBTOTAL function call
+	 */
+	public static boolean isSubTotal(Ptg[] ptgs) {
+		for (Ptg ptg : ptgs) {
+			if (ptg instanceof FuncVarPtg && "SUBTOTAL".equals(((FuncVarPtg)ptg).getName())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	public boolean isSame(Formula other) {
 		return Arrays.equals(_byteEncoding, other._byteEncoding);
 	}
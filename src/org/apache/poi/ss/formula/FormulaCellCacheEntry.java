@@ -40,11 +40,20 @@ final class FormulaCellCacheEntry extends CellCacheEntry {
 
 	private FormulaUsedBlankCellSet _usedBlankCellGroup;
 
+	/**
+	 * <code>true</code> if the formula calls a volatile function or uses the result of
+	 * such a formula, i.e. the cached value is cleared by {@link EvaluationCache#recalculateVolatile()}
+	 */
+	private boolean _isVolatile;
+
 	public FormulaCellCacheEntry() {
 		// leave fields un-set
 	}
 	
 	public boolean isInputSensitive() {
+		if (_isVolatile) {
+			return true;
+		}
 		if (_sensitiveInputCells != null) {
 			if (_sensitiveInputCells.length > 0 ) {
 				return true;
@@ -73,8 +82,13 @@ final class FormulaCellCacheEntry extends CellCacheEntry {
 			}
 		}
 		_sensitiveInputCells = null;
+		_isVolatile = false;
 		clearValue();
 	}
+
+	public boolean isVolatile() {
+		return _isVolatile;
+	}
 	
 	private void changeConsumingCells(CellCacheEntry[] usedCells) {
 
@@ -106,10 +120,11 @@ final class FormulaCellCacheEntry extends CellCacheEntry {
 		}
 	}
 
-	public void updateFormulaResult(ValueEval result, CellCacheEntry[] sensitiveInputCells, FormulaUsedBlankCellSet usedBlankAreas) {
+	public void updateFormulaResult(ValueEval result, CellCacheEntry[] sensitiveInputCells, FormulaUsedBlankCellSet usedBlankAreas, boolean isVolatile) {
 		updateValue(result);
 		setSensitiveInputCells(sensitiveInputCells);
 		_usedBlankCellGroup = usedBlankAreas;
+		_isVolatile = isVolatile;
 	}
 
 	public void notifyUpdatedBlankCell(BookSheetKey bsk, int rowIndex, int columnIndex, IEvaluationListener evaluationListener) {
@@ -18,6 +18,8 @@ package org.apache.poi.ss.formula;
 import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.formula.ptg.*;
 
+import java.util.List;
+
 
 /**
  * Updates Formulas as rows or sheets are shifted
@@ -32,6 +34,8 @@ public final class FormulaShifter {
         /** @since POI 4.0.0 */
         ColumnCopy,
         SheetMove,
+        /** a sequence of shifts, which is applied in one pass over the formulas */
+        Composite,
     }
 
     /**
@@ -55,6 +59,8 @@ public final class FormulaShifter {
 
     private final ShiftMode _mode;
 
+    private final FormulaShifter[] _shifters;
+
     /**
      * Create an instance for shifting row.
      *
@@ -77,6 +83,7 @@ public final class FormulaShifter {
         _version = version;
 
         _srcSheetIndex = _dstSheetIndex = -1;
+        _shifters = null;
     }
 
     /**
@@ -92,6 +99,19 @@ public final class FormulaShifter {
         _srcSheetIndex = srcSheetIndex;
         _dstSheetIndex = dstSheetIndex;
         _mode = ShiftMode.SheetMove;
+        _shifters = null;
+    }
+
+    /**
+     * Create an instance, which applies several shifts in order.
+     */
+    private FormulaShifter(FormulaShifter[] shifters) {
+        _externSheetIndex = _firstMovedIndex = _lastMovedIndex = _amountToMove = -1;
+        _srcSheetIndex = _dstSheetIndex = -1;
+        _sheetName = null;
+        _version = null;
+        _mode = ShiftMode.Composite;
+        _shifters = shifters;
     }
     
     public static FormulaShifter createForRowShift(int externSheetIndex, String sheetName, int firstMovedRowIndex, int lastMovedRowIndex, int numberOfRowsToMove,
@@ -124,6 +144,17 @@ public final class FormulaShifter {
         return new FormulaShifter(srcSheetIndex, dstSheetIndex);
     }
 
+    /**
+     * Creates an instance, which adjusts a formula as if the given shifters were applied one after another.
+     * This allows to update the formulas of a workbook only once for a batch of row/column shifts.
+     *
+     * @param shifters the shifts in the order they are applied to the sheet
+     * @since POI 5.0.0
+     */
+    public static FormulaShifter createForShifts(List<FormulaShifter> shifters) {
+        return new FormulaShifter(shifters.toArray(new FormulaShifter[0]));
+    }
+
     @Override
     public String toString() {
         return getClass().getName() +
@@ -166,11 +197,32 @@ public final class FormulaShifter {
                 return adjustPtgDueToColumnCopy(ptg);
             case SheetMove:
                 return adjustPtgDueToSheetMove(ptg);
+            case Composite:
+                return adjustPtgDueToShifts(ptg, currentExternSheetIx);
             default:
                 throw new IllegalStateException("Unsupported shift mode: " + _mode);
         }
     }
 
+    /**
+     * Applies the shifts of a composite instance one after another to the token,
+     * so the formula is only traversed once for all shifts.
+     *
+     * @return in-place modified ptg (if any shift would cause Ptg to change),
+     * deleted ref ptg (if a shift causes an error),
+     * or null (if no Ptg change is needed)
+     */
+    private Ptg adjustPtgDueToShifts(Ptg ptg, int currentExternSheetIx) {
+        Ptg adjusted = null;
+        for (FormulaShifter shifter : _shifters) {
+            Ptg newPtg = shifter.adjustPtg(adjusted != null ? adjusted : ptg, currentExternSheetIx);
+            if (newPtg != null) {
+                adjusted = newPtg;
+            }
+        }
+        return adjusted;
+    }
+
     /**
      * @return in-place modified ptg (if column move would cause Ptg to change),
      * deleted ref ptg (if column move causes an error),
@@ -17,9 +17,13 @@
 
 package org.apache.poi.ss.formula;
 
+import java.util.function.Function;
+
 import org.apache.poi.ss.formula.eval.AreaEval;
 import org.apache.poi.ss.formula.eval.AreaEvalBase;
+import org.apache.poi.ss.formula.eval.EvaluationException;
 import org.apache.poi.ss.formula.eval.ValueEval;
+import org.apache.poi.ss.formula.functions.MultiOperandNumericFunction.Policy;
 import org.apache.poi.ss.formula.ptg.AreaI;
 import org.apache.poi.ss.formula.ptg.AreaI.OffsetArea;
 import org.apache.poi.ss.util.CellReference;
@@ -28,7 +32,19 @@ import org.apache.poi.ss.util.CellReference;
  * Provides Lazy Evaluation to 3D Ranges
  */
 final class LazyAreaEval extends AreaEvalBase {
+	/**
+	 * the minimum number of cells of an area, whose values are shared between formulas -
+	 * for smaller areas, tracking the dependencies per cell is cheaper than the shared snapshot
+	 */
+	private static final int MIN_SNAPSHOT_SIZE = 64;
+	/** the maximum number of cells of a snapshot, as huge areas like whole columns are mostly blank */
+	private static final int MAX_SNAPSHOT_SIZE = 1 << 20;
+
 	private final SheetRangeEvaluator _evaluator;
+	/** the shared values of the area, once they are requested */
+	private CacheAreaEval _snapshot;
+	/** whether {@link #_snapshot} was already looked up, and whether it was looked up to be created */
+	private boolean _isSnapshotLookedUp, _isSnapshotCreated;
 
 	LazyAreaEval(AreaI ptg, SheetRangeEvaluator evaluator) {
 		super(ptg, evaluator);
@@ -45,12 +61,77 @@ final class LazyAreaEval extends AreaEvalBase {
         return getRelativeValue(getFirstSheetIndex(), relativeRowIndex, relativeColumnIndex);
     }
     public ValueEval getRelativeValue(int sheetIndex, int relativeRowIndex, int relativeColumnIndex) {
+		// use the values of other formulas reading this area, but don't evaluate all cells of the area
+		CacheAreaEval snapshot = getSnapshot(false);
+		if (snapshot != null) {
+			return snapshot.getRelativeValue(relativeRowIndex, relativeColumnIndex);
+		}
+
 		int rowIx = (relativeRowIndex + getFirstRow() ) ;
 		int colIx = (relativeColumnIndex + getFirstColumn() ) ;
 
 		return _evaluator.getEvalForCell(sheetIndex, rowIx, colIx);
 	}
 
+	/**
+	 * Reads all cells into the shared snapshot of the area, which is created if necessary
+	 */
+	@Override
+	public int fillDoubles(double[] dst, int dstPos, Policy boolPolicy, Policy blankPolicy) throws EvaluationException {
+		CacheAreaEval snapshot = getSnapshot(true);
+		return (snapshot != null)
+			? snapshot.fillDoubles(dst, dstPos, boolPolicy, blankPolicy)
+			: TwoDEval.fillDoubles(this, dst, dstPos, boolPolicy, blankPolicy);
+	}
+
+	/**
+	 * Creates the shared snapshot of the area, which is then used by
+	 * {@link #getRelativeValue(int, int, int)}
+	 */
+	@Override
+	public void prepareAllValues() {
+		getSnapshot(true);
+	}
+
+	/**
+	 * Uses the sorted numbers of the shared snapshot of the area, so they are kept
+	 * until a cell of the area changes
+	 */
+	@Override
+	public SortedNumbers getSortedNumbers() {
+		CacheAreaEval snapshot = getSnapshot(true);
+		return (snapshot != null) ? snapshot.getSortedNumbers() : new SortedNumbers(this);
+	}
+
+	/**
+	 * Uses the derived data of the shared snapshot of the area, so it's kept
+	 * until a cell of the area changes
+	 */
+	@Override
+	public <T> T getDerivedData(Function<TwoDEval, T> factory) {
+		CacheAreaEval snapshot = getSnapshot(true);
+		return (snapshot != null) ? snapshot.getDerivedData(factory) : factory.apply(this);
+	}
+
+	/**
+	 * @param create if <code>false</code>, only an existing snapshot is used
+	 * @return the shared snapshot of the area or <code>null</code>
+	 */
+	private CacheAreaEval getSnapshot(boolean create) {
+		if (_snapshot != null || _isSnapshotCreated || (_isSnapshotLookedUp && !create)) {
+			return _snapshot;
+		}
+		_isSnapshotLookedUp = true;
+		_isSnapshotCreated = create;
+		long size = (long) getWidth() * getHeight();
+		if (getFirstSheetIndex() != getLastSheetIndex() || size < MIN_SNAPSHOT_SIZE || size > MAX_SNAPSHOT_SIZE) {
+			return null;
+		}
+		SheetRefEvaluator sre = _evaluator.getSheetEvaluator(getFirstSheetIndex());
+		_snapshot = sre.getAreaSnapshot(getFirstRow(), getFirstColumn(), getLastRow(), getLastColumn(), create);
+		return _snapshot;
+	}
+
 	public AreaEval offset(int relFirstRowIx, int relLastRowIx, int relFirstColIx, int relLastColIx) {
 		AreaI area = new OffsetArea(getFirstRow(), getFirstColumn(),
 				relFirstRowIx, relLastRowIx, relFirstColIx, relLastColIx);
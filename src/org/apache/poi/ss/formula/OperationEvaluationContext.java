@@ -69,6 +69,10 @@ public final class OperationEvaluationContext {
         _isInArrayContext = value;
     }
 
+    /* package */ EvaluationTracker getTracker() {
+        return _tracker;
+    }
+
     public EvaluationWorkbook getWorkbook() {
         return _workbook;
     }
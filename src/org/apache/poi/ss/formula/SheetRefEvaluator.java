@@ -18,8 +18,6 @@
 package org.apache.poi.ss.formula;
 
 import org.apache.poi.ss.formula.eval.ValueEval;
-import org.apache.poi.ss.formula.ptg.FuncVarPtg;
-import org.apache.poi.ss.formula.ptg.Ptg;
 import org.apache.poi.ss.usermodel.CellType;
 
 /**
@@ -48,6 +46,15 @@ final class SheetRefEvaluator {
 		return _bookEvaluator.evaluateReference(getSheet(), _sheetIndex, rowIndex, columnIndex, _tracker);
 	}
 
+	/**
+	 * @param create if <code>false</code>, only an existing snapshot is returned
+	 * @return the snapshot of the values of the area, which is shared by all formulas reading it,
+	 * or <code>null</code> if it doesn't exist or can't be cached
+	 */
+	public CacheAreaEval getAreaSnapshot(int firstRow, int firstColumn, int lastRow, int lastColumn, boolean create) {
+		return _bookEvaluator.evaluateAreaSnapshot(getSheet(), _sheetIndex, firstRow, firstColumn, lastRow, lastColumn, create, _tracker);
+	}
+
 	private EvaluationSheet getSheet() {
 		if (_sheet == null) {
 			_sheet = _bookEvaluator.getSheet(_sheetIndex);
@@ -62,21 +69,9 @@ final class SheetRefEvaluator {
      * @see org.apache.poi.ss.formula.functions.Subtotal
      */
     public boolean isSubTotal(int rowIndex, int columnIndex){
-        boolean subtotal = false;
         EvaluationCell cell = getSheet().getCell(rowIndex, columnIndex);
-        if(cell != null && cell.getCellType() == CellType.FORMULA){
-            EvaluationWorkbook wb = _bookEvaluator.getWorkbook();
-            for(Ptg ptg : wb.getFormulaTokens(cell)){
-                if(ptg instanceof FuncVarPtg){
-                    FuncVarPtg f = (FuncVarPtg)ptg;
-                    if("SUBTOTAL".equals(f.getName())) {
-                        subtotal = true;
-                        break;
-                    }
-                }
-            }
-        }
-        return subtotal;
+        return cell != null && cell.getCellType() == CellType.FORMULA
+            && _bookEvaluator.getWorkbook().isSubTotal(cell);
     }
 
     /**
@@ -0,0 +1,134 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.ss.formula;
+
+import java.util.Arrays;
+
+import org.apache.poi.ss.formula.eval.BoolEval;
+import org.apache.poi.ss.formula.eval.ErrorEval;
+import org.apache.poi.ss.formula.eval.NumericValueEval;
+import org.apache.poi.ss.formula.eval.ValueEval;
+import org.apache.poi.util.Internal;
+
+/**
+ * The numbers of an area in ascending order, for order statistics like RANK, LARGE or MEDIAN.<p>
+ *
+ * Like for the other functions reading references, only numbers are contained - strings, booleans
+ * and blanks are skipped. The first error value (row by row) is kept, as most functions return it.
+ * Instances are immutable, so they are shared by all formulas reading the same area,
+ * see {@link TwoDEval#getSortedNumbers()}.
+ */
+@Internal
+public final class SortedNumbers {
+
+    private final double[] _values;
+    private final ErrorEval _firstError;
+
+    /**
+     * Collects and sorts the numbers of the area
+     */
+    public SortedNumbers(TwoDEval area) {
+        int width = area.getWidth();
+        int height = area.getHeight();
+        double[] values = new double[width * height];
+        int count = 0;
+        ErrorEval firstError = null;
+        for (int rowIx = 0; rowIx < height; rowIx++) {
+            for (int colIx = 0; colIx < width; colIx++) {
+                ValueEval ve = area.getValue(rowIx, colIx);
+                if (ve instanceof NumericValueEval && !(ve instanceof BoolEval)) {
+                    values[count++] = ((NumericValueEval) ve).getNumberValue();
+                } else if (ve instanceof ErrorEval && firstError == null) {
+                    firstError = (ErrorEval) ve;
+                }
+            }
+        }
+        _values = (count == values.length) ? values : Arrays.copyOf(values, count);
+        Arrays.sort(_values);
+        _firstError = firstError;
+    }
+
+    /**
+     * Sorts the already collected numbers
+     *
+     * @param values the numbers, which are sorted in place
+     */
+    public SortedNumbers(double[] values) {
+        Arrays.sort(values);
+        _values = values;
+        _firstError = null;
+    }
+
+    /**
+     * @return the number of numbers
+     */
+    public int size() {
+        return _values.length;
+    }
+
+    /**
+     * @param index the zero based index in ascending order
+     * @return the (index+1)-th smallest number
+     */
+    public double get(int index) {
+        return _values[index];
+    }
+
+    /**
+     * @return the first error value of the area or <code>null</code>
+     */
+    public ErrorEval getFirstError() {
+        return _firstError;
+    }
+
+    /**
+     * @return the count of numbers less than the value
+     */
+    public int countLess(double value) {
+        // the first index with a number not less than the value
+        int low = 0;
+        int high = _values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (_values[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return the count of numbers greater than the value
+     */
+    public int countGreater(double value) {
+        // the first index with a number greater than the value
+        int low = 0;
+        int high = _values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (_values[mid] > value) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return _values.length - low;
+    }
+}
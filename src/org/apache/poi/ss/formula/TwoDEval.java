@@ -17,8 +17,18 @@
 
 package org.apache.poi.ss.formula;
 
+import java.util.function.Function;
+
 import org.apache.poi.ss.formula.eval.AreaEval;
+import org.apache.poi.ss.formula.eval.BlankEval;
+import org.apache.poi.ss.formula.eval.BoolEval;
+import org.apache.poi.ss.formula.eval.ErrorEval;
+import org.apache.poi.ss.formula.eval.EvaluationException;
+import org.apache.poi.ss.formula.eval.MissingArgEval;
+import org.apache.poi.ss.formula.eval.NumericValueEval;
+import org.apache.poi.ss.formula.eval.StringValueEval;
 import org.apache.poi.ss.formula.eval.ValueEval;
+import org.apache.poi.ss.formula.functions.MultiOperandNumericFunction.Policy;
 import org.apache.poi.ss.formula.functions.Subtotal;
 
 /**
@@ -37,6 +47,104 @@ public interface TwoDEval extends ValueEval {
 	int getWidth();
 	int getHeight();
 
+	/**
+	 * Copies the numbers of the area row by row into a primitive array. This is the bulk
+	 * alternative to reading each value with {@link #getValue(int, int)} for aggregate
+	 * functions like SUM or MAX.<p>
+	 *
+	 * Numbers are copied and strings are skipped, like all referenced strings.
+	 * Booleans are copied as 1 or 0 and blanks or missing arguments as 0, if their policy is {@link Policy#COERCE}.
+	 *
+	 * @param dst the target array, which must have room for <code>getWidth() * getHeight()</code> values
+	 * @param dstPos the index of the first copied value in <code>dst</code>
+	 * @param boolPolicy how to handle boolean values
+	 * @param blankPolicy how to handle blank values and missing arguments
+	 * @return the number of copied values
+	 * @throws EvaluationException for the first error value or for a boolean or blank value
+	 * with the {@link Policy#ERROR} policy
+	 */
+	default int fillDoubles(double[] dst, int dstPos, Policy boolPolicy, Policy blankPolicy) throws EvaluationException {
+		return fillDoubles(this, dst, dstPos, boolPolicy, blankPolicy);
+	}
+
+	/**
+	 * The default implementation of {@link #fillDoubles(double[], int, Policy, Policy)},
+	 * which reads each value with {@link #getValue(int, int)}
+	 */
+	static int fillDoubles(TwoDEval area, double[] dst, int dstPos, Policy boolPolicy, Policy blankPolicy) throws EvaluationException {
+		int width = area.getWidth();
+		int height = area.getHeight();
+		int pos = dstPos;
+		for (int rowIx = 0; rowIx < height; rowIx++) {
+			for (int colIx = 0; colIx < width; colIx++) {
+				ValueEval ve = area.getValue(rowIx, colIx);
+				Policy policy;
+				double value;
+				if (ve instanceof NumericValueEval) {
+					// also the type of booleans, so check them first
+					if (ve instanceof BoolEval) {
+						policy = boolPolicy;
+					} else {
+						dst[pos++] = ((NumericValueEval) ve).getNumberValue();
+						continue;
+					}
+					value = ((BoolEval) ve).getNumberValue();
+				} else if (ve == BlankEval.instance || ve == MissingArgEval.instance) {
+					// missing arguments are treated like blank cells in areas
+					policy = blankPolicy;
+					value = 0;
+				} else if (ve instanceof StringValueEval) {
+					continue;
+				} else if (ve instanceof ErrorEval) {
+					throw new EvaluationException((ErrorEval) ve);
+				} else {
+					throw new RuntimeException("Unexpected value type (" + ve.getClass().getName() + ")");
+				}
+				switch (policy) {
+					case COERCE:
+						dst[pos++] = value;
+						break;
+					case ERROR:
+						throw new EvaluationException(ErrorEval.VALUE_INVALID);
+					case SKIP:
+					default:
+						break;
+				}
+			}
+		}
+		return pos - dstPos;
+	}
+
+	/**
+	 * Tells the area that all its values are about to be read with {@link #getValue(int, int)},
+	 * so implementations may read them at once. Functions which only read some of the values,
+	 * like lookups, must not call this, as reading the other cells may cause a circular reference.
+	 */
+	default void prepareAllValues() {
+	}
+
+	/**
+	 * Returns the numbers of the area in ascending order, for order statistics like RANK or LARGE.
+	 * The cells are read with {@link #getValue(int, int)}, implementations may cache the result.
+	 *
+	 * @return the sorted numbers, which are shared and must not be modified
+	 */
+	default SortedNumbers getSortedNumbers() {
+		return new SortedNumbers(this);
+	}
+
+	/**
+	 * Returns data derived from the values of the area, like an index for lookups.
+	 * Implementations may cache the result per factory, so the factory should be a constant
+	 * and the result must not be modified.
+	 *
+	 * @param factory creates the data from the values read by {@link #getValue(int, int)}
+	 * @return the data created by the factory for this area
+	 */
+	default <T> T getDerivedData(Function<TwoDEval, T> factory) {
+		return factory.apply(this);
+	}
+
 	/**
 	 * @return <code>true</code> if the area has just a single row, this also includes
 	 * the trivial case when the area has just a single cell.
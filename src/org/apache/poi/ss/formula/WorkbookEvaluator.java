@@ -52,6 +52,9 @@ public final class WorkbookEvaluator {
     
     private static final POILogger LOG = POILogFactory.getLogger(WorkbookEvaluator.class);
 
+    /** the volatile functions of the analysis toolpak, which are called as external functions */
+    private static final Set<String> VOLATILE_EXTERNAL_FUNCTIONS = Collections.singleton("RANDBETWEEN");
+
     private final EvaluationWorkbook _workbook;
     private EvaluationCache _cache;
     /** part of cache entry key (useful when evaluating multiple workbooks) */
@@ -176,6 +179,16 @@ public final class WorkbookEvaluator {
         _workbook.clearAllCachedResultValues();
     }
 
+    /**
+     * Clears the cached results of formulas, which call volatile functions like NOW(), TODAY(),
+     * RAND(), OFFSET() or INDIRECT(), and of all formulas depending on their results.
+     * In contrast to {@link #clearAllCachedResultValues()}, the other cached results are kept,
+     * so the next evaluation only recalculates the volatile formulas.
+     */
+    public void recalculateVolatile() {
+        _cache.recalculateVolatile();
+    }
+
     /**
      * Should be called to tell the cell value cache that the specified (value or formula) cell
      * has changed.
@@ -532,6 +545,10 @@ public final class WorkbookEvaluator {
                 }
                 ec.setArrayMode(arrayMode);
 
+                if (optg instanceof AbstractFunctionPtg && isVolatile((AbstractFunctionPtg) optg, ops)) {
+                    ec.getTracker().acceptVolatileFunctionCall();
+                }
+
 //                logDebug("invoke " + operation + " (nAgs=" + numops + ")");
                 opResult = OperationEvaluatorFactory.evaluate(optg, ops, ec);
 
@@ -599,6 +616,19 @@ public final class WorkbookEvaluator {
         }
         return index-startIndex;
     }
+
+    /**
+     * @return <code>true</code> if the function is volatile, i.e. its result may change
+     * without a change of its arguments
+     */
+    private static boolean isVolatile(AbstractFunctionPtg fptg, ValueEval[] args) {
+        int functionIndex = fptg.getFunctionIndex();
+        if (functionIndex == FunctionMetadataRegistry.FUNCTION_INDEX_EXTERNAL) {
+            return args.length > 0 && args[0] instanceof FunctionNameEval
+                && VOLATILE_EXTERNAL_FUNCTIONS.contains(((FunctionNameEval) args[0]).getFunctionName().toUpperCase(Locale.ROOT));
+        }
+        return FunctionMetadataRegistry.isVolatileFunction(functionIndex);
+    }
     
     /**
      * Dereferences a single value from any AreaEval or RefEval evaluation
@@ -792,6 +822,60 @@ public final class WorkbookEvaluator {
         EvaluationCell cell = sheet.getCell(rowIndex, columnIndex);
         return evaluateAny(cell, sheetIndex, rowIndex, columnIndex, tracker);
     }
+    /**
+     * Evaluates all cells of an area into a snapshot, which is cached and shared by all formulas
+     * reading the area. The formula currently evaluated only depends on the snapshot, which in turn
+     * depends on the formula cells of the area. The plain value and blank cells aren't recorded
+     * one by one - the cache finds the snapshots containing a changed cell by their rectangle.
+     *
+     * @param create if <code>false</code>, only an existing snapshot is returned
+     * @return the snapshot or <code>null</code> if it doesn't exist or can't be cached,
+     *  because the area takes part in a circular reference
+     */
+    /* package */ CacheAreaEval evaluateAreaSnapshot(EvaluationSheet sheet, int sheetIndex,
+            int firstRow, int firstColumn, int lastRow, int lastColumn, boolean create, EvaluationTracker tracker) {
+
+        FormulaCellCacheEntry entry = _cache.getAreaEntry(_workbookIx, sheetIndex, firstRow, firstColumn, lastRow, lastColumn, create);
+        if (entry == null || (!create && entry.getValue() == null)) {
+            return null;
+        }
+        tracker.acceptFormulaDependency(entry);
+        if (entry.getValue() != null) {
+            return (CacheAreaEval) entry.getValue();
+        }
+        if (!tracker.startEvaluate(entry)) {
+            return null;
+        }
+        try {
+            int width = lastColumn - firstColumn + 1;
+            ValueEval[] values = new ValueEval[(lastRow - firstRow + 1) * width];
+            boolean isCircular = false;
+            for (int rowIx = firstRow, i = 0; rowIx <= lastRow; rowIx++) {
+                for (int colIx = firstColumn; colIx <= lastColumn; colIx++, i++) {
+                    EvaluationCell cell = sheet.getCell(rowIx, colIx);
+                    ValueEval value;
+                    if (cell == null || cell.getCellType() != CellType.FORMULA) {
+                        // tracked by the area index of the cache instead of a plain value entry
+                        value = getValueFromNonFormulaCell(cell);
+                    } else {
+                        value = evaluateAny(cell, sheetIndex, rowIx, colIx, tracker);
+                    }
+                    isCircular |= (value == ErrorEval.CIRCULAR_REF_ERROR);
+                    values[i] = value;
+                }
+            }
+            if (isCircular) {
+                // the values depend on the formula being evaluated
+                return null;
+            }
+            CacheAreaEval snapshot = new CacheAreaEval(firstRow, firstColumn, lastRow, lastColumn, values);
+            tracker.updateCacheResult(snapshot);
+            return snapshot;
+        } finally {
+            tracker.endEvaluate(entry);
+        }
+    }
+
     public FreeRefFunction findUserDefinedFunction(String functionName) {
         return _udfFinder.findFunction(functionName);
     }
@@ -97,6 +97,29 @@ final class ArgumentsEvaluator {
         return new double[]{ OperandResolver.coerceValueToDouble(arg) };
     }
 
+    /**
+     * Evaluate a generic {@link ValueEval} argument to the holidays of {@link WorkdayCalculator}. The holidays
+     * of an area are indexed once and kept with the values of the area, see
+     * {@link org.apache.poi.ss.formula.TwoDEval#getDerivedData(java.util.function.Function)}.
+     * 
+     * @param arg {@link ValueEval} an argument.
+     * @param srcCellRow number cell row.
+     * @param srcCellCol number cell column.
+     * @return the holidays.
+     * @throws EvaluationException exception upon argument evaluation.
+     */
+    HolidayIndex evaluateHolidaysArg(ValueEval arg, int srcCellRow, int srcCellCol) throws EvaluationException {
+        if (arg == null) {
+            return HolidayIndex.EMPTY;
+        }
+        if (arg instanceof AreaEvalBase) {
+            HolidayIndex holidays = ((AreaEvalBase) arg).getDerivedData(HolidayIndex.AREA_INDEX);
+            holidays.checkValid();
+            return holidays;
+        }
+        return new HolidayIndex(evaluateDatesArg(arg, srcCellRow, srcCellCol));
+    }
+
     /**
      * Evaluate a generic {@link ValueEval} argument to a double value.
      * 
@@ -0,0 +1,158 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.ss.formula.atp;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.apache.poi.ss.formula.TwoDEval;
+import org.apache.poi.ss.formula.eval.EvaluationException;
+import org.apache.poi.ss.usermodel.CivilDate;
+
+/**
+ * The holidays of {@link WorkdayFunction} and {@link NetworkdaysFunction}, sorted for
+ * binary searches.<p>
+ *
+ * The index of a holiday range is created once per area snapshot, see
+ * {@link TwoDEval#getDerivedData(Function)}, so formulas sharing a holiday table don't
+ * read and sort it again.
+ */
+final class HolidayIndex {
+    static final HolidayIndex EMPTY = new HolidayIndex(new double[0]);
+
+    /** creates the index of a holiday range, the values are read like {@link ArgumentsEvaluator#evaluateDatesArg} does */
+    static final Function<TwoDEval, HolidayIndex> AREA_INDEX = HolidayIndex::create;
+
+    /** the holidays in ascending order */
+    private final double[] holidays;
+    /** the number of holidays before each index, which are not on a weekend */
+    private final int[] weekdayHolidaysBefore;
+    /** the error of the holiday range, which is thrown on use */
+    private final EvaluationException error;
+    /** the rounded holidays on weekdays by the difference of the epoch day and the Excel date */
+    private final Map<Long, long[]> roundedByOffset = new ConcurrentHashMap<>();
+
+    HolidayIndex(double[] holidays) {
+        this.holidays = holidays.clone();
+        Arrays.sort(this.holidays);
+        weekdayHolidaysBefore = new int[this.holidays.length + 1];
+        for (int i = 0; i < this.holidays.length; i++) {
+            boolean weekend = WorkdayCalculator.instance.isWeekend(this.holidays[i]);
+            weekdayHolidaysBefore[i + 1] = weekdayHolidaysBefore[i] + (weekend ? 0 : 1);
+        }
+        error = null;
+    }
+
+    private HolidayIndex(EvaluationException error) {
+        holidays = new double[0];
+        weekdayHolidaysBefore = new int[1];
+        this.error = error;
+    }
+
+    private static HolidayIndex create(TwoDEval area) {
+        int width = area.getWidth();
+        int height = area.getHeight();
+        double[] values = new double[width * height];
+        try {
+            for (int rowIx = 0; rowIx < height; rowIx++) {
+                for (int colIx = 0; colIx < width; colIx++) {
+                    // the values are single cells, so the position doesn't matter
+                    values[rowIx * width + colIx] = ArgumentsEvaluator.instance.evaluateDateArg(area.getValue(rowIx, colIx), rowIx, colIx);
+                }
+            }
+        } catch (EvaluationException e) {
+            return new HolidayIndex(e);
+        }
+        return new HolidayIndex(values);
+    }
+
+    /**
+     * @throws EvaluationException if the holiday range contains an invalid value
+     */
+    void checkValid() throws EvaluationException {
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /**
+     * @return the number of holidays between both dates (inclusive), which are not on a weekend -
+     *  like {@link WorkdayCalculator#calculateNonWeekendHolidays(double, double, double[])}, holidays
+     *  contained more than once are counted more than once
+     */
+    int countWeekdayHolidays(double start, double end) {
+        int from = firstIndexNotBelow(start);
+        int to = firstIndexAbove(end);
+        return (from < to) ? weekdayHolidaysBefore[to] - weekdayHolidaysBefore[from] : 0;
+    }
+
+    /**
+     * Returns the rounded holidays on weekdays, for a calendar whose epoch days are the rounded
+     * Excel dates plus the offset. The array is cached, as the offset differs only between
+     * start dates before and after noon - and for dates before 1900-03-01.
+     *
+     * @param offset the difference of the epoch day and the rounded Excel date
+     * @return the distinct rounded holidays in ascending order, whose epoch day is a weekday
+     */
+    long[] getRoundedWeekdayHolidays(long offset) {
+        return roundedByOffset.computeIfAbsent(offset, o -> {
+            long[] rounded = new long[holidays.length];
+            int count = 0;
+            for (double holiday : holidays) {
+                long r = Math.round(holiday);
+                int dayOfWeek = CivilDate.getDayOfWeek(r + o);
+                if (dayOfWeek != Calendar.SATURDAY && dayOfWeek != Calendar.SUNDAY
+                    && (count == 0 || rounded[count - 1] != r)) {
+                    rounded[count++] = r;
+                }
+            }
+            return Arrays.copyOf(rounded, count);
+        });
+    }
+
+    private int firstIndexNotBelow(double value) {
+        int low = 0;
+        int high = holidays.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (holidays[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int firstIndexAbove(double value) {
+        int low = 0;
+        int high = holidays.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (holidays[mid] > value) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+}
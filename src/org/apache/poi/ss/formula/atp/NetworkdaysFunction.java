@@ -67,7 +67,7 @@ final class NetworkdaysFunction implements FreeRefFunction {
         int srcCellCol = ec.getColumnIndex();
 
         double start, end;
-        double[] holidays;
+        HolidayIndex holidays;
         try {
             start = this.evaluator.evaluateDateArg(args[0], srcCellRow, srcCellCol);
             end = this.evaluator.evaluateDateArg(args[1], srcCellRow, srcCellCol);
@@ -75,7 +75,7 @@ final class NetworkdaysFunction implements FreeRefFunction {
                 return ErrorEval.NAME_INVALID;
             }
             ValueEval holidaysCell = args.length == 3 ? args[2] : null;
-            holidays = this.evaluator.evaluateDatesArg(holidaysCell, srcCellRow, srcCellCol);
+            holidays = this.evaluator.evaluateHolidaysArg(holidaysCell, srcCellRow, srcCellCol);
             return new NumberEval(WorkdayCalculator.instance.calculateWorkdays(start, end, holidays));
         } catch (EvaluationException e) {
             return ErrorEval.VALUE_INVALID;
@@ -17,9 +17,11 @@
 
 package org.apache.poi.ss.formula.atp;
 
+import org.apache.poi.ss.usermodel.CivilDate;
 import org.apache.poi.ss.usermodel.DateUtil;
 import org.apache.poi.util.LocaleUtil;
 
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
 
@@ -45,9 +47,16 @@ public class WorkdayCalculator {
      * @return number of workdays between start and end dates, including both dates.
      */
     public int calculateWorkdays(double start, double end, double[] holidays) {
+        return calculateWorkdays(start, end, new HolidayIndex(holidays));
+    }
+
+    int calculateWorkdays(double start, double end, HolidayIndex holidays) {
         int saturdaysPast = this.pastDaysOfWeek(start, end, Calendar.SATURDAY);
         int sundaysPast = this.pastDaysOfWeek(start, end, Calendar.SUNDAY);
-        int nonWeekendHolidays = this.calculateNonWeekendHolidays(start, end, holidays);
+        int nonWeekendHolidays = holidays.countWeekdayHolidays(Math.min(start, end), Math.max(start, end));
+        if (start > end) {
+            nonWeekendHolidays = -nonWeekendHolidays;
+        }
         return (int) (end - start + 1) - saturdaysPast - sundaysPast - nonWeekendHolidays;
     }
 
@@ -60,23 +69,88 @@ public class WorkdayCalculator {
      * @return date past x workdays.
      */
 	public Date calculateWorkdays(double start, int workdays, double[] holidays) {
-		Date startDate = DateUtil.getJavaDate(start);
-		int direction = workdays < 0 ? -1 : 1;
+		int days = workdayOffset(start, workdays, new HolidayIndex(holidays));
 		Calendar endDate = LocaleUtil.getLocaleCalendar();
-		endDate.setTime(startDate);
-		double excelEndDate = DateUtil.getExcelDate(endDate.getTime());
-		while (workdays != 0) {
-			endDate.add(Calendar.DAY_OF_YEAR, direction);
-			excelEndDate += direction;
-			if (endDate.get(Calendar.DAY_OF_WEEK) != Calendar.SATURDAY
-					&& endDate.get(Calendar.DAY_OF_WEEK) != Calendar.SUNDAY
-					&& !isHoliday(excelEndDate,	holidays)) {
-				workdays -= direction;
-			}
-		}
+		endDate.setTime(DateUtil.getJavaDate(start));
+		endDate.add(Calendar.DAY_OF_YEAR, days);
 		return endDate.getTime();
 	}
 
+    /**
+     * Calculate the workday past x workdays from a starting date, considering a range of holidays.
+     *
+     * @param start start date.
+     * @param workdays number of workdays to be past from starting date.
+     * @param holidays the holidays.
+     * @return the excel representation of the date past x workdays, keeping the time of the start date.
+     */
+    double calculateWorkdayPast(double start, int workdays, HolidayIndex holidays) {
+        int days = workdayOffset(start, workdays, holidays);
+        long localMillis = CivilDate.toLocalMillis(start, false) + days * DateUtil.DAY_MILLISECONDS;
+        return CivilDate.localMillisToExcelDate(localMillis, false);
+    }
+
+    /**
+     * Jumps over the weekends of the workdays and then over the weekends of the holidays
+     * passed meanwhile, until no further holiday is passed.<p>
+     *
+     * Like the day by day iteration this replaces, the days of the week are taken from the
+     * start date and the holidays are compared with the rounded excel representation
+     * of the start date plus the passed days.
+     *
+     * @return the number of days from the start date to the date past x workdays
+     */
+    private int workdayOffset(double start, int workdays, HolidayIndex holidays) {
+        long startMillis = CivilDate.toLocalMillis(start, false);
+        long startDay = CivilDate.epochDayOf(startMillis);
+        long offset = startDay - Math.round(CivilDate.localMillisToExcelDate(startMillis, false));
+        long[] rounded = holidays.getRoundedWeekdayHolidays(offset);
+
+        long endDay = startDay;
+        int remaining = workdays;
+        while (remaining != 0) {
+            long nextDay = plusWeekdays(endDay, remaining);
+            int passedHolidays = (remaining > 0)
+                ? countBetween(rounded, endDay + 1 - offset, nextDay - offset)
+                : countBetween(rounded, nextDay - offset, endDay - 1 - offset);
+            endDay = nextDay;
+            remaining = (remaining > 0) ? passedHolidays : -passedHolidays;
+        }
+        return (int) (endDay - startDay);
+    }
+
+    /**
+     * @param epochDay the day to start from
+     * @param weekdays the number of weekdays to pass, negative to go back
+     * @return the epoch day past the weekdays
+     */
+    private static long plusWeekdays(long epochDay, int weekdays) {
+        // Monday = 0 ... Sunday = 6
+        int dayOfWeek = (CivilDate.getDayOfWeek(epochDay) + 5) % 7;
+        long day = epochDay;
+        if (dayOfWeek > 4) {
+            // a weekend counts like the Friday before or the Monday after it
+            day += (weekdays > 0) ? 4 - dayOfWeek : 7 - dayOfWeek;
+            dayOfWeek = (weekdays > 0) ? 4 : 0;
+        }
+        long position = dayOfWeek + (long) weekdays;
+        return day - dayOfWeek + Math.floorDiv(position, 5) * 7 + Math.floorMod(position, 5);
+    }
+
+    /**
+     * @return the number of the sorted values between both values (inclusive)
+     */
+    private static int countBetween(long[] sorted, long from, long to) {
+        if (from > to) {
+            return 0;
+        }
+        int first = Arrays.binarySearch(sorted, from);
+        first = (first >= 0) ? first : -first - 1;
+        int last = Arrays.binarySearch(sorted, to);
+        last = (last >= 0) ? last + 1 : -last - 1;
+        return last - first;
+    }
+
     /**
      * Calculates how many days of week past between a start and an end date.
      *
@@ -86,19 +160,27 @@ public class WorkdayCalculator {
      * @return how many days of week past in this interval.
      */
     protected int pastDaysOfWeek(double start, double end, int dayOfWeek) {
-        int pastDaysOfWeek = 0;
         int startDay = (int) Math.floor(start < end ? start : end);
         int endDay = (int) Math.floor(end > start ? end : start);
-        for (; startDay <= endDay; startDay++) {
-            Calendar today = LocaleUtil.getLocaleCalendar();
-            today.setTime(DateUtil.getJavaDate(startDay));
-            if (today.get(Calendar.DAY_OF_WEEK) == dayOfWeek) {
-                pastDaysOfWeek++;
-            }
-        }
+        // the excel dates 60 (1900-02-29) and 61 are both 1900-03-01, so the days are counted separately
+        int pastDaysOfWeek = countDaysOfWeek(startDay, Math.min(endDay, 60), dayOfWeek)
+            + countDaysOfWeek(Math.max(startDay, 61), endDay, dayOfWeek);
         return start <= end ? pastDaysOfWeek : -pastDaysOfWeek;
     }
 
+    /**
+     * @return how many days of week are between both excel dates (inclusive), which must be
+     *  on the same side of the excel date 60
+     */
+    private static int countDaysOfWeek(int startDay, int endDay, int dayOfWeek) {
+        if (startDay > endDay) {
+            return 0;
+        }
+        long days = (long) endDay - startDay + 1;
+        int first = Math.floorMod(dayOfWeek - CivilDate.getDayOfWeek(CivilDate.toEpochDay(startDay, false)), 7);
+        return (first < days) ? (int) ((days - first - 1) / 7 + 1) : 0;
+    }
+
     /**
      * Calculates how many holidays in a list are workdays, considering an interval of dates.
      *
@@ -108,16 +190,7 @@ public class WorkdayCalculator {
      * @return number of holidays that occur in workdays, between start and end dates.
      */
     protected int calculateNonWeekendHolidays(double start, double end, double[] holidays) {
-        int nonWeekendHolidays = 0;
-        double startDay = start < end ? start : end;
-        double endDay = end > start ? end : start;
-        for (double holiday : holidays) {
-            if (isInARange(startDay, endDay, holiday)) {
-                if (!isWeekend(holiday)) {
-                    nonWeekendHolidays++;
-                }
-            }
-        }
+        int nonWeekendHolidays = new HolidayIndex(holidays).countWeekdayHolidays(Math.min(start, end), Math.max(start, end));
         return start <= end ? nonWeekendHolidays : -nonWeekendHolidays;
     }
 
@@ -126,32 +199,7 @@ public class WorkdayCalculator {
      * @return <code>true</code> if date is weekend, <code>false</code> otherwise.
      */
     protected boolean isWeekend(double aDate) {
-        Calendar date = LocaleUtil.getLocaleCalendar();
-        date.setTime(DateUtil.getJavaDate(aDate));
-        return date.get(Calendar.DAY_OF_WEEK) == Calendar.SATURDAY || date.get(Calendar.DAY_OF_WEEK) == Calendar.SUNDAY;
-    }
-
-    /**
-     * @param aDate a given date.
-     * @param holidays an array of holidays.
-     * @return <code>true</code> if date is a holiday, <code>false</code> otherwise.
-     */
-    protected boolean isHoliday(double aDate, double[] holidays) {
-        for (double holiday : holidays) {
-            if (Math.round(holiday) == Math.round(aDate)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    /**
-     * @param start start date.
-     * @param end end date.
-     * @param aDate a date to be analyzed.
-     * @return <code>true</code> if aDate is between start and end dates, <code>false</code> otherwise.
-     */
-    protected boolean isInARange(double start, double end, double aDate) {
-        return aDate >= start && aDate <= end;
+        int dayOfWeek = CivilDate.getDayOfWeek(CivilDate.toEpochDay(aDate, false));
+        return dayOfWeek == Calendar.SATURDAY || dayOfWeek == Calendar.SUNDAY;
     }
 }
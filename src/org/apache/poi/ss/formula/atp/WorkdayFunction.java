@@ -23,7 +23,6 @@ import org.apache.poi.ss.formula.eval.EvaluationException;
 import org.apache.poi.ss.formula.eval.NumberEval;
 import org.apache.poi.ss.formula.eval.ValueEval;
 import org.apache.poi.ss.formula.functions.FreeRefFunction;
-import org.apache.poi.ss.usermodel.DateUtil;
 
 /**
  * Implementation of Excel 'Analysis ToolPak' function WORKDAY()<br>
@@ -63,13 +62,13 @@ final class WorkdayFunction implements FreeRefFunction {
 
         double start;
         int days;
-        double[] holidays;
+        HolidayIndex holidays;
         try {
             start = this.evaluator.evaluateDateArg(args[0], srcCellRow, srcCellCol);
             days = (int) Math.floor(this.evaluator.evaluateNumberArg(args[1], srcCellRow, srcCellCol));
             ValueEval holidaysCell = args.length == 3 ? args[2] : null;
-            holidays = this.evaluator.evaluateDatesArg(holidaysCell, srcCellRow, srcCellCol);
-            return new NumberEval(DateUtil.getExcelDate(WorkdayCalculator.instance.calculateWorkdays(start, days, holidays)));
+            holidays = this.evaluator.evaluateHolidaysArg(holidaysCell, srcCellRow, srcCellCol);
+            return new NumberEval(WorkdayCalculator.instance.calculateWorkdayPast(start, days, holidays));
         } catch (EvaluationException e) {
             return ErrorEval.VALUE_INVALID;
         }
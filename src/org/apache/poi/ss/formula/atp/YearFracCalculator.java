@@ -19,11 +19,8 @@ package org.apache.poi.ss.formula.atp;
 
 import org.apache.poi.ss.formula.eval.ErrorEval;
 import org.apache.poi.ss.formula.eval.EvaluationException;
-import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.CivilDate;
 import org.apache.poi.util.Internal;
-import org.apache.poi.util.LocaleUtil;
-
-import java.util.Calendar;
 
 
 /**
@@ -33,8 +30,6 @@ import java.util.Calendar;
  */
 @Internal
 final class YearFracCalculator {
-	private static final int MS_PER_HOUR = 60 * 60 * 1000;
-	private static final int MS_PER_DAY = 24 * MS_PER_HOUR;
 	private static final int DAYS_PER_NORMAL_YEAR = 365;
 	private static final int DAYS_PER_LEAP_YEAR = DAYS_PER_NORMAL_YEAR + 1;
 
@@ -131,7 +126,7 @@ final class YearFracCalculator {
 		} else {
 			yearLength = DAYS_PER_NORMAL_YEAR;
 		}
-		return dateDiff(startDate.tsMilliseconds, endDate.tsMilliseconds) / yearLength;
+		return (endDate.epochDay - startDate.epochDay) / yearLength;
 	}
 
 	/**
@@ -203,7 +198,7 @@ final class YearFracCalculator {
 			case 11:
 				return SHORT_MONTH_LEN;
 		}
-		if (isLeapYear(date.year)) {
+		if (CivilDate.isLeapYear(date.year)) {
 			return LONG_FEB_LEN;
 		}
 		return SHORT_FEB_LEN;
@@ -214,7 +209,7 @@ final class YearFracCalculator {
 	 * @return <code>true</code> if dates both within a leap year, or span a period including Feb 29
 	 */
 	private static boolean shouldCountFeb29(SimpleDate start, SimpleDate end) {
-		if (isLeapYear(start.year)) {
+		if (CivilDate.isLeapYear(start.year)) {
 	        if (start.year == end.year) {
 	            // note - dates may not actually span Feb-29, but it gets counted anyway in this case
 	            return true;
@@ -228,7 +223,7 @@ final class YearFracCalculator {
 			return false;
 		}
 
-		if (isLeapYear(end.year)) {
+		if (CivilDate.isLeapYear(end.year)) {
 			switch (end.month) {
 				case SimpleDate.JANUARY:
 					return false;
@@ -242,51 +237,16 @@ final class YearFracCalculator {
 		return false;
 	}
 
-	/**
-	 * @return the whole number of days between the two time-stamps.  Both time-stamps are
-	 * assumed to represent 12:00 midnight on the respective day.
-	 */
-	private static int dateDiff(long startDateMS, long endDateMS) {
-		long msDiff = endDateMS - startDateMS;
-
-		// some extra checks to make sure we don't hide some other bug with the rounding
-		int remainderHours = (int) ((msDiff % MS_PER_DAY) / MS_PER_HOUR);
-		switch (remainderHours) {
-			case 0:  // normal case
-				break;
-			case 1:  // transition from normal time to daylight savings adjusted
-			case 23: // transition from daylight savings adjusted to normal time
-				// Unexpected since we are using UTC_TIME_ZONE
-			default:
-				throw new RuntimeException("Unexpected date diff between " + startDateMS + " and " + endDateMS);
-
-		}
-		return (int) (0.5 + ((double)msDiff / MS_PER_DAY));
-	}
-
 	private static double averageYearLength(int startYear, int endYear) {
 		assert(startYear <= endYear);
 		int dayCount = 0;
 		for (int i=startYear; i<=endYear; i++) {
-			dayCount += isLeapYear(i) ? DAYS_PER_LEAP_YEAR : DAYS_PER_NORMAL_YEAR;
+			dayCount += CivilDate.isLeapYear(i) ? DAYS_PER_LEAP_YEAR : DAYS_PER_NORMAL_YEAR;
 		}
 		double numberOfYears = endYear-startYear+1.;
 		return dayCount / numberOfYears;
 	}
 
-	private static boolean isLeapYear(int i) {
-		// leap years are always divisible by 4
-		if (i % 4 != 0) {
-			return false;
-		}
-		// each 4th century is a leap year
-		if (i % 400 == 0) {
-			return true;
-		}
-		// all other centuries are *not* leap years
-		return i % 100 != 0;
-	}
-
 	private static boolean isGreaterThanOneYear(SimpleDate start, SimpleDate end) {
 		assert(start.year <= end.year);
 		if (start.year == end.year) {
@@ -307,10 +267,7 @@ final class YearFracCalculator {
 	}
 
 	private static SimpleDate createDate(int dayCount) {
-	    /* use UTC time-zone to avoid daylight savings issues */
-		Calendar cal = LocaleUtil.getLocaleCalendar(LocaleUtil.TIMEZONE_UTC);
-		DateUtil.setCalendar(cal, dayCount, 0, false, false);
-		return new SimpleDate(cal);
+		return new SimpleDate(CivilDate.toEpochDay(dayCount, false));
 	}
 
 	private static final class SimpleDate {
@@ -323,14 +280,14 @@ final class YearFracCalculator {
 		public final int month;
 		/** day of month */
 		public final int day;
-		/** milliseconds since 1970 */
-		public final long tsMilliseconds;
-
-		public SimpleDate(Calendar cal) {
-			year = cal.get(Calendar.YEAR);
-			month = cal.get(Calendar.MONTH) + 1;
-			day = cal.get(Calendar.DAY_OF_MONTH);
-			tsMilliseconds = cal.getTimeInMillis();
+		/** days since 1970 */
+		public final long epochDay;
+
+		public SimpleDate(long epochDay) {
+			year = CivilDate.getYear(epochDay);
+			month = CivilDate.getMonth(epochDay);
+			day = CivilDate.getDayOfMonth(epochDay);
+			this.epochDay = epochDay;
 		}
 	}
 }
@@ -40,15 +40,17 @@ public final class FunctionMetadata {
 	private final int _maxParams;
 	private final byte _returnClassCode;
 	private final byte[] _parameterClassCodes;
+	private final boolean _isVolatile;
 
 	/* package */ FunctionMetadata(int index, String name, int minParams, int maxParams,
-			byte returnClassCode, byte[] parameterClassCodes) {
+			byte returnClassCode, byte[] parameterClassCodes, boolean isVolatile) {
 		_index = index;
 		_name = name;
 		_minParams = minParams;
 		_maxParams = maxParams;
 		_returnClassCode = returnClassCode;
 		_parameterClassCodes = (parameterClassCodes == null) ? null : parameterClassCodes.clone();
+		_isVolatile = isVolatile;
 	}
 
 	public int getIndex() {
@@ -79,6 +81,15 @@ public final class FunctionMetadata {
 		return _parameterClassCodes.clone();
 	}
 
+	/**
+	 * Volatile functions like NOW() or RAND() may return a different result on each
+	 * evaluation, even if their arguments are unchanged.
+	 * @return <code>true</code> if the function is volatile
+	 */
+	public boolean isVolatile() {
+		return _isVolatile;
+	}
+
 	/**
 	 * Some varags functions (like VLOOKUP) have a specific limit to the number of arguments that 
 	 * can be passed.  Other functions (like SUM) don't have such a limit.  For those functions,
@@ -110,13 +110,12 @@ final class FunctionMetadataReader {
 		int maxParams = parseInt(parts[3]);
 		byte returnClassCode = parseReturnTypeCode(parts[4]);
 		byte[] parameterClassCodes = parseOperandTypeCodes(parts[5]);
-		// 6 isVolatile
+		boolean isVolatile = parts[6].length() > 0;
 		boolean hasNote = parts[7].length() > 0;
 
 		validateFunctionName(functionName);
-		// TODO - make POI use isVolatile
 		fdb.add(functionIndex, functionName, minParams, maxParams,
-				returnClassCode, parameterClassCodes, hasNote);
+				returnClassCode, parameterClassCodes, isVolatile, hasNote);
 	}
 
 
@@ -83,6 +83,21 @@ public final class FunctionMetadataRegistry {
 	private FunctionMetadata getFunctionByIndexInternal(int index) {
 		return _functionDataByIndex[index];
 	}
+
+	/**
+	 * @param index the index of a built-in function
+	 * @return <code>true</code> if the built-in function is volatile, i.e. its result may change
+	 * without a change of its arguments
+	 * @see FunctionMetadata#isVolatile()
+	 */
+	public static boolean isVolatileFunction(int index) {
+		FunctionMetadata[] functions = getInstance()._functionDataByIndex;
+		if (index < 0 || index >= functions.length) {
+			return false;
+		}
+		FunctionMetadata fm = functions[index];
+		return fm != null && fm.isVolatile();
+	}
 	/**
 	 * Resolves a built-in function index.
 	 * @param name uppercase function name
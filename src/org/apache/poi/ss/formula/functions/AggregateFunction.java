@@ -18,6 +18,7 @@
 package org.apache.poi.ss.formula.functions;
 
 import org.apache.commons.math3.stat.descriptive.moment.GeometricMean;
+import org.apache.poi.ss.formula.SortedNumbers;
 import org.apache.poi.ss.formula.eval.*;
 
 /**
@@ -51,11 +52,11 @@ public abstract class AggregateFunction extends MultiOperandNumericFunction {
 
             double result;
             try {
-                double[] ds = ValueCollector.collectValues(arg0);
-                if (k > ds.length) {
+                SortedNumbers ds = ValueCollector.collectSortedValues(arg0);
+                if (k > ds.size()) {
                     return ErrorEval.NUM_ERROR;
                 }
-                result = _isLarge ? StatsLib.kthLargest(ds, k) : StatsLib.kthSmallest(ds, k);
+                result = _isLarge ? ds.get(ds.size() - k) : ds.get(k - 1);
                 NumericFunction.checkValue(result);
             } catch (EvaluationException e) {
                 return e.getErrorEval();
@@ -102,8 +103,8 @@ public abstract class AggregateFunction extends MultiOperandNumericFunction {
 
             double result;
             try {
-                double[] ds = ValueCollector.collectValues(arg0);
-                int N = ds.length;
+                SortedNumbers ds = ValueCollector.collectSortedValues(arg0);
+                int N = ds.size();
 
                 if (N == 0 || N > 8191) {
                     return ErrorEval.NUM_ERROR;
@@ -111,14 +112,13 @@ public abstract class AggregateFunction extends MultiOperandNumericFunction {
 
                 double n = (N - 1) * dn + 1;
                 if (n == 1d) {
-                    result = StatsLib.kthSmallest(ds, 1);
+                    result = ds.get(0);
                 } else if (Double.compare(n, N) == 0) {
-                    result = StatsLib.kthLargest(ds, 1);
+                    result = ds.get(N - 1);
                 } else {
                     int k = (int) n;
                     double d = n - k;
-                    result = StatsLib.kthSmallest(ds, k) + d
-                            * (StatsLib.kthSmallest(ds, k + 1) - StatsLib.kthSmallest(ds, k));
+                    result = ds.get(k - 1) + d * (ds.get(k) - ds.get(k - 1));
                 }
 
                 NumericFunction.checkValue(result);
@@ -138,6 +138,9 @@ public abstract class AggregateFunction extends MultiOperandNumericFunction {
         public static double[] collectValues(ValueEval...operands) throws EvaluationException {
             return instance.getNumberArray(operands);
         }
+        public static SortedNumbers collectSortedValues(ValueEval...operands) throws EvaluationException {
+            return instance.getSortedNumbers(operands);
+        }
         protected double evaluate(double[] values) {
             throw new IllegalStateException("should not be called");
         }
@@ -205,6 +208,10 @@ public abstract class AggregateFunction extends MultiOperandNumericFunction {
         }
     };
     public static final Function MEDIAN = new AggregateFunction() {
+        @Override
+        protected double evaluateOperands(ValueEval[] operands) throws EvaluationException {
+            return StatsLib.median(getSortedNumbers(operands));
+        }
         protected double evaluate(double[] values) {
             return StatsLib.median(values);
         }
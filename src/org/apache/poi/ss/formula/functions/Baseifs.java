@@ -121,6 +121,10 @@ import org.apache.poi.ss.formula.functions.Countif.ErrorMatcher;
         int height = ranges[0].getHeight();
         int width = ranges[0].getWidth();
 
+        // the other ranges are only read while the previous criteria match
+        if (predicates[0] != null) {
+            ranges[0].prepareAllValues();
+        }
         double result = 0.0;
         for (int r = 0; r < height; r++) {
             for (int c = 0; c < width; c++) {
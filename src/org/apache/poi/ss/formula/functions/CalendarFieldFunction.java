@@ -18,6 +18,7 @@
 package org.apache.poi.ss.formula.functions;
 
 import org.apache.poi.ss.formula.eval.*;
+import org.apache.poi.ss.usermodel.CivilDate;
 import org.apache.poi.ss.usermodel.DateUtil;
 
 import java.util.Calendar;
@@ -72,15 +73,20 @@ public final class CalendarFieldFunction extends Fixed1ArgFunction {
 
 		// TODO Figure out if we're in 1900 or 1904
 		// EXCEL functions round up nearly a half second (probably to prevent floating point
-		// rounding issues); use UTC here to prevent daylight saving issues for HOUR
-		Calendar c = DateUtil.getJavaCalendarUTC(serialDate + 0.4995 / DateUtil.SECONDS_PER_DAY, false);
-		int result = c.get(_dateFieldId);
-		
-		// Month is a special case due to C semantics
-		if (_dateFieldId == Calendar.MONTH) {
-			result++;
+		// rounding issues); the local time doesn't have any daylight saving issues for HOUR
+		long localMillis = CivilDate.toLocalMillis(serialDate + 0.4995 / DateUtil.SECONDS_PER_DAY, false);
+		long epochDay = CivilDate.epochDayOf(localMillis);
+		int millisecondsInDay = (int)(localMillis - epochDay * DateUtil.DAY_MILLISECONDS);
+
+		int result;
+		switch (_dateFieldId) {
+			case Calendar.YEAR: result = CivilDate.getYear(epochDay); break;
+			case Calendar.MONTH: result = CivilDate.getMonth(epochDay); break;
+			case Calendar.DAY_OF_MONTH: result = CivilDate.getDayOfMonth(epochDay); break;
+			case Calendar.HOUR_OF_DAY: result = millisecondsInDay / 3_600_000; break;
+			case Calendar.MINUTE: result = (millisecondsInDay / 60_000) % 60; break;
+			default: result = (millisecondsInDay / 1000) % 60; break;
 		}
-		
 		return result;
 	}
 }
@@ -49,6 +49,7 @@ final class CountUtils {
     public static int countMatchingCellsInArea(ThreeDEval areaEval, I_MatchPredicate criteriaPredicate) {
         int result = 0;
 
+        areaEval.prepareAllValues();
         final int firstSheetIndex = areaEval.getFirstSheetIndex();
         final int lastSheetIndex = areaEval.getLastSheetIndex();
         for (int sIx = firstSheetIndex; sIx <= lastSheetIndex; sIx++) {
@@ -16,14 +16,12 @@
 ==================================================================== */
 package org.apache.poi.ss.formula.functions;
 
+import org.apache.poi.ss.formula.eval.ErrorEval;
 import org.apache.poi.ss.formula.eval.EvaluationException;
 import org.apache.poi.ss.formula.eval.NumberEval;
 import org.apache.poi.ss.formula.eval.OperandResolver;
 import org.apache.poi.ss.formula.eval.ValueEval;
-import org.apache.poi.ss.usermodel.DateUtil;
-import org.apache.poi.util.LocaleUtil;
-
-import java.util.Calendar;
+import org.apache.poi.ss.usermodel.CivilDate;
 
 /**
  * <p>Calculates the number of days between two dates based on a 360-day year
@@ -91,9 +89,13 @@ public class Days360 extends Var2or3ArgFunction {
         }
     }
 
-    private static double evaluate(double d0, double d1, boolean method) {
-        Calendar realStart = getDate(d0);
-        Calendar realEnd = getDate(d1);
+    private static double evaluate(double d0, double d1, boolean method) throws EvaluationException {
+        if (d0 < 0 || d1 < 0) {
+            // negative serial numbers aren't valid dates
+            throw new EvaluationException(ErrorEval.NUM_ERROR);
+        }
+        long realStart = getDate(d0);
+        long realEnd = getDate(d1);
         int[] startingDate = getStartingDate(realStart, method);
         int[] endingDate = getEndingDate(realEnd, startingDate, method);
         return
@@ -101,16 +103,17 @@ public class Days360 extends Var2or3ArgFunction {
             (startingDate[0]*360.0+startingDate[1]*30.0+startingDate[2]);
     }
 
-    private static Calendar getDate(double date) {
-        Calendar processedDate = LocaleUtil.getLocaleCalendar();
-        processedDate.setTime(DateUtil.getJavaDate(date, false));
-        return processedDate;
+    /**
+     * @return the epoch day of the date, see {@link CivilDate}
+     */
+    private static long getDate(double date) {
+        return CivilDate.toEpochDay(date, false);
     }
 
-    private static int[] getStartingDate(Calendar realStart, boolean method) {
-        int yyyy = realStart.get(Calendar.YEAR);
-        int mm = realStart.get(Calendar.MONTH);
-        int dd = Math.min(30, realStart.get(Calendar.DAY_OF_MONTH));
+    private static int[] getStartingDate(long realStart, boolean method) {
+        int yyyy = CivilDate.getYear(realStart);
+        int mm = CivilDate.getMonth(realStart) - 1;
+        int dd = Math.min(30, CivilDate.getDayOfMonth(realStart));
 
         if (!method && isLastDayOfMonth(realStart)) {
             dd = 30;
@@ -119,17 +122,20 @@ public class Days360 extends Var2or3ArgFunction {
         return new int[]{yyyy,mm,dd};
     }
 
-    private static int[] getEndingDate(Calendar realEnd, int[] startingDate, boolean method) {
-        int yyyy = realEnd.get(Calendar.YEAR);
-        int mm = realEnd.get(Calendar.MONTH);
-        int dd = Math.min(30, realEnd.get(Calendar.DAY_OF_MONTH));
+    private static int[] getEndingDate(long realEnd, int[] startingDate, boolean method) {
+        int yyyy = CivilDate.getYear(realEnd);
+        int mm = CivilDate.getMonth(realEnd) - 1;
+        int dd = Math.min(30, CivilDate.getDayOfMonth(realEnd));
 
-        if (!method && realEnd.get(Calendar.DAY_OF_MONTH) == 31) {
+        if (!method && CivilDate.getDayOfMonth(realEnd) == 31) {
             if (startingDate[2] < 30) {
-                realEnd.set(Calendar.DAY_OF_MONTH, 1);
-                realEnd.add(Calendar.MONTH, 1);
-                yyyy = realEnd.get(Calendar.YEAR);
-                mm = realEnd.get(Calendar.MONTH);
+                // the first day of the next month
+                if (mm == 11) {
+                    yyyy++;
+                    mm = 0;
+                } else {
+                    mm++;
+                }
                 dd = 1;
             } else {
                 dd = 30;
@@ -139,9 +145,9 @@ public class Days360 extends Var2or3ArgFunction {
         return new int[]{yyyy,mm,dd};
     }
 
-    private static boolean isLastDayOfMonth(Calendar date) {
-        int dayOfMonth = date.get(Calendar.DAY_OF_MONTH);
-        int lastDayOfMonth = date.getActualMaximum(Calendar.DAY_OF_MONTH);
-        return (dayOfMonth == lastDayOfMonth);
+    private static boolean isLastDayOfMonth(long date) {
+        int year = CivilDate.getYear(date);
+        int month = CivilDate.getMonth(date);
+        return CivilDate.getDayOfMonth(date) == CivilDate.lengthOfMonth(year, month);
     }
 }
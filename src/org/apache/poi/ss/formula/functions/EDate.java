@@ -19,11 +19,8 @@ package org.apache.poi.ss.formula.functions;
 
 import org.apache.poi.ss.formula.OperationEvaluationContext;
 import org.apache.poi.ss.formula.eval.*;
+import org.apache.poi.ss.usermodel.CivilDate;
 import org.apache.poi.ss.usermodel.DateUtil;
-import org.apache.poi.util.LocaleUtil;
-
-import java.util.Calendar;
-import java.util.Date;
 
 /**
  * Implementation for Excel EDATE () function.
@@ -39,14 +36,15 @@ public class EDate implements FreeRefFunction {
             double startDateAsNumber = getValue(args[0]);
             int offsetInMonthAsNumber = (int) getValue(args[1]);
 
-            Date startDate = DateUtil.getJavaDate(startDateAsNumber);
-            if (startDate == null) {
+            if (!DateUtil.isValidExcelDate(startDateAsNumber)) {
                 return ErrorEval.VALUE_INVALID;
             }
-            Calendar calendar = LocaleUtil.getLocaleCalendar();
-            calendar.setTime(startDate);
-            calendar.add(Calendar.MONTH, offsetInMonthAsNumber);
-            return new NumberEval(DateUtil.getExcelDate(calendar.getTime()));
+            // the time of the day is kept
+            long startMillis = CivilDate.toLocalMillis(startDateAsNumber, false);
+            long startDay = CivilDate.epochDayOf(startMillis);
+            long endDay = CivilDate.plusMonths(startDay, offsetInMonthAsNumber);
+            long endMillis = startMillis + (endDay - startDay) * DateUtil.DAY_MILLISECONDS;
+            return new NumberEval(CivilDate.localMillisToExcelDate(endMillis, false));
         } catch (EvaluationException e) {
             return e.getErrorEval();
         }
@@ -22,11 +22,8 @@ import org.apache.poi.ss.formula.eval.ErrorEval;
 import org.apache.poi.ss.formula.eval.EvaluationException;
 import org.apache.poi.ss.formula.eval.NumberEval;
 import org.apache.poi.ss.formula.eval.ValueEval;
+import org.apache.poi.ss.usermodel.CivilDate;
 import org.apache.poi.ss.usermodel.DateUtil;
-import org.apache.poi.util.LocaleUtil;
-
-import java.util.Calendar;
-import java.util.Date;
 
 /**
  * Implementation for the Excel EOMONTH() function.<p>
@@ -60,21 +57,17 @@ public class EOMonth implements FreeRefFunction {
                 startDateAsNumber = 1.0;
             }
 
-            Date startDate = DateUtil.getJavaDate(startDateAsNumber, false);
-
-            Calendar cal = LocaleUtil.getLocaleCalendar();
-            cal.setTime(startDate);
-            cal.clear(Calendar.HOUR);
-            cal.set(Calendar.HOUR_OF_DAY, 0);
-            cal.clear(Calendar.MINUTE);
-            cal.clear(Calendar.SECOND);
-            cal.clear(Calendar.MILLISECOND);
+            if (!DateUtil.isValidExcelDate(startDateAsNumber)) {
+                return ErrorEval.NUM_ERROR;
+            }
 
-            cal.add(Calendar.MONTH, months + 1);
-            cal.set(Calendar.DAY_OF_MONTH, 1);
-            cal.add(Calendar.DAY_OF_MONTH, -1);
+            long startDay = CivilDate.toEpochDay(startDateAsNumber, false);
+            long monthDay = CivilDate.plusMonths(startDay, months);
+            int year = CivilDate.getYear(monthDay);
+            int month = CivilDate.getMonth(monthDay);
+            long lastDay = CivilDate.toEpochDay(year, month, CivilDate.lengthOfMonth(year, month));
 
-            return new NumberEval(DateUtil.getExcelDate(cal.getTime()));
+            return new NumberEval(CivilDate.toExcelDate(lastDay, false));
         } catch (EvaluationException e) {
             return e.getErrorEval();
         }
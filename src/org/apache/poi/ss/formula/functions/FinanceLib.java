@@ -80,9 +80,10 @@ public final class FinanceLib {
         }
         else {
             double r1 = r + 1;
-            retval =((1-Math.pow(r1, n)) * (t ? r1 : 1) * y ) / r
+            double r1n = Math.pow(r1, n);
+            retval =((1-r1n) * (t ? r1 : 1) * y ) / r
                       -
-                   p*Math.pow(r1, n);
+                   p*r1n;
         }
         return retval;
     }
@@ -105,9 +106,10 @@ public final class FinanceLib {
         }
         else {
             double r1 = r + 1;
-            retval =(( ( 1 - Math.pow(r1, n) ) / r ) * (t ? r1 : 1)  * y - f)
+            double r1n = Math.pow(r1, n);
+            retval =(( ( 1 - r1n ) / r ) * (t ? r1 : 1)  * y - f)
                      /
-                    Math.pow(r1, n);
+                    r1n;
         }
         return retval;
     }
@@ -147,9 +149,10 @@ public final class FinanceLib {
         }
         else {
         double r1 = r + 1;
-        retval = ( f + p * Math.pow(r1, n) ) * r
+        double r1n = Math.pow(r1, n);
+        retval = ( f + p * r1n ) * r
                   /
-               ((t ? r1 : 1) * (1 - Math.pow(r1, n)));
+               ((t ? r1 : 1) * (1 - r1n));
         }
         return retval;
     }
@@ -73,7 +73,8 @@ public final class Irr implements Function {
      * <p>
      * Starting with the guess, the method cycles through the calculation until the result
      * is accurate within 0.00001 percent. If IRR can't find a result that works
-     * after 20 tries, the Double.NaN<> is returned.
+     * after 20 tries, the rates next to the guess are searched for the root
+     * by the {@link RateSolver}.
      * </p>
      * <p>
      *   The implementation is inspired by the NewtonSolver from the Apache Commons-Math library,
@@ -83,7 +84,7 @@ public final class Irr implements Function {
      * @param values        the income values.
      * @param guess         the initial guess of irr.
      * @return the irr value. The method returns <code>Double.NaN</code>
-     *  if the maximum iteration count is exceeded
+     *  if there's no root
      *
      * @see <a href="http://en.wikipedia.org/wiki/Internal_rate_of_return#Numerical_solution">
      *     http://en.wikipedia.org/wiki/Internal_rate_of_return#Numerical_solution</a>
@@ -91,29 +92,41 @@ public final class Irr implements Function {
      *     http://en.wikipedia.org/wiki/Newton%27s_method</a>
      */
     public static double irr(double[] values, double guess) {
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        double result = newton(values, guess);
+        if (Double.isNaN(result) && hasPositiveAndNegative(values)) {
+            result = RateSolver.findRate(rate -> npv(values, rate), guess);
+        }
+        return result;
+    }
 
+    private static double newton(double[] values, double guess) {
+        final int last = values.length - 1;
         double x0 = guess;
 
         for (int i = 0; i < MAX_ITERATION_COUNT; i++) {
 
-            // the value of the function (NPV) and its derivate can be calculated in the same loop
+            // with the discount factor v = 1/(1+x), the NPV is the polynomial sum(values[k] * v^k),
+            // so it and its derivative are evaluated by Horner's scheme without any division
             final double factor = 1.0 + x0;
-            double denominator = factor;
-            if (denominator == 0) {
+            if (factor == 0) {
                 return Double.NaN;
             }
+            final double v = 1.0 / factor;
 
-            double fValue = values[0];
-            double fDerivative = 0;
-            for (int k = 1; k < values.length; k++) {
-                final double value = values[k];
-                fValue += value / denominator;
-                denominator *= factor;
-                fDerivative -= k * value / denominator;
+            double fValue = values[last];
+            double polyDerivative = 0;
+            for (int k = last - 1; k >= 0; k--) {
+                polyDerivative = polyDerivative * v + fValue;
+                fValue = fValue * v + values[k];
             }
+            // d/dx v^k = -k * v^(k+1)
+            double fDerivative = -polyDerivative * v * v;
 
             // the essence of the Newton-Raphson Method
-            if (fDerivative == 0) {
+            if (fDerivative == 0 || Double.isInfinite(fValue) || Double.isInfinite(fDerivative)) {
                 return Double.NaN;
             }
             double x1 =  x0 - fValue/fDerivative;
@@ -127,4 +140,25 @@ public final class Irr implements Function {
         // maximum number of iterations is exceeded
         return Double.NaN;
     }
+
+    private static boolean hasPositiveAndNegative(double[] values) {
+        boolean positive = false, negative = false;
+        for (double value : values) {
+            positive |= value > 0;
+            negative |= value < 0;
+        }
+        return positive && negative;
+    }
+
+    /**
+     * @return the net present value of the values, the first value isn't discounted
+     */
+    private static double npv(double[] values, double rate) {
+        final double v = 1.0 / (1.0 + rate);
+        double result = values[values.length - 1];
+        for (int k = values.length - 2; k >= 0; k--) {
+            result = result * v + values[k];
+        }
+        return result;
+    }
 }
@@ -178,11 +178,20 @@ final class MathX {
      * @param values
      */
     public static double min(double[] values) {
-        double min = Double.POSITIVE_INFINITY;
-        for (double value : values) {
-            min = Math.min(min, value);
+        // independent lanes avoid a dependency between the iterations,
+        // the result is the same, as min is exact
+        double min0 = Double.POSITIVE_INFINITY, min1 = min0, min2 = min0, min3 = min0;
+        int i = 0;
+        for (int end = values.length - 3; i < end; i += 4) {
+            min0 = Math.min(min0, values[i]);
+            min1 = Math.min(min1, values[i + 1]);
+            min2 = Math.min(min2, values[i + 2]);
+            min3 = Math.min(min3, values[i + 3]);
+        }
+        for (; i < values.length; i++) {
+            min0 = Math.min(min0, values[i]);
         }
-        return min;
+        return Math.min(Math.min(min0, min1), Math.min(min2, min3));
     }
 
     /**
@@ -191,11 +200,19 @@ final class MathX {
      * @param values
      */
     public static double max(double[] values) {
-        double max = Double.NEGATIVE_INFINITY;
-        for (double value : values) {
-            max = Math.max(max, value);
+        // see min(double[]) for the lanes
+        double max0 = Double.NEGATIVE_INFINITY, max1 = max0, max2 = max0, max3 = max0;
+        int i = 0;
+        for (int end = values.length - 3; i < end; i += 4) {
+            max0 = Math.max(max0, values[i]);
+            max1 = Math.max(max1, values[i + 1]);
+            max2 = Math.max(max2, values[i + 2]);
+            max3 = Math.max(max3, values[i + 3]);
+        }
+        for (; i < values.length; i++) {
+            max0 = Math.max(max0, values[i]);
         }
-        return max;
+        return Math.max(Math.max(max0, max1), Math.max(max2, max3));
     }
 
     /**
@@ -17,10 +17,6 @@
 
 package org.apache.poi.ss.formula.functions;
 
-import org.apache.commons.math3.exception.DimensionMismatchException;
-import org.apache.commons.math3.linear.Array2DRowRealMatrix;
-import org.apache.commons.math3.linear.LUDecomposition;
-import org.apache.commons.math3.linear.MatrixUtils;
 import org.apache.poi.ss.formula.CacheAreaEval;
 import org.apache.poi.ss.formula.eval.*;
 
@@ -263,8 +259,11 @@ public abstract class MatrixFunction implements Function{
                 throw new EvaluationException(ErrorEval.VALUE_INVALID);
             }
             
-            Array2DRowRealMatrix temp = new Array2DRowRealMatrix(d1);
-            return MatrixUtils.inverse(temp).getData();
+            double[][] inverse = MatrixLib.inverse(d1);
+            if (inverse == null) {
+                throw new EvaluationException(ErrorEval.NUM_ERROR);
+            }
+            return inverse;
         }
     };
     
@@ -276,9 +275,7 @@ public abstract class MatrixFunction implements Function{
         }
         
         protected double[][] evaluate(double[][] d1) throws EvaluationException {
-            
-            Array2DRowRealMatrix temp = new Array2DRowRealMatrix(d1);
-            return temp.transpose().getData();
+            return MatrixLib.transpose(d1);
         }
     };
     
@@ -299,7 +296,7 @@ public abstract class MatrixFunction implements Function{
             if (arg instanceof AreaEval && values.length == 1)
                 throw new EvaluationException(ErrorEval.VALUE_INVALID);
 
-            return instance.collectValues(arg);
+            return values;
         }
         
         protected double[][] evaluate(double[][] d1) throws EvaluationException {
@@ -307,10 +304,7 @@ public abstract class MatrixFunction implements Function{
                 throw new EvaluationException(ErrorEval.VALUE_INVALID);
             }
 
-            double[][] result = new double[1][1];
-            Array2DRowRealMatrix temp = new Array2DRowRealMatrix(d1);
-            result[0][0] = (new LUDecomposition(temp)).getDeterminant();
-            return result;
+            return new double[][] {{MatrixLib.determinant(d1)}};
         }
     }
     
@@ -328,17 +322,11 @@ public abstract class MatrixFunction implements Function{
         }
         
         protected double[][] evaluate(double[][] d1, double[][] d2) throws EvaluationException{
-            Array2DRowRealMatrix first = new Array2DRowRealMatrix(d1);
-            Array2DRowRealMatrix second = new Array2DRowRealMatrix(d2);
-            
-            try {
-                MatrixUtils.checkMultiplicationCompatible(first, second);
-            }
-            catch (DimensionMismatchException e) {
+            if (d1[0].length != d2.length) {
                 throw new EvaluationException(ErrorEval.VALUE_INVALID);
             }
                 
-            return first.multiply(second).getData();    
+            return MatrixLib.multiply(d1, d2);
         }
     };
 }
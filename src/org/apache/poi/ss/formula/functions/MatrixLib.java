@@ -0,0 +1,239 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.ss.formula.functions;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Library for the matrix operations of {@link MatrixFunction}.<p>
+ *
+ * The matrices are arrays of rows. All loops run along the rows, so the data is read
+ * sequentially. The algorithms are the ones of commons-math ({@code Array2DRowRealMatrix.multiply},
+ * {@code LUDecomposition} and {@code QRDecomposition}) with the operations on each element in
+ * the same order, i.e. the results are identical.
+ */
+final class MatrixLib {
+
+    /** the number of multiplications from which on a product is computed in parallel */
+    private static final long PARALLEL_THRESHOLD = 1L << 21;
+    /** the number of rows of the result computed by one task */
+    private static final int ROW_BLOCK_SIZE = 16;
+    /** the number of rows of the second factor used in one pass, so they stay in the cache */
+    private static final int INNER_BLOCK_SIZE = 64;
+    /** the pivot threshold of the LU decomposition, like in commons-math */
+    private static final double SINGULARITY_THRESHOLD = 1e-11;
+
+    private MatrixLib() {
+        // no instances of this class
+    }
+
+    /**
+     * @return the product of the matrices, the number of columns of {@code a} must equal
+     *  the number of rows of {@code b}
+     */
+    public static double[][] multiply(double[][] a, double[][] b) {
+        final int rows = a.length;
+        final int inner = b.length;
+        final int columns = b[0].length;
+        final double[][] result = new double[rows][columns];
+
+        IntStream blocks = IntStream.range(0, (rows + ROW_BLOCK_SIZE - 1) / ROW_BLOCK_SIZE);
+        if ((long)rows * inner * columns >= PARALLEL_THRESHOLD) {
+            blocks = blocks.parallel();
+        }
+        blocks.forEach(block -> {
+            int firstRow = block * ROW_BLOCK_SIZE;
+            int endRow = Math.min(firstRow + ROW_BLOCK_SIZE, rows);
+            for (int kStart = 0; kStart < inner; kStart += INNER_BLOCK_SIZE) {
+                int kEnd = Math.min(kStart + INNER_BLOCK_SIZE, inner);
+                for (int i = firstRow; i < endRow; i++) {
+                    double[] aRow = a[i];
+                    double[] resultRow = result[i];
+                    for (int k = kStart; k < kEnd; k++) {
+                        double aik = aRow[k];
+                        double[] bRow = b[k];
+                        for (int j = 0; j < columns; j++) {
+                            resultRow[j] += aik * bRow[j];
+                        }
+                    }
+                }
+            }
+        });
+        return result;
+    }
+
+    /**
+     * @return the transposed matrix
+     */
+    public static double[][] transpose(double[][] matrix) {
+        final int rows = matrix.length;
+        final int columns = matrix[0].length;
+        double[][] result = new double[columns][rows];
+        for (int i = 0; i < rows; i++) {
+            double[] row = matrix[i];
+            for (int j = 0; j < columns; j++) {
+                result[j][i] = row[j];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Computes the determinant by a LU decomposition with partial pivoting.
+     * The rows are eliminated one after the other instead of column by column,
+     * which gives the same values, as each element is updated in the same order.
+     *
+     * @param matrix a square matrix, which isn't modified
+     * @return the determinant, 0 if the matrix is singular
+     */
+    public static double determinant(double[][] matrix) {
+        final int n = matrix.length;
+        double[][] lu = new double[n][];
+        for (int i = 0; i < n; i++) {
+            lu[i] = matrix[i].clone();
+        }
+
+        boolean even = true;
+        for (int col = 0; col < n; col++) {
+            int max = col;
+            double largest = Double.NEGATIVE_INFINITY;
+            for (int row = col; row < n; row++) {
+                double abs = Math.abs(lu[row][col]);
+                if (abs > largest) {
+                    largest = abs;
+                    max = row;
+                }
+            }
+            if (Math.abs(lu[max][col]) < SINGULARITY_THRESHOLD) {
+                return 0;
+            }
+            if (max != col) {
+                double[] tmp = lu[max];
+                lu[max] = lu[col];
+                lu[col] = tmp;
+                even = !even;
+            }
+
+            double[] pivotRow = lu[col];
+            double pivot = pivotRow[col];
+            for (int row = col + 1; row < n; row++) {
+                double[] luRow = lu[row];
+                double factor = luRow[col] / pivot;
+                luRow[col] = factor;
+                for (int j = col + 1; j < n; j++) {
+                    luRow[j] -= factor * pivotRow[j];
+                }
+            }
+        }
+
+        double determinant = even ? 1 : -1;
+        for (int i = 0; i < n; i++) {
+            determinant *= lu[i][i];
+        }
+        return determinant;
+    }
+
+    /**
+     * Computes the inverse by a QR decomposition with Householder reflections
+     *
+     * @param matrix a square matrix, which isn't modified
+     * @return the inverse or {@code null} if the matrix is singular
+     */
+    public static double[][] inverse(double[][] matrix) {
+        final int n = matrix.length;
+
+        // the transposed matrix, so the reflections run along the rows
+        double[][] qrt = transpose(matrix);
+        double[] rDiag = new double[n];
+        for (int minor = 0; minor < n; minor++) {
+            double[] qrtMinor = qrt[minor];
+            double xNormSqr = 0;
+            for (int row = minor; row < n; row++) {
+                double c = qrtMinor[row];
+                xNormSqr += c * c;
+            }
+            double a = (qrtMinor[minor] > 0) ? -Math.sqrt(xNormSqr) : Math.sqrt(xNormSqr);
+            rDiag[minor] = a;
+            if (a != 0.0) {
+                qrtMinor[minor] -= a;
+                for (int col = minor + 1; col < n; col++) {
+                    double[] qrtCol = qrt[col];
+                    double alpha = 0;
+                    for (int row = minor; row < n; row++) {
+                        alpha -= qrtCol[row] * qrtMinor[row];
+                    }
+                    alpha /= a * qrtMinor[minor];
+                    for (int row = minor; row < n; row++) {
+                        qrtCol[row] -= alpha * qrtMinor[row];
+                    }
+                }
+            }
+        }
+        for (double diag : rDiag) {
+            if (diag == 0.0) {
+                return null;
+            }
+        }
+
+        // solve Q.R.X = I, starting with Y = I
+        double[][] y = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            y[i][i] = 1;
+        }
+        double[] alpha = new double[n];
+        for (int minor = 0; minor < n; minor++) {
+            double[] qrtMinor = qrt[minor];
+            double factor = 1.0 / (rDiag[minor] * qrtMinor[minor]);
+            Arrays.fill(alpha, 0.0);
+            for (int row = minor; row < n; row++) {
+                double d = qrtMinor[row];
+                double[] yRow = y[row];
+                for (int k = 0; k < n; k++) {
+                    alpha[k] += d * yRow[k];
+                }
+            }
+            for (int k = 0; k < n; k++) {
+                alpha[k] *= factor;
+            }
+            for (int row = minor; row < n; row++) {
+                double d = qrtMinor[row];
+                double[] yRow = y[row];
+                for (int k = 0; k < n; k++) {
+                    yRow[k] += alpha[k] * d;
+                }
+            }
+        }
+        for (int j = n - 1; j >= 0; j--) {
+            double factor = 1.0 / rDiag[j];
+            double[] yJ = y[j];
+            for (int k = 0; k < n; k++) {
+                yJ[k] *= factor;
+            }
+            double[] qrtJ = qrt[j];
+            for (int i = 0; i < j; i++) {
+                double rIJ = qrtJ[i];
+                double[] yI = y[i];
+                for (int k = 0; k < n; k++) {
+                    yI[k] -= yJ[k] * rIJ;
+                }
+            }
+        }
+        return y;
+    }
+}
@@ -18,6 +18,7 @@
 package org.apache.poi.ss.formula.functions;
 
 import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.formula.SortedNumbers;
 import org.apache.poi.ss.formula.ThreeDEval;
 import org.apache.poi.ss.formula.TwoDEval;
 import org.apache.poi.ss.formula.eval.*;
@@ -41,10 +42,16 @@ public abstract class MultiOperandNumericFunction implements Function {
     private EvalConsumer<BlankEval, DoubleList> blankConsumer;
     private EvalConsumer<MissingArgEval, DoubleList> missingArgConsumer = ConsumerFactory.createForMissingArg(Policy.SKIP);
 
+    /** the policies of the consumers, for the bulk copy of areas */
+    private final Policy boolByRefPolicy;
+    private Policy blankPolicy;
+
     protected MultiOperandNumericFunction(boolean isReferenceBoolCounted, boolean isBlankCounted) {
-        boolByRefConsumer = ConsumerFactory.createForBoolEval(isReferenceBoolCounted ? Policy.COERCE : Policy.SKIP);
+        boolByRefPolicy = isReferenceBoolCounted ? Policy.COERCE : Policy.SKIP;
+        blankPolicy = isBlankCounted ? Policy.COERCE : Policy.SKIP;
+        boolByRefConsumer = ConsumerFactory.createForBoolEval(boolByRefPolicy);
         boolByValueConsumer = ConsumerFactory.createForBoolEval(Policy.COERCE);
-        blankConsumer = ConsumerFactory.createForBlank(isBlankCounted ? Policy.COERCE : Policy.SKIP);
+        blankConsumer = ConsumerFactory.createForBlank(blankPolicy);
     }
 
     static final double[] EMPTY_DOUBLE_ARRAY = {};
@@ -59,7 +66,10 @@ public abstract class MultiOperandNumericFunction implements Function {
         }
 
         public double[] toArray() {
-            return _count < 1 ? EMPTY_DOUBLE_ARRAY : Arrays.copyOf(_array, _count);
+            if (_count < 1) {
+                return EMPTY_DOUBLE_ARRAY;
+            }
+            return _count == _array.length ? _array : Arrays.copyOf(_array, _count);
         }
 
         private void ensureCapacity(int reqSize) {
@@ -74,8 +84,19 @@ public abstract class MultiOperandNumericFunction implements Function {
             _array[_count] = value;
             _count++;
         }
+
+        public void addAll(TwoDEval area, Policy boolPolicy, Policy blankPolicy) throws EvaluationException {
+            ensureCapacity(_count + area.getWidth() * area.getHeight());
+            _count += area.fillDoubles(_array, _count, boolPolicy, blankPolicy);
+        }
     }
 
+    /**
+     * the maximum number of cells of an area, which are copied in bulk - the target array must
+     * have room for all cells, which are mostly blank for huge areas like whole columns
+     */
+    private static final int MAX_BULK_COPY_SIZE = 1 << 20;
+
     private static final int DEFAULT_MAX_NUM_OPERANDS = SpreadsheetVersion.EXCEL2007.getMaxFunctionArgs();
 
     public void setMissingArgPolicy(Policy policy) {
@@ -83,13 +104,13 @@ public abstract class MultiOperandNumericFunction implements Function {
     }
 
     public void setBlankEvalPolicy(Policy policy) {
+        blankPolicy = policy;
         blankConsumer = ConsumerFactory.createForBlank(policy);
     }
 
     public final ValueEval evaluate(ValueEval[] args, int srcCellRow, int srcCellCol) {
         try {
-            double[] values = getNumberArray(args);
-            double d = evaluate(values);
+            double d = evaluateOperands(args);
             if (Double.isNaN(d) || Double.isInfinite(d)) {
                 return ErrorEval.NUM_ERROR;
             }
@@ -99,6 +120,14 @@ public abstract class MultiOperandNumericFunction implements Function {
         }
     }
 
+    /**
+     * Evaluates the function for the numbers of the operands. Order statistics like MEDIAN
+     * override this to use {@link #getSortedNumbers(ValueEval[])}.
+     */
+    protected double evaluateOperands(ValueEval[] operands) throws EvaluationException {
+        return evaluate(getNumberArray(operands));
+    }
+
     protected abstract double evaluate(double[] values) throws EvaluationException;
 
     /**
@@ -130,6 +159,26 @@ public abstract class MultiOperandNumericFunction implements Function {
         return retval.toArray();
     }
 
+    /**
+     * Returns the numbers of the operands like {@link #getNumberArray(ValueEval[])}, but in
+     * ascending order. For a single area, the sorted numbers are shared by all formulas reading
+     * it, so order statistics filled down a column don't sort the same area for each cell.
+     *
+     * @return never <code>null</code>, the numbers must not be modified
+     */
+    protected final SortedNumbers getSortedNumbers(ValueEval[] operands) throws EvaluationException {
+        if (operands.length == 1 && operands[0] instanceof TwoDEval
+            && boolByRefPolicy == Policy.SKIP && blankPolicy == Policy.SKIP
+            && isBulkCopyable((TwoDEval) operands[0])) {
+            SortedNumbers result = ((TwoDEval) operands[0]).getSortedNumbers();
+            if (result.getFirstError() != null) {
+                throw new EvaluationException(result.getFirstError());
+            }
+            return result;
+        }
+        return new SortedNumbers(getNumberArray(operands));
+    }
+
     /**
      * Whether to count nested subtotals.
      */
@@ -149,6 +198,11 @@ public abstract class MultiOperandNumericFunction implements Function {
      * Collects values from a single argument
      */
     private void collectValues(ValueEval operand, DoubleList temp) throws EvaluationException {
+        if (operand instanceof TwoDEval && isBulkCopyable((TwoDEval) operand)) {
+            // nothing to skip per cell, so copy the numbers in bulk
+            temp.addAll((TwoDEval) operand, boolByRefPolicy, blankPolicy);
+            return;
+        }
         if (operand instanceof ThreeDEval) {
             ThreeDEval ae = (ThreeDEval) operand;
             for (int sIx = ae.getFirstSheetIndex(); sIx <= ae.getLastSheetIndex(); sIx++) {
@@ -188,6 +242,18 @@ public abstract class MultiOperandNumericFunction implements Function {
         collectValue(operand, false, temp);
     }
 
+    private boolean isBulkCopyable(TwoDEval area) {
+        if (!isSubtotalCounted() || !isHiddenRowCounted()
+            || (long) area.getWidth() * area.getHeight() > MAX_BULK_COPY_SIZE) {
+            return false;
+        }
+        if (area instanceof ThreeDEval) {
+            ThreeDEval ae = (ThreeDEval) area;
+            return ae.getFirstSheetIndex() == ae.getLastSheetIndex();
+        }
+        return true;
+    }
+
     private void collectValue(ValueEval ve, boolean isViaReference, DoubleList temp) throws EvaluationException {
         if (ve == null) {
             throw new IllegalArgumentException("ve must not be null");
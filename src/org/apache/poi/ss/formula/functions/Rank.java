@@ -19,6 +19,7 @@
 
 package org.apache.poi.ss.formula.functions;
 
+import org.apache.poi.ss.formula.SortedNumbers;
 import org.apache.poi.ss.formula.eval.*;
 
 
@@ -38,6 +39,9 @@ import org.apache.poi.ss.formula.eval.*;
  */
 public class Rank extends Var2or3ArgFunction {
 
+    /** the maximum number of cells of an area, whose numbers are sorted */
+    private static final int MAX_SORTED_SIZE = 1 << 20;
+
     @Override
     public ValueEval evaluate(int srcRowIndex, int srcColumnIndex, ValueEval arg0, ValueEval arg1) {
         try {
@@ -91,6 +95,13 @@ public class Rank extends Var2or3ArgFunction {
     }
 
     private static ValueEval eval(double arg0, AreaEval aeRange, boolean descending_order) {
+        if (isSortable(aeRange)) {
+            // the sorted numbers of the range are shared by all RANK formulas using it
+            SortedNumbers values = aeRange.getSortedNumbers();
+            int rank = 1 + (descending_order ? values.countGreater(arg0) : values.countLess(arg0));
+            return new NumberEval(rank);
+        }
+
         int rank = 1;
         int height=aeRange.getHeight();
         int width= aeRange.getWidth();
@@ -109,6 +120,15 @@ public class Rank extends Var2or3ArgFunction {
         return new NumberEval(rank);
     }
 
+    /**
+     * @return <code>false</code> for huge areas like whole columns, which are mostly blank,
+     * so the sorted numbers would need an array with room for all cells
+     */
+    private static boolean isSortable(AreaEval aeRange) {
+        return (long) aeRange.getWidth() * aeRange.getHeight() <= MAX_SORTED_SIZE
+            && aeRange.getFirstSheetIndex() == aeRange.getLastSheetIndex();
+    }
+
     private static ValueEval eval(double arg0, RefListEval aeRange, boolean descending_order) {
         int rank = 1;
         for(ValueEval ve : aeRange.getList()) {
@@ -26,6 +26,9 @@ import org.apache.poi.util.POILogger;
  */
 public class Rate implements Function {
     private static final POILogger LOG = POILogFactory.getLogger(Rate.class);
+
+    private static final int FINANCIAL_MAX_ITERATIONS = 20;//Bet accuracy with 128
+    private static final double FINANCIAL_PRECISION = 0.0000001;//1.0e-7
     
    public ValueEval evaluate(ValueEval[] args, int srcRowIndex, int srcColumnIndex) {
       if (args.length < 3) { //First 3 parameters are mandatory
@@ -70,9 +73,6 @@ public class Rate implements Function {
 
    private double calculateRate(double nper, double pmt, double pv, double fv, double type, double guess) {
       //FROM MS http://office.microsoft.com/en-us/excel-help/rate-HP005209232.aspx
-      int FINANCIAL_MAX_ITERATIONS = 20;//Bet accuracy with 128
-      double FINANCIAL_PRECISION = 0.0000001;//1.0e-8
-
       double y, y0, y1, x0, x1 = 0, f = 0, i = 0;
       double rate = guess;
       if (Math.abs(rate) < FINANCIAL_PRECISION) {
@@ -92,20 +92,36 @@ public class Rate implements Function {
          x0 = x1;
          x1 = rate;
 
-         if (Math.abs(rate) < FINANCIAL_PRECISION) {
-            y = pv * (1 + nper * rate) + pmt * (1 + rate * type) * nper + fv;
-         } else {
-            f = Math.exp(nper * Math.log(1 + rate));
-            y = pv * f + pmt * (1 / rate + type) * (f - 1) + fv;
-         }
+         y = rateFunction(nper, pmt, pv, fv, type, rate);
 
          y0 = y1;
          y1 = y;
          ++i;
       }
+      if (!(Math.abs(y1) <= FINANCIAL_PRECISION)) {
+         // the secant method diverged, stalled away from the root or ran out of iterations,
+         // so bracket the root instead
+         double bracketed = RateSolver.findRate(r -> rateFunction(nper, pmt, pv, fv, type, r), guess);
+         if (!Double.isNaN(bracketed)) {
+            return bracketed;
+         }
+      }
       return rate;
    }
 
+   /**
+    * @return the sum of the present value, the payments and the future value at the time of the
+    *  last payment, i.e. 0 for the rate of the annuity
+    */
+   private static double rateFunction(double nper, double pmt, double pv, double fv, double type, double rate) {
+      if (Math.abs(rate) < FINANCIAL_PRECISION) {
+         return pv * (1 + nper * rate) + pmt * (1 + rate * type) * nper + fv;
+      } else {
+         double f = Math.exp(nper * Math.log(1 + rate));
+         return pv * f + pmt * (1 / rate + type) * (f - 1) + fv;
+      }
+   }
+
    /**
     * Excel does not support infinities and NaNs, rather, it gives a #NUM! error in these cases
     * 
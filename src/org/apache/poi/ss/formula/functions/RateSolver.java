@@ -0,0 +1,186 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.ss.formula.functions;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * The fallback of the interest rate functions like {@link Irr} and {@link Rate}, when their
+ * Newton or secant iteration doesn't converge within the iterations allowed by Excel.<p>
+ *
+ * The rates next to the guess are scanned for a change of sign, in steps of the logarithm of the
+ * discount factor - so the scan approaches -100% and grows above the guess exponentially, but never
+ * steps over more than {@link #MAX_STEP}. The first interval with a change of sign is narrowed
+ * down to the root by Brent's method, which always converges.
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Brent%27s_method">Brent's method</a>
+ */
+final class RateSolver {
+    /** the first step of the scan for a change of sign, in units of log(1 + rate) */
+    private static final double INITIAL_STEP = 0.01;
+    /** the maximum step, in units of log(1 + rate) */
+    private static final double MAX_STEP = 0.1;
+    private static final int MAX_SCAN_STEPS = 200;
+    private static final int MAX_ITERATION_COUNT = 100;
+    private static final double ABSOLUTE_ACCURACY = 1E-14;
+
+    private RateSolver() {
+        // no instances of this class
+    }
+
+    /**
+     * @param f the function of the rate, e.g. the net present value of a cash flow
+     * @param guess the rate to start from
+     * @return the root of the function closest to the guess or <code>Double.NaN</code>
+     *  if there's no change of sign above -100%
+     */
+    public static double findRate(DoubleUnaryOperator f, double guess) {
+        if (!(guess > -1) || Double.isInfinite(guess)) {
+            return Double.NaN;
+        }
+        double logGuess = Math.log1p(guess);
+        double fGuess = f.applyAsDouble(guess);
+        double step = INITIAL_STEP;
+        int i = 0;
+        while (Double.isInfinite(fGuess) && i++ < MAX_SCAN_STEPS) {
+            // the discount factors of rates close to -100% overflow, so start above them
+            logGuess += step;
+            step = Math.min(step * 2, MAX_STEP);
+            guess = Math.expm1(logGuess);
+            fGuess = f.applyAsDouble(guess);
+        }
+        if (fGuess == 0) {
+            return guess;
+        }
+        if (Double.isNaN(fGuess) || Double.isInfinite(fGuess)) {
+            return Double.NaN;
+        }
+
+        double lo = logGuess, fLo = fGuess;
+        double hi = logGuess, fHi = fGuess;
+        boolean scanLo = true, scanHi = true;
+        step = INITIAL_STEP;
+        for (i = 0; i < MAX_SCAN_STEPS && (scanLo || scanHi); i++, step = Math.min(step * 2, MAX_STEP)) {
+            if (scanLo) {
+                double u = lo - step;
+                double fx = f.applyAsDouble(Math.expm1(u));
+                if (Double.isNaN(fx) || Double.isInfinite(fx)) {
+                    scanLo = false;
+                } else if (isSignChange(fx, fLo)) {
+                    return brent(f, Math.expm1(u), fx, Math.expm1(lo), fLo);
+                } else {
+                    lo = u;
+                    fLo = fx;
+                }
+            }
+            if (scanHi) {
+                double u = hi + step;
+                double fx = f.applyAsDouble(Math.expm1(u));
+                if (Double.isNaN(fx) || Double.isInfinite(fx)) {
+                    scanHi = false;
+                } else if (isSignChange(fHi, fx)) {
+                    return brent(f, Math.expm1(hi), fHi, Math.expm1(u), fx);
+                } else {
+                    hi = u;
+                    fHi = fx;
+                }
+            }
+        }
+        return Double.NaN;
+    }
+
+    private static boolean isSignChange(double fa, double fb) {
+        return (fa <= 0 && fb >= 0) || (fa >= 0 && fb <= 0);
+    }
+
+    /**
+     * Brent's method as in "Algorithms for Minimization without Derivatives" (R. P. Brent, 1973)
+     */
+    private static double brent(DoubleUnaryOperator f, double a0, double fa0, double b0, double fb0) {
+        double a = a0, fa = fa0;
+        double b = b0, fb = fb0;
+        if (fa == 0) {
+            return a;
+        }
+        if (fb == 0) {
+            return b;
+        }
+        double c = a, fc = fa;
+        double d = b - a, e = d;
+
+        for (int i = 0; i < MAX_ITERATION_COUNT; i++) {
+            if (Math.abs(fc) < Math.abs(fb)) {
+                // b is the best approximation so far
+                a = b;
+                b = c;
+                c = a;
+                fa = fb;
+                fb = fc;
+                fc = fa;
+            }
+            double tol = 2 * Math.ulp(b) + ABSOLUTE_ACCURACY;
+            double m = 0.5 * (c - b);
+            if (Math.abs(m) <= tol || fb == 0) {
+                return b;
+            }
+            if (Math.abs(e) < tol || Math.abs(fa) <= Math.abs(fb)) {
+                // bisection
+                d = m;
+                e = d;
+            } else {
+                double s = fb / fa;
+                double p, q;
+                if (a == c) {
+                    // linear interpolation
+                    p = 2 * m * s;
+                    q = 1 - s;
+                } else {
+                    // inverse quadratic interpolation
+                    double r = fb / fc;
+                    double t = fa / fc;
+                    p = s * (2 * m * t * (t - r) - (b - a) * (r - 1));
+                    q = (t - 1) * (r - 1) * (s - 1);
+                }
+                if (p > 0) {
+                    q = -q;
+                } else {
+                    p = -p;
+                }
+                if (2 * p < 3 * m * q - Math.abs(tol * q) && p < Math.abs(0.5 * e * q)) {
+                    e = d;
+                    d = p / q;
+                } else {
+                    // the interpolation doesn't shrink the interval fast enough
+                    d = m;
+                    e = d;
+                }
+            }
+            a = b;
+            fa = fb;
+            b += (Math.abs(d) > tol) ? d : (m > 0 ? tol : -tol);
+            fb = f.applyAsDouble(b);
+            if ((fb > 0 && fc > 0) || (fb < 0 && fc < 0)) {
+                c = a;
+                fc = fa;
+                d = b - a;
+                e = d;
+            }
+        }
+        return Double.NaN;
+    }
+}
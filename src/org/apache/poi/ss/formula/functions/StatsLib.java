@@ -19,6 +19,8 @@ package org.apache.poi.ss.formula.functions;
 
 import java.util.Arrays;
 
+import org.apache.poi.ss.formula.SortedNumbers;
+
 /**
  * @author Amol S. Deshmukh &lt; amolweb at ya hoo dot com &gt;
  *
@@ -90,6 +92,20 @@ final class StatsLib {
     }
 
 
+    /**
+     * returns the median of the already sorted numbers, like {@link #median(double[])}
+     */
+    public static double median(SortedNumbers v) {
+        int n = v.size();
+        if (n < 1) {
+            return Double.NaN;
+        }
+        return (n % 2 == 0)
+            ? (v.get(n / 2) + v.get(n / 2 - 1)) / 2
+            : v.get(n / 2);
+    }
+
+
     public static double devsq(double[] v) {
         double r = Double.NaN;
         if (v!=null && v.length >= 1) {
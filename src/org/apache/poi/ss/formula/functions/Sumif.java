@@ -78,6 +78,8 @@ public final class Sumif extends Var2or3ArgFunction {
 		int height=aeRange.getHeight();
 		int width= aeRange.getWidth();
 
+		// the sum range is only read for the matching cells
+		aeRange.prepareAllValues();
 		double result = 0.0;
 		for (int r=0; r<height; r++) {
 			for (int c=0; c<width; c++) {
@@ -142,6 +142,9 @@ public final class Sumproduct implements Function {
 			return ErrorEval.VALUE_INVALID;
 		}
 
+		for (TwoDEval arg : args) {
+			arg.prepareAllValues();
+		}
 		double acc = 0;
 
 		for (int rrIx=0; rrIx<height; rrIx++) {
@@ -20,10 +20,9 @@
 package org.apache.poi.ss.formula.functions;
 
 import org.apache.poi.ss.formula.eval.*;
+import org.apache.poi.ss.usermodel.CivilDate;
 import org.apache.poi.ss.usermodel.DateUtil;
 
-import java.util.Calendar;
-
 
 /**
  * Implementation for the Excel function WEEKDAY
@@ -84,8 +83,8 @@ public final class WeekdayFunc implements Function {
 			if (!DateUtil.isValidExcelDate(serialDate)) {
 				return ErrorEval.NUM_ERROR;						// EXCEL uses this and no VALUE_ERROR
 			}
-			Calendar date = DateUtil.getJavaCalendar(serialDate, false);		// (XXX 1904-windowing not respected)
-			int weekday = date.get(Calendar.DAY_OF_WEEK);		// => sunday = 1, monday = 2, ..., saturday = 7
+			long date = CivilDate.toEpochDay(serialDate, false);		// (XXX 1904-windowing not respected)
+			int weekday = CivilDate.getDayOfWeek(date);		// => sunday = 1, monday = 2, ..., saturday = 7
 
 			// extract second parameter
 			int returnOption = 1;					// default value
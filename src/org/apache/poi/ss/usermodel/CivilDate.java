@@ -0,0 +1,289 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.ss.usermodel;
+
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.util.Calendar;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SimpleTimeZone;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.poi.util.Internal;
+
+/**
+ * Calendar arithmetic on Excel dates without {@link Calendar} instances.<p>
+ *
+ * The dates are handled as <i>epoch days</i> - the days since 1970-01-01 in the proleptic
+ * Gregorian calendar - or as <i>local milliseconds</i>, i.e. the epoch day times
+ * {@link DateUtil#DAY_MILLISECONDS} plus the milliseconds in the day, without any time zone.
+ * The conversions from and to Excel dates give the same results as
+ * {@link DateUtil#getJavaCalendar(double, boolean)} and {@link DateUtil#getExcelDate(Calendar, boolean)},
+ * including the Excel date 60 (the non-existent 1900-02-29), which is mapped to 1900-03-01 like the
+ * day after.
+ *
+ * @see <a href="http://howardhinnant.github.io/date_algorithms.html">chrono-Compatible Low-Level Date Algorithms</a>
+ */
+@Internal
+public final class CivilDate {
+    /** the epoch day of 1899-12-31, i.e. the day before the Excel date 1 of the 1900 date system */
+    private static final int EPOCH_DAY_1900 = -25568;
+    /** the epoch day of 1904-01-01, i.e. the Excel date 0 of the 1904 date system */
+    private static final int EPOCH_DAY_1904 = -24107;
+    /** the Excel date of 1900-03-01, the first day after the non-existent 1900-02-29 */
+    private static final int FIRST_DAY_AFTER_LEAP_BUG = 61;
+
+    /** the result of {@link #toEpochMillis(long, TimeZone)}, if the offset of the time zone changes */
+    public static final long NEAR_TRANSITION = Long.MIN_VALUE;
+
+    /** the class of the time zones returned by {@link TimeZone#getTimeZone(String)} */
+    private static final Class<?> SYSTEM_ZONE_CLASS = TimeZone.getTimeZone("UTC").getClass();
+    /** the system time zones by id, which never change their offset */
+    private static final Map<String, Boolean> FIXED_OFFSET_ZONES = new ConcurrentHashMap<>();
+    /** the locales by their calendar type */
+    private static final Map<Locale, Boolean> GREGORIAN_LOCALES = new ConcurrentHashMap<>();
+
+    private CivilDate() {
+        // no instances of this class
+    }
+
+    /**
+     * @param date a valid Excel date, see {@link DateUtil#isValidExcelDate(double)}
+     * @param use1904windowing {@code true} for the 1904 date system
+     * @return the epoch day - Excel dates before 1900-03-01 are adjusted for the leap year bug
+     *  like in {@link DateUtil#setCalendar(Calendar, int, int, boolean, boolean)}
+     */
+    public static long toEpochDay(double date, boolean use1904windowing) {
+        return epochDayOf(toLocalMillis(date, use1904windowing));
+    }
+
+    /**
+     * @param date a valid Excel date, see {@link DateUtil#isValidExcelDate(double)}
+     * @param use1904windowing {@code true} for the 1904 date system
+     * @return the local milliseconds - the time of the day is rounded to milliseconds like in
+     *  {@link DateUtil#getJavaCalendar(double, boolean)}, so it might end up in the next day
+     */
+    public static long toLocalMillis(double date, boolean use1904windowing) {
+        int wholeDays = (int)Math.floor(date);
+        int millisecondsInDay = (int)((date - wholeDays) * DateUtil.DAY_MILLISECONDS + 0.5);
+        long epochDay;
+        if (use1904windowing) {
+            epochDay = EPOCH_DAY_1904 + (long)wholeDays;
+        } else {
+            epochDay = EPOCH_DAY_1900 + (long)wholeDays - (wholeDays < FIRST_DAY_AFTER_LEAP_BUG ? 0 : 1);
+        }
+        return epochDay * DateUtil.DAY_MILLISECONDS + millisecondsInDay;
+    }
+
+    /**
+     * @return the epoch day of the local milliseconds
+     */
+    public static long epochDayOf(long localMillis) {
+        return Math.floorDiv(localMillis, DateUtil.DAY_MILLISECONDS);
+    }
+
+    /**
+     * @param epochDay the epoch day
+     * @param use1904windowing {@code true} for the 1904 date system
+     * @return the Excel date or -1, if the day is before the first year of the date system
+     */
+    public static double toExcelDate(long epochDay, boolean use1904windowing) {
+        return toExcelDate(epochDay, 0, use1904windowing);
+    }
+
+    /**
+     * Converts like {@link DateUtil#getExcelDate(Calendar, boolean)}, i.e. the sum of the day
+     * and the time of the day is rounded the same way.
+     *
+     * @param localMillis the local milliseconds
+     * @param use1904windowing {@code true} for the 1904 date system
+     * @return the Excel date or -1, if the day is before the first year of the date system
+     */
+    public static double localMillisToExcelDate(long localMillis, boolean use1904windowing) {
+        long epochDay = epochDayOf(localMillis);
+        return toExcelDate(epochDay, (int)(localMillis - epochDay * DateUtil.DAY_MILLISECONDS), use1904windowing);
+    }
+
+    private static double toExcelDate(long epochDay, int millisecondsInDay, boolean use1904windowing) {
+        if (getYear(epochDay) < (use1904windowing ? 1904 : 1900)) {
+            return -1;
+        }
+        double fraction = millisecondsInDay / (double)DateUtil.DAY_MILLISECONDS;
+        if (use1904windowing) {
+            // the days since 1903-12-31 minus 1, see DateUtil.internalGetExcelDate
+            double value = fraction + (epochDay - EPOCH_DAY_1904 + 1);
+            return value - 1;
+        }
+        double value = fraction + (epochDay - EPOCH_DAY_1900);
+        return (value >= 60) ? value + 1 : value;
+    }
+
+    /**
+     * @param month the month, 1 for January
+     * @param day the day of the month, 1 to {@link #lengthOfMonth(long, int)}
+     * @return the epoch day
+     */
+    public static long toEpochDay(long year, int month, int day) {
+        long y = (month <= 2) ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yoe = y - era * 400;
+        long doy = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146097 + doe - 719468;
+    }
+
+    public static int getYear(long epochDay) {
+        long z = epochDay + 719468;
+        long era = Math.floorDiv(z, 146097);
+        long doe = z - era * 146097;
+        long yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        long mp = (5 * doy + 2) / 153;
+        return (int)(yoe + era * 400 + (mp < 10 ? 0 : 1));
+    }
+
+    /**
+     * @return the month, 1 for January
+     */
+    public static int getMonth(long epochDay) {
+        long doy = dayOfMarchYear(epochDay);
+        long mp = (5 * doy + 2) / 153;
+        return (int)(mp < 10 ? mp + 3 : mp - 9);
+    }
+
+    public static int getDayOfMonth(long epochDay) {
+        long doy = dayOfMarchYear(epochDay);
+        long mp = (5 * doy + 2) / 153;
+        return (int)(doy - (153 * mp + 2) / 5 + 1);
+    }
+
+    /**
+     * @return the day of the week like {@link Calendar#DAY_OF_WEEK}, i.e. 1 for Sunday to 7 for Saturday
+     */
+    public static int getDayOfWeek(long epochDay) {
+        // 1970-01-01 was a Thursday
+        return (int)Math.floorMod(epochDay + 4, 7) + Calendar.SUNDAY;
+    }
+
+    public static boolean isLeapYear(long year) {
+        return (year % 4 == 0) && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    /**
+     * @param month the month, 1 for January
+     * @return the number of days of the month
+     */
+    public static int lengthOfMonth(long year, int month) {
+        switch (month) {
+            case 2:
+                return isLeapYear(year) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * Adds the months like {@link Calendar#add(int, int)} with {@link Calendar#MONTH}, i.e.
+     * the day of the month is reduced to the length of the resulting month
+     *
+     * @return the epoch day
+     */
+    public static long plusMonths(long epochDay, int months) {
+        long monthCount = getYear(epochDay) * 12L + (getMonth(epochDay) - 1) + months;
+        long year = Math.floorDiv(monthCount, 12);
+        int month = (int)Math.floorMod(monthCount, 12) + 1;
+        int day = Math.min(getDayOfMonth(epochDay), lengthOfMonth(year, month));
+        return toEpochDay(year, month, day);
+    }
+
+    /**
+     * Converts the local time to UTC like {@link java.util.GregorianCalendar} does. The offset of
+     * the time zone is only taken, if it's the same a day before and after, so the conversion
+     * of local times in gaps and overlaps is left to the calendar.
+     *
+     * @param localMillis the local milliseconds
+     * @param tz the time zone of the local time
+     * @return the milliseconds since 1970-01-01 UTC or {@link #NEAR_TRANSITION}, if the
+     *  time zone changes its offset around the local time
+     */
+    public static long toEpochMillis(long localMillis, TimeZone tz) {
+        long guess = localMillis - tz.getOffset(localMillis - tz.getRawOffset());
+        int offset = tz.getOffset(guess - DateUtil.DAY_MILLISECONDS);
+        if (offset != tz.getOffset(guess + DateUtil.DAY_MILLISECONDS)) {
+            return NEAR_TRANSITION;
+        }
+        return localMillis - offset;
+    }
+
+    /**
+     * Converts the time to the local time like the fields of a {@link Calendar}
+     *
+     * @param epochMillis the milliseconds since 1970-01-01 UTC
+     * @param tz the time zone of the local time
+     * @return the local milliseconds
+     */
+    public static long toLocalMillis(long epochMillis, TimeZone tz) {
+        return epochMillis + tz.getOffset(epochMillis);
+    }
+
+    /**
+     * @return {@code true}, if the offset of the time zone never changes, so the local time
+     *  can be converted by {@link TimeZone#getRawOffset()}
+     */
+    public static boolean isFixedOffset(TimeZone tz) {
+        if (tz.getClass() != SYSTEM_ZONE_CLASS) {
+            // a custom zone may reuse the id of a system zone with other rules,
+            // so only a plain SimpleTimeZone without daylight saving time is known to be fixed
+            return tz.getClass() == SimpleTimeZone.class && !tz.observesDaylightTime();
+        }
+        return FIXED_OFFSET_ZONES.computeIfAbsent(tz.getID(), id -> {
+            try {
+                return ZoneId.of(id, ZoneId.SHORT_IDS).getRules().isFixedOffset();
+            } catch (DateTimeException e) {
+                return false;
+            }
+        });
+    }
+
+    /**
+     * @return {@code true}, if the calendar of the locale is the Gregorian calendar, as e.g.
+     *  {@link Calendar#getInstance(Locale)} returns a Buddhist calendar for Thai locales
+     */
+    public static boolean isGregorian(Locale locale) {
+        return GREGORIAN_LOCALES.computeIfAbsent(locale,
+            l -> "gregory".equals(Calendar.getInstance(l).getCalendarType()));
+    }
+
+    /**
+     * @return the day of the year starting with March 1st, 0 to 365
+     */
+    private static long dayOfMarchYear(long epochDay) {
+        long z = epochDay + 719468;
+        long era = Math.floorDiv(z, 146097);
+        long doe = z - era * 146097;
+        long yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        return doe - (365 * yoe + yoe / 4 - yoe / 100);
+    }
+}
@@ -23,8 +23,11 @@ package org.apache.poi.ss.usermodel;
 import org.apache.poi.ss.format.CellFormat;
 import org.apache.poi.ss.format.CellFormatResult;
 import org.apache.poi.ss.formula.ConditionalFormattingEvaluator;
+import org.apache.poi.ss.usermodel.FastFormatCompiler.FastDateFormat;
+import org.apache.poi.ss.usermodel.FastFormatCompiler.FastNumberFormat;
 import org.apache.poi.ss.util.DateFormatConverter;
 import org.apache.poi.ss.util.NumberToTextConverter;
+import org.apache.poi.util.BoundedConcurrentCache;
 import org.apache.poi.util.LocaleUtil;
 import org.apache.poi.util.POILogFactory;
 import org.apache.poi.util.POILogger;
@@ -34,6 +37,7 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.text.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -104,6 +108,11 @@ import java.util.regex.Pattern;
  *   These locale directives are (currently) ignored.
  *  You can use {@link DateFormatConverter} to do some of this localisation if
  *   you need it.
+ * <p>
+ *  The compiled formats are kept in a size bounded cache, which is shared by all
+ *   instances and keyed by locale, format string and date windowing. A single
+ *   instance with a fixed locale can therefore be used concurrently by several
+ *   threads, e.g. when rendering multiple workbooks in a thread pool.
  */
 @SuppressWarnings("unused")
 public class DataFormatter {
@@ -187,15 +196,30 @@ public class DataFormatter {
     private Format defaultNumFormat;
 
     /**
-     * A map to cache formats.
+     * A map to cache formats, which are specific to this instance, i.e. the
+     *  formats added via {@link #addFormat(String, Format)} and the default formats.
      *  Map<String,Format> formats
      */
-    private final Map<String,Format> formats = new HashMap<>();
+    private final Map<String,Format> formats = new ConcurrentHashMap<>();
+
+    /** Placeholder for format strings, which can't be converted to a {@link Format} */
+    private static final Format NO_FORMAT = new ConstantStringFormat("");
+
+    /** The maximum number of compiled formats shared between all instances */
+    private static final int MAX_SHARED_FORMATS = 2000;
+
+    /** Compiled formats shared between all instances and threads */
+    private static final BoundedConcurrentCache<FormatKey,Format> sharedFormats =
+            new BoundedConcurrentCache<>(MAX_SHARED_FORMATS);
+
+    /** The copies of the shared formats, which are used by the current thread */
+    private static final ThreadLocal<Map<Format,Format>> threadCopies =
+            ThreadLocal.withInitial(IdentityHashMap::new);
 
     private final boolean emulateCSV;
 
     /** stores the locale valid it the last formatting call */
-    private Locale locale;
+    private volatile Locale locale;
 
     /** stores if the locale should change according to {@link LocaleUtil#getUserLocale()} */
     private boolean localeIsAdapting;
@@ -337,7 +361,7 @@ public class DataFormatter {
         // See if we already have it cached
         Format format = formats.get(formatStr);
         if (format != null) {
-            return format;
+            return format == NO_FORMAT ? null : format;
         }
 
         // Is it one of the special built in types, General or @?
@@ -345,12 +369,61 @@ public class DataFormatter {
             return generalNumberFormat;
         }
 
-        // Build a formatter, and cache it
+        // An invalid date is formatted as a number, so the format depends on the value
+        // and must not be cached for the valid dates of the same format string
+        if (!DateUtil.isValidExcelDate(cellValue) && DateUtil.isADateFormat(formatIndex, formatStr)) {
+            return createFormat(cellValue, formatIndex, formatStr);
+        }
+
+        FormatKey key = new FormatKey(locale, LocaleUtil.getUserTimeZone(), formatStr, use1904Windowing, emulateCSV);
+        format = sharedFormats.get(key);
+        if (format != null) {
+            return getThreadCopy(format);
+        }
+
+        // Build a formatter, and cache it - formats which depend on the settings
+        // of this instance are only cached locally
         format = createFormat(cellValue, formatIndex, formatStr);
-        formats.put(formatStr, format);
+        if (format == null) {
+            formats.put(formatStr, NO_FORMAT);
+        } else if (format == generalNumberFormat || format == defaultNumFormat) {
+            formats.put(formatStr, format);
+        } else {
+            Format existing = sharedFormats.putIfAbsent(key, format);
+            if (existing != null) {
+                format = existing;
+            }
+            format = getThreadCopy(format);
+        }
         return format;
     }
 
+    /**
+     * Returns the copy of a shared format for the current thread, if the format keeps state
+     * while formatting. So the threads don't serialize on the shared instance, but each thread
+     * clones it once instead of compiling the format string again.
+     *
+     * @param shared the format of the shared cache
+     * @return the shared format itself, if it's thread-safe
+     */
+    private static Format getThreadCopy(Format shared) {
+        if (!(shared instanceof SimpleDateFormat || shared instanceof InternalDecimalFormatWithScale
+                || shared instanceof FastNumberFormat || shared instanceof FastDateFormat)) {
+            return shared;
+        }
+        Map<Format,Format> copies = threadCopies.get();
+        Format copy = copies.get(shared);
+        if (copy == null) {
+            if (copies.size() >= MAX_SHARED_FORMATS) {
+                // drop the copies of evicted formats
+                copies.clear();
+            }
+            copy = (Format)shared.clone();
+            copies.put(shared, copy);
+        }
+        return copy;
+    }
+
     /**
      * Create and return a Format based on the format string from a  cell's
      * style. If the pattern cannot be parsed, return a default pattern.
@@ -584,7 +657,9 @@ public class DataFormatter {
         formatStr = sb.toString();
 
         try {
-            return new ExcelStyleDateFormatter(formatStr, dateSymbols);
+            Format dateFormat = new ExcelStyleDateFormatter(formatStr, dateSymbols);
+            Format fastFormat = FastFormatCompiler.compileDateFormat(formatStr, dateFormat);
+            return fastFormat != null ? fastFormat : dateFormat;
         } catch(IllegalArgumentException iae) {
             logger.log(POILogger.DEBUG, "Formatting failed for format ", formatStr, ", falling back", iae);
             // the pattern could not be parsed correctly,
@@ -675,7 +750,7 @@ public class DataFormatter {
         private static final Pattern endsWithCommas = Pattern.compile("(,+)$");
         private BigDecimal divider;
         private static final BigDecimal ONE_THOUSAND = new BigDecimal(1000);
-        private final DecimalFormat df;
+        private DecimalFormat df;
         private static String trimTrailingCommas(String s) {
             return s.replaceAll(",+$", "");
         }
@@ -715,6 +790,13 @@ public class DataFormatter {
             return df.format(obj, toAppendTo, pos);
         }
 
+        @Override
+        public Object clone() {
+            InternalDecimalFormatWithScale copy = (InternalDecimalFormatWithScale)super.clone();
+            copy.df = (DecimalFormat)df.clone();
+            return copy;
+        }
+
         @Override
         public Object parseObject(String source, ParsePosition pos) {
             throw new UnsupportedOperationException();
@@ -744,7 +826,9 @@ public class DataFormatter {
         }
 
         try {
-            return new InternalDecimalFormatWithScale(format, symbols);
+            Format numberFormat = new InternalDecimalFormatWithScale(format, symbols);
+            Format fastFormat = FastFormatCompiler.compileNumberFormat(format, symbols, numberFormat);
+            return fastFormat != null ? fastFormat : numberFormat;
         } catch(IllegalArgumentException iae) {
             logger.log(POILogger.DEBUG, "Formatting failed for format ", formatStr, ", falling back", iae);
             // the pattern could not be parsed correctly,
@@ -804,6 +888,14 @@ public class DataFormatter {
             return null;
         }
         Format dateFormat = getFormat(cell, cfEvaluator);
+        if (dateFormat instanceof FastDateFormat) {
+            double value = cell.getNumericCellValue();
+            if (((FastDateFormat)dateFormat).canFormatSerial(value)) {
+                StringBuilder sb = new StringBuilder(20);
+                ((FastDateFormat)dateFormat).appendSerial(value, isDate1904(cell), sb);
+                return sb.toString();
+            }
+        }
         if (dateFormat == null) {
             if (defaultDateformat == null) {
                 DateFormatSymbols sym = DateFormatSymbols.getInstance(LocaleUtil.getUserLocale());
@@ -848,7 +940,15 @@ public class DataFormatter {
         if (numberFormat == null) {
             return String.valueOf(d);
         }
-        String formatted = numberFormat.format(d);
+        if (numberFormat instanceof FastNumberFormat) {
+            StringBuilder sb = new StringBuilder(24);
+            ((FastNumberFormat)numberFormat).appendTo(d, sb);
+            return sb.toString();
+        }
+        String formatted;
+        synchronized (numberFormat) {
+            formatted = numberFormat.format(d);
+        }
         return formatted.replaceFirst("E(\\d)", "E+$1"); // to match Excel's E-notation
     }
 
@@ -866,29 +966,58 @@ public class DataFormatter {
      * @see #formatCellValue(Cell)
      */
     public String formatRawCellContents(double value, int formatIndex, String formatString, boolean use1904Windowing) {
+        StringBuilder sb = new StringBuilder(32);
+        formatRawCellContents(value, formatIndex, formatString, use1904Windowing, sb);
+        return sb.toString();
+    }
+
+    /**
+     * Formats the given raw cell value, based on the supplied
+     *  format index and string, according to excel style rules and
+     *  appends it to the given builder.
+     * <p>
+     * Common number and date formats (e.g. <code>0.00</code>, <code>#,##0.00</code>,
+     *  <code>0%</code> or <code>yyyy-mm-dd</code>) are written without intermediate
+     *  objects, so bulk exports can reuse one builder for all of their cells.
+     *
+     * @param out the builder to append the formatted value to
+     * @see #formatCellValue(Cell)
+     */
+    public void formatRawCellContents(double value, int formatIndex, String formatString, boolean use1904Windowing, StringBuilder out) {
         checkForLocaleChange();
 
         // Is it a date?
         if(DateUtil.isADateFormat(formatIndex,formatString)) {
             if(DateUtil.isValidExcelDate(value)) {
                 Format dateFormat = getFormat(value, formatIndex, formatString, use1904Windowing);
-                if(dateFormat instanceof ExcelStyleDateFormatter) {
-                    // Hint about the raw excel value
-                    ((ExcelStyleDateFormatter)dateFormat).setDateToBeFormatted(value);
+                if (dateFormat instanceof FastDateFormat && ((FastDateFormat)dateFormat).canFormatSerial(value)) {
+                    ((FastDateFormat)dateFormat).appendSerial(value, use1904Windowing, out);
+                    return;
                 }
                 Date d = DateUtil.getJavaDate(value, use1904Windowing);
-                return performDateFormatting(d, dateFormat);
+                if(dateFormat instanceof ExcelStyleDateFormatter) {
+                    synchronized (dateFormat) {
+                        // Hint about the raw excel value
+                        ((ExcelStyleDateFormatter)dateFormat).setDateToBeFormatted(value);
+                        out.append(performDateFormatting(d, dateFormat));
+                        return;
+                    }
+                }
+                out.append(performDateFormatting(d, dateFormat));
+                return;
             }
             // RK: Invalid dates are 255 #s.
             if (emulateCSV) {
-                return invalidDateTimeString;
+                out.append(invalidDateTimeString);
+                return;
             }
         }
 
         // else Number
         Format numberFormat = getFormat(value, formatIndex, formatString, use1904Windowing);
         if (numberFormat == null) {
-            return String.valueOf(value);
+            out.append(value);
+            return;
         }
 
         // When formatting 'value', double to text to BigDecimal produces more
@@ -896,23 +1025,39 @@ public class DataFormatter {
         // previous versions). However, if the value contains E notation, this
         // would expand the values, which we do not want, so revert to
         // original method.
-        String result;
+        if (numberFormat instanceof FastNumberFormat && ((FastNumberFormat)numberFormat).appendIfUnambiguous(value, out)) {
+            return;
+        }
         final String textValue = NumberToTextConverter.toText(value);
-        if (textValue.indexOf('E') > -1) {
-            result = numberFormat.format(value);
+        if (numberFormat instanceof FastNumberFormat) {
+            // fixed point formats never produce an exponent
+            if (textValue.indexOf('E') > -1) {
+                ((FastNumberFormat)numberFormat).appendTo(value, out);
+            } else {
+                ((FastNumberFormat)numberFormat).appendTo(textValue, out);
+            }
+            return;
         }
-        else {
-            result = numberFormat.format(new BigDecimal(textValue));
+
+        String result;
+        synchronized (numberFormat) {
+            if (textValue.indexOf('E') > -1) {
+                result = numberFormat.format(value);
+            }
+            else {
+                result = numberFormat.format(new BigDecimal(textValue));
+            }
         }
 
         // If they requested a non-abbreviated Scientific format,
         //  and there's an E## (but not E-##), add the missing '+' for E+##
-        String fslc = formatString.toLowerCase(Locale.ROOT);
-        if ((fslc.contains("general") || fslc.contains("e+0"))
-                && result.contains("E") && !result.contains("E-")) {
-            result = result.replaceFirst("E", "E+");
+        if (result.contains("E") && !result.contains("E-")) {
+            String fslc = formatString.toLowerCase(Locale.ROOT);
+            if (fslc.contains("general") || fslc.contains("e+0")) {
+                result = result.replaceFirst("E", "E+");
+            }
         }
-        return result;
+        out.append(result);
     }
 
     /**
@@ -1037,7 +1182,7 @@ public class DataFormatter {
     public void setDefaultNumberFormat(Format format) {
         for (Map.Entry<String, Format> entry : formats.entrySet()) {
             if (entry.getValue() == generalNumberFormat) {
-                entry.setValue(format);
+                entry.setValue(format == null ? NO_FORMAT : format);
             }
         }
         defaultNumFormat = format;
@@ -1055,7 +1200,46 @@ public class DataFormatter {
      * @param format A Format instance
      */
     public void addFormat(String excelFormatStr, Format format) {
-        formats.put(excelFormatStr, format);
+        formats.put(excelFormatStr, format == null ? NO_FORMAT : format);
+    }
+
+    /**
+     * Key of the compiled formats, which are shared between all instances - date formats
+     * are bound to the user time zone, so it's part of the key
+     */
+    private static final class FormatKey {
+        private final Locale locale;
+        private final TimeZone timeZone;
+        private final String formatStr;
+        private final boolean use1904Windowing;
+        private final boolean emulateCSV;
+
+        FormatKey(Locale locale, TimeZone timeZone, String formatStr, boolean use1904Windowing, boolean emulateCSV) {
+            this.locale = locale;
+            this.timeZone = timeZone;
+            this.formatStr = formatStr;
+            this.use1904Windowing = use1904Windowing;
+            this.emulateCSV = emulateCSV;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof FormatKey)) {
+                return false;
+            }
+            FormatKey other = (FormatKey)o;
+            return use1904Windowing == other.use1904Windowing
+                && emulateCSV == other.emulateCSV
+                && locale.equals(other.locale)
+                && timeZone.equals(other.timeZone)
+                && formatStr.equals(other.formatStr);
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = (locale.hashCode() * 31 + timeZone.hashCode()) * 31 + formatStr.hashCode();
+            return hash * 4 + (use1904Windowing ? 2 : 0) + (emulateCSV ? 1 : 0);
+        }
     }
 
     // Some custom formats
@@ -1108,7 +1292,10 @@ public class DataFormatter {
     private void checkForLocaleChange(Locale newLocale) {
         if (!localeIsAdapting) return;
         if (newLocale.equals(locale)) return;
-        updateLocale(newLocale);
+        synchronized (this) {
+            if (newLocale.equals(locale)) return;
+            updateLocale(newLocale);
+        }
         pcs.firePropertyChange("locale", locale, newLocale);
     }
 
@@ -1117,7 +1304,7 @@ public class DataFormatter {
      *
      * @param newLocale the new locale
      */
-    public void updateLocale(Locale newLocale) {
+    public synchronized void updateLocale(Locale newLocale) {
         if (!localeIsAdapting || newLocale.equals(locale)) return;
 
         locale = newLocale;
@@ -187,6 +187,10 @@ public class DateUtil {
      * @param use1904windowing Should 1900 or 1904 date windowing be used?
      */
     public static double getExcelDate(Date date, boolean use1904windowing) {
+        if (CivilDate.isGregorian(LocaleUtil.getUserLocale())) {
+            long localMillis = CivilDate.toLocalMillis(date.getTime(), LocaleUtil.getUserTimeZone());
+            return CivilDate.localMillisToExcelDate(localMillis, use1904windowing);
+        }
         Calendar calStart = LocaleUtil.getLocaleCalendar();
         calStart.setTime(date);
         int year = calStart.get(Calendar.YEAR);
@@ -324,6 +328,19 @@ public class DateUtil {
      *  @return Java representation of the date, or null if date is not a valid Excel date
      */
     public static Date getJavaDate(double date, boolean use1904windowing, TimeZone tz, boolean roundSeconds) {
+        if (!isValidExcelDate(date)) {
+            return null;
+        }
+        if (CivilDate.isGregorian(LocaleUtil.getUserLocale())) {
+            long localMillis = CivilDate.toLocalMillis(date, use1904windowing);
+            if (roundSeconds) {
+                localMillis = Math.floorDiv(localMillis + 500, 1000) * 1000;
+            }
+            long epochMillis = CivilDate.toEpochMillis(localMillis, (tz != null) ? tz : LocaleUtil.getUserTimeZone());
+            if (epochMillis != CivilDate.NEAR_TRANSITION) {
+                return new Date(epochMillis);
+            }
+        }
         Calendar calendar = getJavaCalendar(date, use1904windowing, tz, roundSeconds);
         return calendar == null ? null : calendar.getTime();
     }
@@ -67,6 +67,9 @@ public class ExcelGeneralNumberFormat extends Format {
         final double abs = Math.abs(value);
         if (abs >= 1E11 || (abs <= 1E-10 && abs > 0)) {
             return scientificFormat.format(number, toAppendTo, pos);
+        } else if (Math.floor(value) == value && (value != 0.0 || 1 / value > 0.0)) {
+            // integer, written directly as it's the most common case
+            return appendInteger((long)value, toAppendTo);
         } else if (Math.floor(value) == value || abs >= 1E10) {
             // integer, or integer portion uses all 11 allowed digits
             return integerFormat.format(number, toAppendTo, pos);
@@ -79,6 +82,25 @@ public class ExcelGeneralNumberFormat extends Format {
         return decimalFormat.format(rounded, toAppendTo, pos);
     }
 
+    /**
+     * Appends the integer like the "#" pattern of {@link #integerFormat} would do
+     */
+    private StringBuffer appendInteger(long value, StringBuffer toAppendTo) {
+        if (value < 0) {
+            toAppendTo.append(decimalSymbols.getMinusSign());
+            value = -value;
+        }
+        final char zeroDigit = decimalSymbols.getZeroDigit();
+        long div = 1;
+        while (div <= value / 10) {
+            div *= 10;
+        }
+        for (; div > 0; div /= 10) {
+            toAppendTo.append((char)(zeroDigit + (value / div) % 10));
+        }
+        return toAppendTo;
+    }
+
     public Object parseObject(String source, ParsePosition pos) {
         throw new UnsupportedOperationException();
     }
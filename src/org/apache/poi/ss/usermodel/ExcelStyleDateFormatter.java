@@ -43,13 +43,14 @@ public class ExcelStyleDateFormatter extends SimpleDateFormat {
     public static final char L_BRACKET_SYMBOL = '\ue016';
     public static final char LL_BRACKET_SYMBOL = '\ue017';
 
-    private static final DecimalFormat format1digit;
-    private static final DecimalFormat format2digits;
+    // the number formats are per instance, as a DecimalFormat isn't thread-safe
+    private DecimalFormat format1digit;
+    private DecimalFormat format2digits;
 
-    private static final DecimalFormat format3digit;
-    private static final DecimalFormat format4digits;
+    private DecimalFormat format3digit;
+    private DecimalFormat format4digits;
 
-    static {
+    {
         DecimalFormatSymbols dfs = DecimalFormatSymbols.getInstance(Locale.ROOT);
         format1digit = new DecimalFormat("0", dfs);
         format2digits = new DecimalFormat("00", dfs);
@@ -180,6 +181,16 @@ public class ExcelStyleDateFormatter extends SimpleDateFormat {
         return new StringBuffer(s);
     }
 
+    @Override
+    public Object clone() {
+        ExcelStyleDateFormatter copy = (ExcelStyleDateFormatter) super.clone();
+        copy.format1digit = (DecimalFormat) format1digit.clone();
+        copy.format2digits = (DecimalFormat) format2digits.clone();
+        copy.format3digit = (DecimalFormat) format3digit.clone();
+        copy.format4digits = (DecimalFormat) format4digits.clone();
+        return copy;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (!(o instanceof ExcelStyleDateFormatter)) {
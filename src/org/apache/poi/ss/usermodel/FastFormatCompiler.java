@@ -0,0 +1,422 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.ss.usermodel;
+
+import org.apache.poi.util.LocaleUtil;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormatSymbols;
+import java.text.FieldPosition;
+import java.text.Format;
+import java.text.ParsePosition;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles the most common number and date formats into formatters, which write
+ * their digits directly into a {@link StringBuilder} instead of going through
+ * {@link java.text.DecimalFormat} / {@link java.text.SimpleDateFormat}.
+ * <p>
+ * The compiled formats produce the same output as the formats which
+ * {@link DataFormatter} would otherwise create and fall back to those for
+ * anything out of their scope, e.g. huge numbers, values next to a rounding
+ * tie or date values in time zones with daylight saving time.
+ * <p>
+ * The compiled formats are stateless and can be used by several threads at once.
+ */
+final class FastFormatCompiler {
+    /** Supported number patterns: 0, 0.00, #,##0, #,##0.00 and their percentages */
+    private static final Pattern NUMBER_PATTERN = Pattern.compile("(#,##)?0(?:\\.(0+))?(%)?");
+
+    private static final long[] POW10 = new long[19];
+    static {
+        POW10[0] = 1;
+        for (int i = 1; i < POW10.length; i++) {
+            POW10[i] = POW10[i - 1] * 10;
+        }
+    }
+
+    /** the largest scaled value, which is formatted without falling back to the exact conversion */
+    private static final double MAX_SCALED = 1e15;
+
+    private static final int DAY_MILLISECONDS = 24 * 60 * 60 * 1000;
+
+    /** the first Excel date after 9999-12-31, i.e. the end of the valid Excel date range */
+    private static final double MAX_EXCEL_DATE = 2958466;
+
+    private FastFormatCompiler() {
+        // no instances of this class
+    }
+
+    /**
+     * Compiles the given (already cleaned) number pattern
+     *
+     * @param pattern the pattern as it would be passed to {@link java.text.DecimalFormat}
+     * @param symbols the decimal symbols of the locale
+     * @param fallback the format used for the values, which can't be handled on the fast path
+     * @return the compiled format or {@code null} if the pattern isn't supported
+     */
+    static FastNumberFormat compileNumberFormat(String pattern, DecimalFormatSymbols symbols, Format fallback) {
+        Matcher m = NUMBER_PATTERN.matcher(pattern);
+        if (!m.matches()) {
+            return null;
+        }
+        int fractionDigits = m.group(2) == null ? 0 : m.group(2).length();
+        if (fractionDigits > 10) {
+            return null;
+        }
+        return new FastNumberFormat(fractionDigits, m.group(1) != null, m.group(3) != null, symbols, fallback);
+    }
+
+    /**
+     * Compiles the given (already converted) date pattern
+     *
+     * @param pattern the pattern as it would be passed to {@link java.text.SimpleDateFormat}
+     * @param fallback the format used for the values, which can't be handled on the fast path
+     * @return the compiled format or {@code null} if the pattern isn't supported
+     */
+    static FastDateFormat compileDateFormat(String pattern, Format fallback) {
+        final int fields;
+        switch (pattern) {
+            case "yyyy-MM-dd":
+                fields = 3;
+                break;
+            case "yyyy-MM-dd HH:mm":
+                fields = 5;
+                break;
+            case "yyyy-MM-dd HH:mm:ss":
+                fields = 6;
+                break;
+            default:
+                return null;
+        }
+        // SimpleDateFormat uses the calendar and digits of the default format locale
+        Locale formatLocale = Locale.getDefault(Locale.Category.FORMAT);
+        if (DecimalFormatSymbols.getInstance(formatLocale).getZeroDigit() != '0'
+            || !"gregory".equals(Calendar.getInstance(formatLocale).getCalendarType())) {
+            return null;
+        }
+        return new FastDateFormat(fields, fallback);
+    }
+
+    /**
+     * Appends the digits of a non-negative number, left padded with zeros to {@code minDigits}
+     */
+    private static void appendDigits(StringBuilder sb, long value, int minDigits, char zeroDigit, char groupingSeparator) {
+        int digits = 1;
+        while (digits < 19 && value >= POW10[digits]) {
+            digits++;
+        }
+        digits = Math.max(digits, minDigits);
+        for (int i = digits - 1; i >= 0; i--) {
+            sb.append((char)(zeroDigit + (value / POW10[i]) % 10));
+            if (groupingSeparator != 0 && i > 0 && i % 3 == 0) {
+                sb.append(groupingSeparator);
+            }
+        }
+    }
+
+    /**
+     * A fixed point number format, i.e. 0, 0.00, #,##0.00 or percentages of those
+     */
+    @SuppressWarnings("serial")
+    static final class FastNumberFormat extends Format {
+        private final int fractionDigits;
+        private final boolean percent;
+        private final char zeroDigit;
+        private final char groupingSeparator;
+        private final char decimalSeparator;
+        private final char minusSign;
+        private final char percentSign;
+        private Format fallback;
+
+        private FastNumberFormat(int fractionDigits, boolean grouping, boolean percent, DecimalFormatSymbols symbols, Format fallback) {
+            this.fractionDigits = fractionDigits;
+            this.percent = percent;
+            this.zeroDigit = symbols.getZeroDigit();
+            this.groupingSeparator = grouping ? symbols.getGroupingSeparator() : 0;
+            this.decimalSeparator = symbols.getDecimalSeparator();
+            this.minusSign = symbols.getMinusSign();
+            this.percentSign = symbols.getPercent();
+            this.fallback = fallback;
+        }
+
+        /**
+         * Formats the binary value like {@link java.text.DecimalFormat#format(double)}
+         * with {@link RoundingMode#HALF_UP}, i.e. ties are determined on the exact binary value
+         */
+        void appendTo(double value, StringBuilder sb) {
+            if (Double.isNaN(value) || Double.isInfinite(value)) {
+                appendFallback(value, sb);
+                return;
+            }
+            boolean negative = value < 0.0 || (value == 0.0 && 1 / value < 0.0);
+            // DecimalFormat applies its multiplier in double arithmetic too
+            double abs = Math.abs(percent ? value * 100 : value);
+            double scaled = abs * POW10[fractionDigits];
+            if (Double.isInfinite(abs) || scaled >= MAX_SCALED) {
+                appendFallback(value, sb);
+                return;
+            }
+
+            double floor = Math.floor(scaled);
+            double frac = scaled - floor;
+            long rounded;
+            if (fractionDigits == 0 || Math.abs(frac - 0.5) > Math.ulp(scaled)) {
+                // the scaling can't have crossed the rounding tie
+                rounded = (long)floor + (frac >= 0.5 ? 1 : 0);
+            } else {
+                rounded = new BigDecimal(abs).setScale(fractionDigits, RoundingMode.HALF_UP).unscaledValue().longValue();
+            }
+            appendUnscaled(negative, rounded, sb);
+        }
+
+        /**
+         * Formats the value like {@link #appendTo(String, StringBuilder)} would format its
+         * {@link org.apache.poi.ss.util.NumberToTextConverter#toText(double) text representation},
+         * but only if the rounding of the binary value can't differ from the rounding of the text.
+         *
+         * @return {@code true} if the value was appended, {@code false} if the caller needs to
+         *   format the text representation instead
+         */
+        boolean appendIfUnambiguous(double value, StringBuilder sb) {
+            if (value == 0.0 || Double.isNaN(value) || Double.isInfinite(value)) {
+                return false;
+            }
+            double abs = Math.abs(percent ? value * 100 : value);
+            double scaled = abs * POW10[fractionDigits];
+            if (scaled >= MAX_SCALED) {
+                return false;
+            }
+            double floor = Math.floor(scaled);
+            double frac = scaled - floor;
+            // the text representation has 15 significant digits
+            if (Math.abs(frac - 0.5) <= scaled * 1e-14 + 2 * Math.ulp(scaled)) {
+                return false;
+            }
+            appendUnscaled(value < 0.0, (long)floor + (frac > 0.5 ? 1 : 0), sb);
+            return true;
+        }
+
+        /**
+         * Formats the decimal text representation like {@link java.text.DecimalFormat#format(Object)}
+         * with a {@link BigDecimal} and {@link RoundingMode#HALF_UP}
+         *
+         * @param text a plain decimal number as returned by
+         *   {@link org.apache.poi.ss.util.NumberToTextConverter#toText(double)}, i.e. without exponent
+         */
+        void appendTo(String text, StringBuilder sb) {
+            int len = text.length();
+            int pos = 0;
+            boolean negative = false;
+            if (pos < len && text.charAt(pos) == '-') {
+                negative = true;
+                pos++;
+            }
+
+            // collect the digits and the position of the decimal point
+            long intValue = 0;
+            int intDigits = 0;
+            long fracValue = 0;
+            int fracDigits = 0;
+            boolean roundUp = false;
+            boolean nonZero = false;
+            boolean afterPoint = false;
+            int shift = percent ? 2 : 0;
+            for (; pos < len; pos++) {
+                char c = text.charAt(pos);
+                if (c == '.') {
+                    afterPoint = true;
+                    continue;
+                }
+                int digit = c - '0';
+                if (digit < 0 || digit > 9) {
+                    appendFallback(new BigDecimal(text), sb);
+                    return;
+                }
+                nonZero |= digit != 0;
+                if (!afterPoint || shift > 0) {
+                    if (afterPoint) {
+                        shift--;
+                    }
+                    if (++intDigits > 18) {
+                        appendFallback(new BigDecimal(text), sb);
+                        return;
+                    }
+                    intValue = intValue * 10 + digit;
+                } else if (fracDigits < fractionDigits) {
+                    fracValue = fracValue * 10 + digit;
+                    fracDigits++;
+                } else if (fracDigits == fractionDigits) {
+                    roundUp = digit >= 5;
+                    fracDigits++;
+                }
+            }
+            // percentages of values with less than two fraction digits
+            for (; shift > 0; shift--) {
+                intValue *= 10;
+                if (++intDigits > 18) {
+                    appendFallback(new BigDecimal(text), sb);
+                    return;
+                }
+            }
+            for (int i = Math.min(fracDigits, fractionDigits); i < fractionDigits; i++) {
+                fracValue *= 10;
+            }
+            if (intValue >= POW10[18 - fractionDigits]) {
+                appendFallback(new BigDecimal(text), sb);
+                return;
+            }
+
+            long rounded = intValue * POW10[fractionDigits] + fracValue + (roundUp ? 1 : 0);
+            // BigDecimal has no negative zero
+            appendUnscaled(negative && nonZero, rounded, sb);
+        }
+
+        private void appendUnscaled(boolean negative, long rounded, StringBuilder sb) {
+            if (negative) {
+                sb.append(minusSign);
+            }
+            appendDigits(sb, rounded / POW10[fractionDigits], 1, zeroDigit, groupingSeparator);
+            if (fractionDigits > 0) {
+                sb.append(decimalSeparator);
+                appendDigits(sb, rounded % POW10[fractionDigits], fractionDigits, zeroDigit, (char)0);
+            }
+            if (percent) {
+                sb.append(percentSign);
+            }
+        }
+
+        @Override
+        public Object clone() {
+            FastNumberFormat copy = (FastNumberFormat)super.clone();
+            copy.fallback = (Format)fallback.clone();
+            return copy;
+        }
+
+        private void appendFallback(Object value, StringBuilder sb) {
+            synchronized (fallback) {
+                sb.append(fallback.format(value));
+            }
+        }
+
+        @Override
+        public StringBuffer format(Object obj, StringBuffer toAppendTo, FieldPosition pos) {
+            StringBuilder sb = new StringBuilder(24);
+            if (obj instanceof BigDecimal) {
+                BigDecimal bd = (BigDecimal)obj;
+                if (bd.scale() < 0) {
+                    bd = bd.setScale(0, RoundingMode.UNNECESSARY);
+                }
+                appendTo(bd.toPlainString(), sb);
+            } else if (obj instanceof Number) {
+                appendTo(((Number)obj).doubleValue(), sb);
+            } else {
+                synchronized (fallback) {
+                    return fallback.format(obj, toAppendTo, pos);
+                }
+            }
+            return toAppendTo.append(sb);
+        }
+
+        @Override
+        public Object parseObject(String source, ParsePosition pos) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * An ISO like date format, i.e. yyyy-MM-dd with optional hours, minutes and seconds.
+     * The fields are calculated from the Excel date directly, so the output matches
+     * {@link java.text.SimpleDateFormat} only if the user time zone doesn't have any
+     * gaps in its local time line, i.e. has a fixed offset.
+     */
+    @SuppressWarnings("serial")
+    static final class FastDateFormat extends Format {
+        /** the number of fields to output: 3 (date), 5 (minutes) or 6 (seconds) */
+        private final int fields;
+        private Format fallback;
+
+        private FastDateFormat(int fields, Format fallback) {
+            this.fields = fields;
+            this.fallback = fallback;
+        }
+
+        /**
+         * @return {@code true}, if the Excel date can be formatted without going through {@link Date}
+         */
+        boolean canFormatSerial(double excelDate) {
+            if (!DateUtil.isValidExcelDate(excelDate) || excelDate >= MAX_EXCEL_DATE) {
+                return false;
+            }
+            return CivilDate.isFixedOffset(LocaleUtil.getUserTimeZone());
+        }
+
+        /**
+         * Formats the Excel date like {@link DateUtil#getJavaDate(double, boolean)} followed by
+         * {@link java.text.SimpleDateFormat#format(Date)} would do in a fixed offset time zone
+         */
+        void appendSerial(double excelDate, boolean use1904windowing, StringBuilder sb) {
+            long localMillis = CivilDate.toLocalMillis(excelDate, use1904windowing);
+            long epochDay = CivilDate.epochDayOf(localMillis);
+            int secondsInDay = (int)(localMillis - epochDay * DAY_MILLISECONDS) / 1000;
+            int year = CivilDate.getYear(epochDay);
+            int month = CivilDate.getMonth(epochDay);
+            int day = CivilDate.getDayOfMonth(epochDay);
+
+            appendDigits(sb, year, 4, '0', (char)0);
+            sb.append('-');
+            appendDigits(sb, month, 2, '0', (char)0);
+            sb.append('-');
+            appendDigits(sb, day, 2, '0', (char)0);
+            if (fields > 3) {
+                sb.append(' ');
+                appendDigits(sb, secondsInDay / 3600, 2, '0', (char)0);
+                sb.append(':');
+                appendDigits(sb, (secondsInDay / 60) % 60, 2, '0', (char)0);
+                if (fields > 5) {
+                    sb.append(':');
+                    appendDigits(sb, secondsInDay % 60, 2, '0', (char)0);
+                }
+            }
+        }
+
+        @Override
+        public StringBuffer format(Object obj, StringBuffer toAppendTo, FieldPosition pos) {
+            synchronized (fallback) {
+                return fallback.format(obj, toAppendTo, pos);
+            }
+        }
+
+        @Override
+        public Object clone() {
+            FastDateFormat copy = (FastDateFormat)super.clone();
+            copy.fallback = (Format)fallback.clone();
+            return copy;
+        }
+
+        @Override
+        public Object parseObject(String source, ParsePosition pos) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
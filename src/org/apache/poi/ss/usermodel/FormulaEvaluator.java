@@ -37,6 +37,15 @@ public interface FormulaEvaluator {
      * of the evaluate~ methods of this class
      */
     void clearAllCachedResultValues();
+
+    /**
+     * Clears the cached results of formulas, which call volatile functions like NOW() or RAND(),
+     * and of the formulas depending on them, so they are recalculated by the next evaluation.
+     * The default implementation clears all cached results.
+     */
+    default void recalculateVolatile() {
+        clearAllCachedResultValues();
+    }
 	/**
 	 * Should be called to tell the cell value cache that the specified (value or formula) cell 
 	 * has changed.
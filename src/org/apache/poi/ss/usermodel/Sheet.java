@@ -955,6 +955,38 @@ public interface Sheet extends Iterable<Row> {
      */
     void autoSizeColumn(int column, boolean useMergedCells);
 
+    /**
+     * Adjusts the widths of several columns to fit their contents.
+     * <p>
+     * Implementations may traverse the rows only once and measure repeated texts only once,
+     *  so this can be faster than calling {@link #autoSizeColumn(int)} for each column.
+     *  The default implementation calls {@link #autoSizeColumn(int, boolean)} for each column.
+     * </p>
+     * Merged cells are ignored.
+     *
+     * @param columns the column indexes
+     */
+    default void autoSizeColumns(int... columns) {
+        autoSizeColumns(false, columns);
+    }
+
+    /**
+     * Adjusts the widths of several columns to fit their contents.
+     * <p>
+     * Implementations may traverse the rows only once and measure repeated texts only once,
+     *  so this can be faster than calling {@link #autoSizeColumn(int, boolean)} for each column.
+     *  The default implementation calls {@link #autoSizeColumn(int, boolean)} for each column.
+     * </p>
+     *
+     * @param useMergedCells whether to use the contents of merged cells when calculating the width of the columns
+     * @param columns the column indexes
+     */
+    default void autoSizeColumns(boolean useMergedCells, int... columns) {
+        for (int column : columns) {
+            autoSizeColumn(column, useMergedCells);
+        }
+    }
+
     /**
      * Returns cell comment for the specified location
      *
@@ -0,0 +1,149 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.ss.usermodel.helpers;
+
+import org.apache.poi.util.Beta;
+
+/**
+ * An insertion or deletion of rows or columns, which can be applied together
+ * with other edits in a single pass over the sheet, e.g. via
+ * {@link org.apache.poi.hssf.usermodel.HSSFSheet#applyStructuralEdits(java.util.List)}.
+ * <p>
+ * The indexes of an edit refer to the sheet as it looks after the preceding edits
+ * of the same batch have been applied.
+ *
+ * @since POI 5.0.0
+ */
+@Beta
+public final class StructuralEdit {
+    public enum Kind {
+        INSERT_ROWS,
+        DELETE_ROWS,
+        INSERT_COLUMNS,
+        DELETE_COLUMNS
+    }
+
+    private final Kind kind;
+    private final int index;
+    private final int count;
+
+    private StructuralEdit(Kind kind, int index, int count) {
+        if (index < 0) {
+            throw new IllegalArgumentException("index must not be negative, but had " + index);
+        }
+        if (count < 1) {
+            throw new IllegalArgumentException("count must be positive, but had " + count);
+        }
+        this.kind = kind;
+        this.index = index;
+        this.count = count;
+    }
+
+    /**
+     * Inserts empty rows, the rows starting at {@code row} are moved down
+     *
+     * @param row the 0-based index of the first inserted row
+     * @param count the number of rows to insert
+     */
+    public static StructuralEdit insertRows(int row, int count) {
+        return new StructuralEdit(Kind.INSERT_ROWS, row, count);
+    }
+
+    /**
+     * Deletes rows, the rows below are moved up
+     *
+     * @param row the 0-based index of the first deleted row
+     * @param count the number of rows to delete
+     */
+    public static StructuralEdit deleteRows(int row, int count) {
+        return new StructuralEdit(Kind.DELETE_ROWS, row, count);
+    }
+
+    /**
+     * Inserts empty columns, the columns starting at {@code column} are moved right
+     *
+     * @param column the 0-based index of the first inserted column
+     * @param count the number of columns to insert
+     */
+    public static StructuralEdit insertColumns(int column, int count) {
+        return new StructuralEdit(Kind.INSERT_COLUMNS, column, count);
+    }
+
+    /**
+     * Deletes columns, the columns to the right are moved left
+     *
+     * @param column the 0-based index of the first deleted column
+     * @param count the number of columns to delete
+     */
+    public static StructuralEdit deleteColumns(int column, int count) {
+        return new StructuralEdit(Kind.DELETE_COLUMNS, column, count);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return the first inserted or deleted row/column
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return the number of inserted or deleted rows/columns
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @return {@code true} if rows are inserted or deleted, {@code false} for columns
+     */
+    public boolean isRowEdit() {
+        return kind == Kind.INSERT_ROWS || kind == Kind.DELETE_ROWS;
+    }
+
+    /**
+     * @return {@code true} for insertions, {@code false} for deletions
+     */
+    public boolean isInsert() {
+        return kind == Kind.INSERT_ROWS || kind == Kind.INSERT_COLUMNS;
+    }
+
+    /**
+     * Maps a row/column index, which is affected by this edit, to its index after the edit
+     *
+     * @param idx the row/column index before the edit
+     * @return the index after the edit or -1 if the row/column is deleted
+     */
+    public int shiftIndex(int idx) {
+        if (idx < index) {
+            return idx;
+        }
+        if (isInsert()) {
+            return idx + count;
+        }
+        return (idx < index + count) ? -1 : idx - count;
+    }
+
+    @Override
+    public String toString() {
+        return kind + "[" + index + "," + count + "]";
+    }
+}
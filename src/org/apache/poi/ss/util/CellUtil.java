@@ -92,6 +92,36 @@ public final class CellUtil {
 
     private static UnicodeMapping[] unicodeMappings;
 
+    /** the style indexes of the workbooks, which were used by {@link #setCellStyleProperties(Cell, Map)} */
+    private static final Map<Workbook, StyleIndex> styleIndexes =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Maps the format properties of the styles of a workbook to their style index.
+     * Styles are indexed lazily, i.e. all styles below {@link #indexedStyles} were already added.
+     */
+    private static final class StyleIndex {
+        private final Map<Map<String, Object>, Integer> byProperties = new HashMap<>();
+        private int indexedStyles;
+
+        private void update(Workbook workbook) {
+            int numberCellStyles = workbook.getNumCellStyles();
+            if (indexedStyles > numberCellStyles) {
+                // styles were removed, so the indexes have shifted
+                clear();
+            }
+            for (; indexedStyles < numberCellStyles; indexedStyles++) {
+                CellStyle wbStyle = workbook.getCellStyleAt(indexedStyles);
+                byProperties.putIfAbsent(getFormatProperties(wbStyle), indexedStyles);
+            }
+        }
+
+        private void clear() {
+            byProperties.clear();
+            indexedStyles = 0;
+        }
+    }
+
     private static final class UnicodeMapping {
 
         public final String entityName;
@@ -246,6 +276,10 @@ public final class CellUtil {
      * {@link #setCellStyleProperty(Cell, String, Object)}
      * if adding multiple cell styles.</p>
      *
+     * <p>The existing styles are looked up in an index of their properties, which is kept per workbook
+     * and extended with the styles created since the last call. Styles which are modified after they have
+     * been indexed are only re-indexed when a lookup detects the change.</p>
+     *
      * <p>For performance reasons, if this is the only cell in a workbook that uses a cell style,
      * this method does NOT remove the old style from the workbook.
      * <!-- NOT IMPLEMENTED: Unused styles should be
@@ -264,20 +298,8 @@ public final class CellUtil {
         Map<String, Object> values = getFormatProperties(originalStyle);
         putAll(properties, values);
 
-        // index seems like what index the cellstyle is in the list of styles for a workbook.
-        // not good to compare on!
-        int numberCellStyles = workbook.getNumCellStyles();
-
-        for (int i = 0; i < numberCellStyles; i++) {
-            CellStyle wbStyle = workbook.getCellStyleAt(i);
-            Map<String, Object> wbStyleMap = getFormatProperties(wbStyle);
-
-            // the desired style already exists in the workbook. Use the existing style.
-            if (wbStyleMap.equals(values)) {
-                newStyle = wbStyle;
-                break;
-            }
-        }
+        // the desired style already exists in the workbook. Use the existing style.
+        newStyle = findCellStyle(workbook, values);
 
         // the desired style does not exist in the workbook. Create a new style with desired properties.
         if (newStyle == null) {
@@ -288,6 +310,38 @@ public final class CellUtil {
         cell.setCellStyle(newStyle);
     }
 
+    /**
+     * Finds an existing style with the given format properties
+     *
+     * @return the style or {@code null} if there's no matching style
+     */
+    private static CellStyle findCellStyle(Workbook workbook, Map<String, Object> values) {
+        StyleIndex index = styleIndexes.computeIfAbsent(workbook, wb -> new StyleIndex());
+        synchronized (index) {
+            index.update(workbook);
+            Integer idx = index.byProperties.get(values);
+            if (idx != null) {
+                CellStyle wbStyle = workbook.getCellStyleAt(idx);
+                if (getFormatProperties(wbStyle).equals(values)) {
+                    return wbStyle;
+                }
+            }
+
+            // the styles can be modified after they were indexed, so a style matching now
+            // might be missing in the index or indexed by its old properties
+            int numberCellStyles = workbook.getNumCellStyles();
+            for (int i = 0; i < numberCellStyles; i++) {
+                CellStyle wbStyle = workbook.getCellStyleAt(i);
+                if (getFormatProperties(wbStyle).equals(values)) {
+                    // rebuild the index with the current properties on next use
+                    index.clear();
+                    return wbStyle;
+                }
+            }
+        }
+        return null;
+    }
+
     /**
      * <p>This method attempts to find an existing CellStyle that matches the <code>cell</code>'s
      * current style plus a single style property <code>propertyName</code> with value
@@ -26,9 +26,16 @@ import java.awt.font.TextLayout;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Rectangle2D;
 import java.text.AttributedString;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
 
 
 /**
@@ -89,6 +96,12 @@ public class SheetUtil {
      */
     private static final FontRenderContext fontRenderContext = new FontRenderContext(null, true, true);
 
+    /**
+     * The characters below this limit are measured by adding up their cached advances,
+     * as they don't need any shaping or bidi reordering.
+     */
+    private static final char maxCachedChar = '\u0300';
+
     /**
      * Compute width of a single cell
      *
@@ -199,9 +212,14 @@ public class SheetUtil {
      */
     private static double getCellWidth(int defaultCharWidth, int colspan,
             CellStyle style, double minWidth, AttributedString str) {
+        return getCellWidth(defaultCharWidth, colspan, style.getRotation(), style.getIndention(), minWidth, str);
+    }
+
+    private static double getCellWidth(int defaultCharWidth, int colspan,
+            short rotation, short indention, double minWidth, AttributedString str) {
         TextLayout layout = new TextLayout(str.getIterator(), fontRenderContext);
         final Rectangle2D bounds;
-        if(style.getRotation() != 0){
+        if(rotation != 0){
             /*
              * Transform the text using a scale so that it's height is increased by a multiple of the leading,
              * and then rotate the text before computing the bounds. The scale results in some whitespace around
@@ -209,7 +227,7 @@ public class SheetUtil {
              * is added by the standard Excel autosize.
              */
             AffineTransform trans = new AffineTransform();
-            trans.concatenate(AffineTransform.getRotateInstance(style.getRotation()*2.0*Math.PI/360.0));
+            trans.concatenate(AffineTransform.getRotateInstance(rotation*2.0*Math.PI/360.0));
             trans.concatenate(
             AffineTransform.getScaleInstance(1, fontHeightMultiple)
             );
@@ -219,7 +237,7 @@ public class SheetUtil {
         }
         // frameWidth accounts for leading spaces which is excluded from bounds.getWidth()
         final double frameWidth = bounds.getX() + bounds.getWidth();
-        return Math.max(minWidth, ((frameWidth / colspan) / defaultCharWidth) + style.getIndention());
+        return Math.max(minWidth, ((frameWidth / colspan) / defaultCharWidth) + indention);
     }
 
     /**
@@ -260,6 +278,205 @@ public class SheetUtil {
         return width;
     }
 
+    /**
+     * Compute the widths of several columns in a single pass over the rows of the sheet.
+     * <p>
+     * The result is the same as calling {@link #getColumnWidth(Sheet, int, boolean)} for
+     * each column, but repeated texts are only measured once per column and font, the
+     * glyph advances of simple (e.g. latin) texts are cached per font and the
+     * columns are measured in parallel.
+     *
+     * @param sheet the sheet to calculate
+     * @param useMergedCells    whether to use merged cells
+     * @param columns    0-based indexes of the columns
+     * @return  the widths in pixels in the order of the columns, -1 for columns whose cells are all empty
+     */
+    public static double[] getColumnWidths(Sheet sheet, boolean useMergedCells, int... columns) {
+        DataFormatter formatter = new DataFormatter();
+        Workbook wb = sheet.getWorkbook();
+        int defaultCharWidth = getDefaultCharWidth(wb);
+        List<CellRangeAddress> mergedRegions = sheet.getMergedRegions();
+
+        // the workbook isn't thread-safe, so collect the texts and fonts upfront
+        Map<Integer, Map<TextAttribute, Object>> fontAttributes = new HashMap<>();
+        List<Set<CellText>> texts = new ArrayList<>(columns.length);
+        for (int i = 0; i < columns.length; i++) {
+            texts.add(new HashSet<>());
+        }
+        for (Row row : sheet) {
+            for (int i = 0; i < columns.length; i++) {
+                Cell cell = row.getCell(columns[i]);
+                if (cell != null) {
+                    collectCellTexts(cell, formatter, useMergedCells, mergedRegions, fontAttributes, texts.get(i));
+                }
+            }
+        }
+
+        // the glyph advances by font attributes, shared by the columns of this call
+        Map<Map<TextAttribute, Object>, GlyphAdvances> glyphAdvances = new ConcurrentHashMap<>();
+        double[] widths = new double[columns.length];
+        IntStream.range(0, columns.length).parallel().forEach(i -> {
+            double width = -1;
+            for (CellText text : texts.get(i)) {
+                width = Math.max(width, text.getWidth(defaultCharWidth, glyphAdvances));
+            }
+            widths[i] = width;
+        });
+        return widths;
+    }
+
+    /**
+     * Collects the texts of a cell, like {@link #getCellWidth(Cell, int, DataFormatter, boolean, List)}
+     * would measure them
+     */
+    private static void collectCellTexts(Cell cell, DataFormatter formatter, boolean useMergedCells,
+            List<CellRangeAddress> mergedRegions, Map<Integer, Map<TextAttribute, Object>> fontAttributes,
+            Set<CellText> texts) {
+        Row row = cell.getRow();
+        int column = cell.getColumnIndex();
+
+        int colspan = 1;
+        for (CellRangeAddress region : mergedRegions) {
+            if (region.isInRange(row.getRowNum(), column)) {
+                if (!useMergedCells) {
+                    return;
+                }
+                cell = row.getCell(region.getFirstColumn());
+                colspan = 1 + region.getLastColumn() - region.getFirstColumn();
+            }
+        }
+
+        CellStyle style = cell.getCellStyle();
+        CellType cellType = cell.getCellType();
+        if (cellType == CellType.FORMULA)
+            cellType = cell.getCachedFormulaResultType();
+
+        String[] lines;
+        if (cellType == CellType.STRING) {
+            lines = cell.getRichStringCellValue().getString().split("\\n");
+        } else if (cellType == CellType.NUMERIC) {
+            String sval;
+            try {
+                sval = formatter.formatCellValue(cell, dummyEvaluator);
+            } catch (Exception e) {
+                sval = String.valueOf(cell.getNumericCellValue());
+            }
+            lines = new String[]{ sval };
+        } else if (cellType == CellType.BOOLEAN) {
+            lines = new String[]{ String.valueOf(cell.getBooleanCellValue()).toUpperCase(Locale.ROOT) };
+        } else {
+            return;
+        }
+
+        Workbook wb = row.getSheet().getWorkbook();
+        Map<TextAttribute, Object> attributes = fontAttributes.computeIfAbsent(style.getFontIndex(),
+            idx -> getFontAttributes(wb.getFontAt(idx)));
+        for (String line : lines) {
+            texts.add(new CellText(line + defaultChar, attributes, style.getRotation(), style.getIndention(), colspan));
+        }
+    }
+
+    /**
+     * @return the text attributes, which {@link #copyAttributes} would apply to a whole string
+     */
+    private static Map<TextAttribute, Object> getFontAttributes(Font font) {
+        Map<TextAttribute, Object> attributes = new HashMap<>();
+        attributes.put(TextAttribute.FAMILY, font.getFontName());
+        attributes.put(TextAttribute.SIZE, (float)font.getFontHeightInPoints());
+        if (font.getBold()) attributes.put(TextAttribute.WEIGHT, TextAttribute.WEIGHT_BOLD);
+        if (font.getItalic() ) attributes.put(TextAttribute.POSTURE, TextAttribute.POSTURE_OBLIQUE);
+        if (font.getUnderline() == Font.U_SINGLE ) attributes.put(TextAttribute.UNDERLINE, TextAttribute.UNDERLINE_ON);
+        return attributes;
+    }
+
+    /**
+     * A line of a cell together with the style attributes which affect its width
+     */
+    private static final class CellText {
+        private final String text;
+        private final Map<TextAttribute, Object> attributes;
+        private final short rotation;
+        private final short indention;
+        private final int colspan;
+
+        CellText(String text, Map<TextAttribute, Object> attributes, short rotation, short indention, int colspan) {
+            this.text = text;
+            this.attributes = attributes;
+            this.rotation = rotation;
+            this.indention = indention;
+            this.colspan = colspan;
+        }
+
+        double getWidth(int defaultCharWidth, Map<Map<TextAttribute, Object>, GlyphAdvances> glyphAdvances) {
+            if (rotation == 0) {
+                double frameWidth = glyphAdvances.computeIfAbsent(attributes, GlyphAdvances::new).getFrameWidth(text);
+                if (frameWidth >= 0) {
+                    return ((frameWidth / colspan) / defaultCharWidth) + indention;
+                }
+            }
+            AttributedString str = new AttributedString(text, attributes);
+            return getCellWidth(defaultCharWidth, colspan, rotation, indention, -1, str);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof CellText)) {
+                return false;
+            }
+            CellText other = (CellText)o;
+            return rotation == other.rotation && indention == other.indention && colspan == other.colspan
+                && text.equals(other.text) && attributes.equals(other.attributes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(text, attributes, rotation, indention, colspan);
+        }
+    }
+
+    /**
+     * The cached glyph advances of a font. For texts, which end with the {@link #defaultChar}
+     * and only consist of characters below {@link #maxCachedChar}, the right edge of the
+     * text bounds is the sum of the advances plus the right edge of the last glyph.
+     */
+    private static final class GlyphAdvances {
+        private final Map<TextAttribute, Object> attributes;
+        private final float[] advances = new float[maxCachedChar];
+        private final double defaultCharRightEdge;
+
+        GlyphAdvances(Map<TextAttribute, Object> attributes) {
+            this.attributes = attributes;
+            for (int i = 0; i < advances.length; i++) {
+                advances[i] = Float.NaN;
+            }
+            TextLayout layout = new TextLayout(String.valueOf(defaultChar), attributes, fontRenderContext);
+            Rectangle2D bounds = layout.getBounds();
+            defaultCharRightEdge = bounds.getX() + bounds.getWidth();
+        }
+
+        /**
+         * @return the right edge of the text bounds or -1 if the text can't be measured by its advances
+         */
+        double getFrameWidth(String text) {
+            int last = text.length() - 1;
+            double width = defaultCharRightEdge;
+            for (int i = 0; i < last; i++) {
+                char c = text.charAt(i);
+                if (c < ' ' || c >= maxCachedChar) {
+                    return -1;
+                }
+                float advance = advances[c];
+                if (Float.isNaN(advance)) {
+                    // concurrent threads might calculate the same advance, which is harmless
+                    advance = new TextLayout(String.valueOf(c), attributes, fontRenderContext).getAdvance();
+                    advances[c] = advance;
+                }
+                width += advance;
+            }
+            return width;
+        }
+    }
+
     /**
      * Get default character width using the Workbook's default font
      *
@@ -0,0 +1,160 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.util;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A size bounded cache which can be shared between threads without
+ * external locking.
+ * <p>
+ * Entries are evicted in insertion order once the cache grows beyond its
+ * maximum size. The bound is approximate under contention, i.e. the cache
+ * may briefly hold a few more entries than configured while concurrent
+ * writers are evicting.
+ * <p>
+ * Values are created outside of any lock, so two threads asking for the same
+ * missing key may both build a value - only the first one is kept and
+ * returned to both callers. Values must therefore be cheap to discard.
+ *
+ * @param <K> the key type, which needs proper {@code equals}/{@code hashCode}
+ * @param <V> the value type
+ */
+@Internal
+public class BoundedConcurrentCache<K, V> {
+    private final Map<K, V> map = new ConcurrentHashMap<>();
+    private final Queue<K> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final int maxSize;
+    private final Consumer<? super V> evictionListener;
+
+    /**
+     * @param maxSize the number of entries, after which the oldest entries are evicted
+     */
+    public BoundedConcurrentCache(int maxSize) {
+        this(maxSize, null);
+    }
+
+    /**
+     * @param maxSize the number of entries, after which the oldest entries are evicted
+     * @param evictionListener called with each value which is evicted or cleared, may be {@code null}
+     */
+    public BoundedConcurrentCache(int maxSize, Consumer<? super V> evictionListener) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive, but was " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.evictionListener = evictionListener;
+    }
+
+    /**
+     * @return the cached value or {@code null} if the key is unknown
+     */
+    public V get(K key) {
+        return map.get(key);
+    }
+
+    /**
+     * Returns the cached value for the key, creating and caching it via the
+     * factory if necessary. If the factory returns {@code null}, nothing is cached.
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> factory) {
+        V value = map.get(key);
+        if (value != null) {
+            return value;
+        }
+        value = factory.apply(key);
+        if (value == null) {
+            return null;
+        }
+        V existing = putIfAbsent(key, value);
+        return existing != null ? existing : value;
+    }
+
+    /**
+     * Adds the value, if there's no mapping for the key yet
+     *
+     * @return the already cached value or {@code null} if the given value was added
+     */
+    public V putIfAbsent(K key, V value) {
+        V existing = map.putIfAbsent(key, value);
+        if (existing == null) {
+            insertionOrder.add(key);
+            evictOverflow();
+        }
+        return existing;
+    }
+
+    /**
+     * Removes the mapping for the key and notifies the eviction listener
+     *
+     * @return the removed value or {@code null}
+     */
+    public V remove(K key) {
+        V value = map.remove(key);
+        if (value != null) {
+            insertionOrder.remove(key);
+            notifyEvicted(value);
+        }
+        return value;
+    }
+
+    /**
+     * Removes all entries and notifies the eviction listener for each of them
+     */
+    public void clear() {
+        K key;
+        while ((key = insertionOrder.poll()) != null) {
+            V value = map.remove(key);
+            if (value != null) {
+                notifyEvicted(value);
+            }
+        }
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    private void evictOverflow() {
+        while (map.size() > maxSize) {
+            K eldest = insertionOrder.poll();
+            if (eldest == null) {
+                return;
+            }
+            V value = map.remove(eldest);
+            if (value != null) {
+                notifyEvicted(value);
+            }
+        }
+    }
+
+    private void notifyEvicted(V value) {
+        if (evictionListener != null) {
+            evictionListener.accept(value);
+        }
+    }
+}
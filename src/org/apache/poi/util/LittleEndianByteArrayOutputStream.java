@@ -111,6 +111,17 @@ public final class LittleEndianByteArrayOutputStream extends OutputStream implem
 		return _writeIndex;
 	}
 
+	/**
+	 * Moves the write index forward, e.g. after the skipped bytes have been written
+	 * directly into the underlying buffer
+	 *
+	 * @param len the number of bytes to skip
+	 */
+	public void skip(int len) {
+		checkPosition(len);
+		_writeIndex += len;
+	}
+
 	@Override
     public LittleEndianOutput createDelayedOutput(int size) {
 		checkPosition(size);
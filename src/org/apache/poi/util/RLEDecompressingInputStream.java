@@ -17,10 +17,9 @@
 
 package org.apache.poi.util;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
 import java.util.Locale;
 
 /**
@@ -33,6 +32,9 @@ public class RLEDecompressingInputStream extends InputStream {
     /**
      * Bitmasks for performance
      */
+    /** the maximum size of a decompressed chunk */
+    private static final int CHUNK_SIZE = 4096;
+
     private static final int[] POWER2 = new int[] {
             0x0001, // 2^0
             0x0002, // 2^1
@@ -58,6 +60,9 @@ public class RLEDecompressingInputStream extends InputStream {
     /** a byte buffer with size 4096 for storing a single chunk */
     private final byte[] buf;
 
+    /** a byte buffer for the compressed bytes of a single chunk */
+    private final byte[] compressedBuf = new byte[CHUNK_SIZE];
+
     /** the current position in the byte buffer for reading */
     private int pos;
 
@@ -72,7 +77,7 @@ public class RLEDecompressingInputStream extends InputStream {
      */
     public RLEDecompressingInputStream(InputStream in) throws IOException {
         this.in = in;
-        buf = new byte[4096];
+        buf = new byte[CHUNK_SIZE];
         pos = 0;
         int header = in.read();
         if (header != 0x01) {
@@ -171,46 +176,75 @@ public class RLEDecompressingInputStream extends InputStream {
             }
             return chunkSize;
         } else {
-            int inOffset = 0;
-            int outOffset = 0;
-            while (inOffset < chunkSize) {
-                int tokenFlags = in.read();
-                inOffset++;
-                if (tokenFlags == -1) {
+            // read the whole compressed chunk at once and decode it from the buffer
+            int available = Math.max(0, IOUtils.readFully(in, compressedBuf, 0, chunkSize));
+            return decompressChunk(compressedBuf, 0, available, chunkSize, buf, 0);
+        }
+    }
+
+    /**
+     * Decodes the tokens of a compressed chunk.
+     *
+     * @param src the compressed bytes
+     * @param srcOffset the start of the compressed chunk data, i.e. after the chunk header
+     * @param available the number of compressed bytes, which are available in {@code src}
+     * @param chunkSize the size of the compressed chunk data according to the chunk header
+     * @param dst the buffer for the decompressed chunk
+     * @param dstOffset the start of the decompressed chunk in {@code dst}
+     * @return the number of decompressed bytes, or -1 if the chunk was truncated within a token
+     * @throws IllegalStateException if the chunk is corrupt, e.g. a copy token crosses the end of the chunk
+     */
+    private static int decompressChunk(byte[] src, int srcOffset, int available, int chunkSize, byte[] dst, int dstOffset) {
+        int inOffset = 0;
+        int outOffset = 0;
+        while (inOffset < chunkSize) {
+            if (inOffset >= available) {
+                break;
+            }
+            int tokenFlags = src[srcOffset + inOffset++] & 0xFF;
+            for (int n = 0; n < 8; n++) {
+                if (inOffset >= chunkSize) {
                     break;
                 }
-                for (int n = 0; n < 8; n++) {
-                    if (inOffset >= chunkSize) {
-                        break;
+                if ((tokenFlags & POWER2[n]) == 0) {
+                    // literal
+                    if (inOffset >= available) {
+                        return -1;
                     }
-                    if ((tokenFlags & POWER2[n]) == 0) {
-                        // literal
-                        final int b = in.read();
-                        if (b == -1) {
-                            return -1;
-                        }
-                        buf[outOffset++] = (byte) b;
-                        inOffset++;
+                    if (outOffset >= CHUNK_SIZE) {
+                        throw new IllegalStateException("Decompressed chunk exceeds " + CHUNK_SIZE + " bytes");
+                    }
+                    dst[dstOffset + outOffset++] = src[srcOffset + inOffset++];
+                } else {
+                    // compressed token
+                    if (inOffset + 2 > chunkSize) {
+                        throw new IllegalStateException("Copy token crosses the end of the compressed chunk");
+                    }
+                    if (inOffset + 2 > available) {
+                        return -1;
+                    }
+                    int token = LittleEndian.getUShort(src, srcOffset + inOffset);
+                    inOffset += 2;
+                    int copyLenBits = getCopyLenBits(outOffset - 1);
+                    int copyOffset = (token >> (copyLenBits)) + 1;
+                    int copyLen = (token & (POWER2[copyLenBits] - 1)) + 3;
+                    int startPos = outOffset - copyOffset;
+                    if (startPos < 0 || outOffset + copyLen > CHUNK_SIZE) {
+                        throw new IllegalStateException("Invalid copy token in compressed chunk");
+                    }
+                    if (copyOffset >= copyLen) {
+                        System.arraycopy(dst, dstOffset + startPos, dst, dstOffset + outOffset, copyLen);
+                        outOffset += copyLen;
                     } else {
-                        // compressed token
-                        int token = readShort(in);
-                        if (token == -1) {
-                            return -1;
-                        }
-                        inOffset += 2;
-                        int copyLenBits = getCopyLenBits(outOffset - 1);
-                        int copyOffset = (token >> (copyLenBits)) + 1;
-                        int copyLen = (token & (POWER2[copyLenBits] - 1)) + 3;
-                        int startPos = outOffset - copyOffset;
-                        int endPos = startPos + copyLen;
-                        for (int i = startPos; i < endPos; i++) {
-                            buf[outOffset++] = buf[i];
+                        // overlapping copy, i.e. a run of repeated bytes
+                        for (int i = startPos, endPos = startPos + copyLen; i < endPos; i++) {
+                            dst[dstOffset + outOffset++] = dst[dstOffset + i];
                         }
                     }
                 }
             }
-            return outOffset;
         }
+        return outOffset;
     }
 
     /**
@@ -280,13 +314,56 @@ public class RLEDecompressingInputStream extends InputStream {
         return decompress(compressed, 0, compressed.length);
     }
 
+    /**
+     * Decompresses a whole compressed container at once, chunk by chunk,
+     * without going through the stream interface.
+     *
+     * @param compressed the bytes containing the compressed container
+     * @param offset the offset of the container signature byte (0x01)
+     * @param length the number of bytes available for the container
+     * @return the decompressed bytes
+     */
     public static byte[] decompress(byte[] compressed, int offset, int length) throws IOException {
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        InputStream instream = new ByteArrayInputStream(compressed, offset, length);
-        InputStream stream = new RLEDecompressingInputStream(instream);
-        IOUtils.copy(stream, out);
-        stream.close();
-        out.close();
-        return out.toByteArray();
+        if (length < 1 || compressed[offset] != 0x01) {
+            int header = (length < 1) ? -1 : compressed[offset];
+            throw new IllegalArgumentException(String.format(Locale.ROOT, "Header byte 0x01 expected, received 0x%02X", header & 0xFF));
+        }
+        final int end = offset + length;
+        int pos = offset + 1;
+        // a chunk decompresses to at most 4096 bytes and compresses to at least 3 bytes
+        byte[] out = new byte[Math.min(CHUNK_SIZE, (int)Math.min(Integer.MAX_VALUE - 8, length * 4L))];
+        int outLen = 0;
+        while (pos + 2 <= end) {
+            int w = LittleEndian.getUShort(compressed, pos);
+            pos += 2;
+            if (w == 0) {
+                break;
+            }
+            int chunkSize = (w & 0x0FFF) + 1;
+            if ((w & 0x7000) != 0x3000) {
+                throw new IllegalArgumentException(String.format(Locale.ROOT, "Chunksize header A should be 0x3000, received 0x%04X", w & 0xE000));
+            }
+            if (outLen + CHUNK_SIZE > out.length) {
+                out = Arrays.copyOf(out, Math.max(outLen + CHUNK_SIZE, out.length * 2));
+            }
+            int available = Math.min(chunkSize, end - pos);
+            int chunkLen;
+            if ((w & 0x8000) == 0) {
+                // raw chunk
+                if (available < chunkSize) {
+                    throw new IllegalStateException(String.format(Locale.ROOT, "Not enough bytes read, expected %d", chunkSize));
+                }
+                System.arraycopy(compressed, pos, out, outLen, chunkSize);
+                chunkLen = chunkSize;
+            } else {
+                chunkLen = decompressChunk(compressed, pos, available, chunkSize, out, outLen);
+            }
+            pos += available;
+            if (chunkLen == -1) {
+                break;
+            }
+            outLen += chunkLen;
+        }
+        return Arrays.copyOf(out, outLen);
     }
 }
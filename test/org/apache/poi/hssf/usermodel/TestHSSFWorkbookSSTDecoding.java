@@ -0,0 +1,90 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.hssf.usermodel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.apache.poi.hssf.record.SSTRecord.StringDecoding;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests loading workbooks with the different {@link StringDecoding}s of the shared strings
+ */
+final class TestHSSFWorkbookSSTDecoding {
+
+    @Test
+    void optimiseFontsKeepsTheRunsOfDecodedStrings() throws IOException {
+        byte[] data = createRichTextWorkbook();
+        for (StringDecoding decoding : StringDecoding.values()) {
+            try (HSSFWorkbook wb = new HSSFWorkbook(new ByteArrayInputStream(data), true, decoding)) {
+                assertEquals(6, getA1(wb).getRichStringCellValue().getFontAtIndex(0), decoding.name());
+
+                HSSFOptimiser.optimiseFonts(wb);
+
+                try (HSSFWorkbook wb2 = new HSSFWorkbook(new ByteArrayInputStream(write(wb)))) {
+                    HSSFRichTextString rts = getA1(wb2).getRichStringCellValue();
+                    assertEquals("Hello World", rts.getString(), decoding.name());
+                    assertEquals(5, rts.getFontAtIndex(0), decoding.name());
+                }
+            }
+        }
+    }
+
+    @Test
+    void lazyStringsAreDecodedOnce() throws IOException {
+        byte[] data = createRichTextWorkbook();
+        try (HSSFWorkbook wb = new HSSFWorkbook(new ByteArrayInputStream(data), true, StringDecoding.LAZY)) {
+            assertSame(wb.getWorkbook().getSSTString(0), wb.getWorkbook().getSSTString(0));
+        }
+    }
+
+    /**
+     * @return a workbook with a rich text string in A1, whose first run uses
+     *  the font 6, a duplicate of font 5
+     */
+    private static byte[] createRichTextWorkbook() throws IOException {
+        try (HSSFWorkbook wb = new HSSFWorkbook()) {
+            HSSFFont font5 = wb.createFont();
+            font5.setBold(true);
+            HSSFFont font6 = wb.createFont();
+            font6.setBold(true);
+            assertEquals(5, font5.getIndex());
+            assertEquals(6, font6.getIndex());
+
+            HSSFRichTextString rts = new HSSFRichTextString("Hello World");
+            rts.applyFont(0, 5, font6);
+            wb.createSheet().createRow(0).createCell(0).setCellValue(rts);
+            return write(wb);
+        }
+    }
+
+    private static HSSFCell getA1(HSSFWorkbook wb) {
+        return wb.getSheetAt(0).getRow(0).getCell(0);
+    }
+
+    private static byte[] write(HSSFWorkbook wb) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        wb.write(bos);
+        return bos.toByteArray();
+    }
+}
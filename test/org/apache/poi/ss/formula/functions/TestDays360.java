@@ -0,0 +1,71 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.ss.formula.functions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.apache.poi.ss.formula.eval.BoolEval;
+import org.apache.poi.ss.formula.eval.ErrorEval;
+import org.apache.poi.ss.formula.eval.NumberEval;
+import org.apache.poi.ss.formula.eval.ValueEval;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.util.LocaleUtil;
+import org.junit.jupiter.api.Test;
+
+final class TestDays360 {
+
+    @Test
+    void basic() {
+        assertEquals(1.0, days360(date(1993, 2, 28), date(1993, 3, 1), false));
+        assertEquals(3.0, days360(date(1993, 2, 28), date(1993, 3, 1), true));
+        assertEquals(1.0, days360(date(1996, 2, 29), date(1996, 3, 1), false));
+        assertEquals(2.0, days360(date(1996, 2, 29), date(1996, 3, 1), true));
+        assertEquals(-31.0, days360(date(2020, 3, 31), date(2020, 2, 29), false));
+    }
+
+    @Test
+    void endOfMonth() {
+        // the ending date on the 31st becomes the 1st of the next month, if the start is before the 30th
+        assertEquals(62.0, days360(date(2020, 1, 29), date(2020, 3, 31), false));
+        assertEquals(60.0, days360(date(2020, 1, 30), date(2020, 3, 31), false));
+        assertEquals(60.0, days360(date(2020, 1, 31), date(2020, 3, 31), false));
+        assertEquals(61.0, days360(date(2020, 1, 29), date(2020, 3, 31), true));
+        assertEquals(30.0, days360(date(2020, 12, 31), date(2021, 1, 31), false));
+        assertEquals(32.0, days360(date(2020, 11, 29), date(2020, 12, 31), false));
+    }
+
+    @Test
+    void negativeDates() {
+        assertEquals(ErrorEval.NUM_ERROR, invoke(10, -95, true));
+        assertEquals(ErrorEval.NUM_ERROR, invoke(-1, 10, false));
+        assertEquals(ErrorEval.NUM_ERROR, new Days360().evaluate(0, 0, new NumberEval(-1), new NumberEval(10)));
+    }
+
+    private static double date(int year, int month, int day) {
+        return DateUtil.getExcelDate(LocaleUtil.getLocaleCalendar(year, month - 1, day).getTime());
+    }
+
+    private static double days360(double d0, double d1, boolean method) {
+        ValueEval ve = invoke(d0, d1, method);
+        return ((NumberEval) ve).getNumberValue();
+    }
+
+    private static ValueEval invoke(double d0, double d1, boolean method) {
+        return new Days360().evaluate(0, 0, new NumberEval(d0), new NumberEval(d1), BoolEval.valueOf(method));
+    }
+}
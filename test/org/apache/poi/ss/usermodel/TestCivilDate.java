@@ -0,0 +1,57 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.ss.usermodel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.Calendar;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the {@link CivilDate} calculations with {@link LocalDate}
+ */
+final class TestCivilDate {
+
+    @Test
+    void dayOfWeek() {
+        // 1970-01-01 was a Thursday
+        assertEquals(Calendar.THURSDAY, CivilDate.getDayOfWeek(0));
+        assertEquals(Calendar.WEDNESDAY, CivilDate.getDayOfWeek(-1));
+        assertEquals(Calendar.SUNDAY, CivilDate.getDayOfWeek(CivilDate.toEpochDay(1899, 12, 31)));
+        for (long epochDay = -1000; epochDay < 1000; epochDay++) {
+            int expected = LocalDate.ofEpochDay(epochDay).getDayOfWeek().getValue() % 7 + Calendar.SUNDAY;
+            assertEquals(expected, CivilDate.getDayOfWeek(epochDay), "epoch day " + epochDay);
+        }
+    }
+
+    @Test
+    void plusMonths() {
+        long jan31 = CivilDate.toEpochDay(2020, 1, 31);
+        assertEquals(CivilDate.toEpochDay(2020, 2, 29), CivilDate.plusMonths(jan31, 1));
+        assertEquals(CivilDate.toEpochDay(2019, 12, 31), CivilDate.plusMonths(jan31, -1));
+        assertEquals(CivilDate.toEpochDay(1899, 11, 30), CivilDate.plusMonths(jan31, -1442));
+        for (long epochDay = -1000; epochDay < 1000; epochDay += 7) {
+            for (int months = -30; months <= 30; months++) {
+                long expected = LocalDate.ofEpochDay(epochDay).plusMonths(months).toEpochDay();
+                assertEquals(expected, CivilDate.plusMonths(epochDay, months), epochDay + " + " + months);
+            }
+        }
+    }
+}
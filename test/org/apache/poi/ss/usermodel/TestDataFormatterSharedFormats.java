@@ -0,0 +1,122 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.ss.usermodel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.poi.util.LocaleUtil;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the formats, which are cached per {@link DataFormatter} and shared between instances
+ */
+final class TestDataFormatterSharedFormats {
+    private static Locale userLocale;
+    private static TimeZone userTimeZone;
+
+    @BeforeAll
+    static void setUp() {
+        userLocale = LocaleUtil.getUserLocale();
+        userTimeZone = LocaleUtil.getUserTimeZone();
+        LocaleUtil.setUserLocale(Locale.US);
+        LocaleUtil.setUserTimeZone(LocaleUtil.TIMEZONE_UTC);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        LocaleUtil.setUserLocale(userLocale);
+        LocaleUtil.setUserTimeZone(userTimeZone);
+    }
+
+    @Test
+    void invalidDateIsNotCachedForValidDates() {
+        DataFormatter formatter = new DataFormatter();
+        // the format string is only used by this test, so it's not cached yet
+        assertEquals("-1.0", formatter.formatRawCellContents(-1, -1, "dd.mm.yyyy"));
+        assertEquals("06.07.2009", formatter.formatRawCellContents(40000, -1, "dd.mm.yyyy"));
+    }
+
+    @Test
+    void invalidDateIsNotShared() {
+        new DataFormatter().formatRawCellContents(-1, -1, "mm:ss.0");
+        assertEquals("00:00.0", new DataFormatter().formatRawCellContents(40000.5, -1, "mm:ss.0"));
+    }
+
+    @Test
+    void sharedFormatsPerTimeZone() {
+        // 2009-03-08 02:30 doesn't exist in New York, the calendar moves it to 03:30
+        double gap = 39880 + 2.5 / 24;
+        String format = "yyyy-mm-dd hh:mm";
+        assertEquals("2009-03-08 02:30", new DataFormatter().formatRawCellContents(gap, -1, format));
+        LocaleUtil.setUserTimeZone(TimeZone.getTimeZone("America/New_York"));
+        try {
+            assertEquals("2009-03-08 03:30", new DataFormatter().formatRawCellContents(gap, -1, format));
+        } finally {
+            LocaleUtil.setUserTimeZone(LocaleUtil.TIMEZONE_UTC);
+        }
+    }
+
+    @Test
+    void concurrentFormatting() throws Exception {
+        String[] formats = { "yyyy-mm-dd", "dd mmm yyyy hh:mm:ss", "[h]:mm:ss", "#,##0.00", "0.000E+00", "#,##0," };
+        double[] values = { 40000.5, 12345.678, 0.25, 1234567.891, 43831.99999 };
+        DataFormatter formatter = new DataFormatter();
+        List<String> expected = formatAll(formatter, formats, values);
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<String>>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                DataFormatter df = (i % 2 == 0) ? formatter : new DataFormatter();
+                results.add(pool.submit(() -> {
+                    List<String> last = null;
+                    for (int j = 0; j < 200; j++) {
+                        last = formatAll(df, formats, values);
+                        assertEquals(expected, last);
+                    }
+                    return last;
+                }));
+            }
+            for (Future<List<String>> result : results) {
+                assertEquals(expected, result.get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static List<String> formatAll(DataFormatter formatter, String[] formats, double[] values) {
+        List<String> result = new ArrayList<>();
+        for (String format : formats) {
+            for (double value : values) {
+                result.add(formatter.formatRawCellContents(value, -1, format));
+            }
+        }
+        return result;
+    }
+}